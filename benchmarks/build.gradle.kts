@@ -0,0 +1,25 @@
+plugins {
+    id("me.champeau.jmh") version "0.7.1"
+}
+
+dependencies {
+    jmh(projects.shared)
+    jmh("com.google.guava:guava:31.1-jre")
+}
+
+// Run with "./gradlew :benchmarks:jmh", add "--offline" once dependencies are cached.
+// Single benchmark class can be selected with "-Pjmh.includes=PropertyBenchmark".
+jmh {
+    jmhVersion.set("1.36")
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    (findProperty("jmh.includes") as String?)?.let { includes.add(it) }
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+}
+
+tasks.named<JavaCompile>("compileJmhJava") {
+    options.release.set(17)
+}
@@ -0,0 +1,93 @@
+package me.neznamy.tab.benchmarks;
+
+import me.neznamy.tab.shared.util.Accessors;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Compares building and sending a packet-like object using plain
+ * reflection against members bound using {@link Accessors}, which is
+ * how NMS packets are built on Bukkit.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class AccessorBenchmark {
+
+    private final Connection connection = new Connection();
+
+    private Constructor<?> constructor;
+    private Field entityId;
+    private Field x;
+    private Field yaw;
+    private Method send;
+
+    private Supplier<Object> boundConstructor;
+    private ObjIntConsumer<Object> boundEntityId;
+    private ObjDoubleConsumer<Object> boundX;
+    private ObjIntConsumer<Object> boundYaw;
+    private BiConsumer<Object, Object> boundSend;
+
+    @Setup(Level.Trial)
+    public void prepare() throws ReflectiveOperationException {
+        constructor = Packet.class.getDeclaredConstructor();
+        entityId = Packet.class.getDeclaredField("entityId");
+        x = Packet.class.getDeclaredField("x");
+        yaw = Packet.class.getDeclaredField("yaw");
+        send = Connection.class.getDeclaredMethod("send", Packet.class);
+        constructor.setAccessible(true);
+        entityId.setAccessible(true);
+        x.setAccessible(true);
+        yaw.setAccessible(true);
+        send.setAccessible(true);
+        boundConstructor = Accessors.constructor0(constructor);
+        boundEntityId = Accessors.intSetter(entityId);
+        boundX = Accessors.doubleSetter(x);
+        boundYaw = Accessors.intSetter(yaw);
+        boundSend = Accessors.methodCaller(send);
+    }
+
+    @Benchmark
+    public Object reflection() throws ReflectiveOperationException {
+        Object packet = constructor.newInstance();
+        entityId.set(packet, 1234);
+        x.set(packet, 12.5);
+        yaw.set(packet, (byte) 64);
+        send.invoke(connection, packet);
+        return packet;
+    }
+
+    @Benchmark
+    public Object bound() {
+        Object packet = boundConstructor.get();
+        boundEntityId.accept(packet, 1234);
+        boundX.accept(packet, 12.5);
+        boundYaw.accept(packet, (byte) 64);
+        boundSend.accept(connection, packet);
+        return packet;
+    }
+
+    private static class Packet {
+
+        private int entityId;
+        private double x;
+        private byte yaw;
+    }
+
+    private static class Connection {
+
+        private Packet last;
+
+        private void send(Packet packet) {
+            last = packet;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package me.neznamy.tab.benchmarks;
+
+import lombok.Getter;
+import me.neznamy.tab.shared.Property;
+import me.neznamy.tab.shared.features.types.Refreshable;
+import me.neznamy.tab.shared.features.types.TabFeature;
+import me.neznamy.tab.shared.platform.TabPlayer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Feature owning one property per player, updating it whenever
+ * a placeholder used in it changes value, like real features do.
+ */
+@Getter
+public class BenchmarkFeature extends TabFeature implements Refreshable {
+
+    /** Value used by properties, mixing colors, plain and changing placeholders */
+    public static final String VALUE = "&7[&b" + TabState.STATIC + "&7] #FF8800%player% &f" + TabState.COUNTER + " &8| &a%ping%ms";
+
+    private final String featureName = "Benchmark";
+    private final String refreshDisplayName = "Updating benchmark property";
+
+    /** Property of each player */
+    private final Map<TabPlayer, Property> properties = new IdentityHashMap<>();
+
+    /** Values of {@link #properties} for iteration */
+    private final List<Property> propertyList = new ArrayList<>();
+
+    /**
+     * Constructs new instance and creates property for each player
+     *
+     * @param   players
+     *          Players to create properties for
+     */
+    public BenchmarkFeature(@NotNull List<? extends TabPlayer> players) {
+        for (TabPlayer player : players) {
+            Property property = new Property(null, this, player, VALUE, null);
+            properties.put(player, property);
+            propertyList.add(property);
+        }
+    }
+
+    @Override
+    public void refresh(@NotNull TabPlayer refreshed, boolean force) {
+        properties.get(refreshed).update();
+    }
+}
@@ -0,0 +1,78 @@
+package me.neznamy.tab.benchmarks;
+
+import me.neznamy.tab.shared.GroupManager;
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.TabConstants;
+import me.neznamy.tab.shared.chat.IChatBaseComponent;
+import me.neznamy.tab.shared.features.injection.PipelineInjector;
+import me.neznamy.tab.shared.features.nametags.NameTag;
+import me.neznamy.tab.shared.features.redis.RedisSupport;
+import me.neznamy.tab.shared.features.types.TabFeature;
+import me.neznamy.tab.shared.placeholders.UniversalPlaceholderRegistry;
+import me.neznamy.tab.shared.placeholders.expansion.EmptyTabExpansion;
+import me.neznamy.tab.shared.placeholders.expansion.TabExpansion;
+import me.neznamy.tab.shared.platform.Platform;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Platform without any server behind it, players are only
+ * added by benchmarks and nothing is ever sent anywhere.
+ */
+public class BenchmarkPlatform implements Platform {
+
+    @Override
+    public @NotNull GroupManager detectPermissionPlugin() {
+        return new GroupManager("None", p -> TabConstants.NO_GROUP);
+    }
+
+    @Override
+    public void registerUnknownPlaceholder(@NotNull String identifier) {
+        TAB.getInstance().getPlaceholderManager().registerServerPlaceholder(identifier, -1, () -> identifier);
+    }
+
+    @Override
+    public void loadPlayers() {
+        // Players are added by benchmark state
+    }
+
+    @Override
+    public void registerPlaceholders() {
+        new UniversalPlaceholderRegistry().registerPlaceholders(TAB.getInstance().getPlaceholderManager());
+    }
+
+    @Override
+    public @Nullable PipelineInjector createPipelineInjector() {
+        return null;
+    }
+
+    @Override
+    public @NotNull NameTag getUnlimitedNameTags() {
+        return new NameTag();
+    }
+
+    @Override
+    public @NotNull TabExpansion createTabExpansion() {
+        return new EmptyTabExpansion();
+    }
+
+    @Override
+    public @Nullable RedisSupport getRedisSupport() {
+        return null;
+    }
+
+    @Override
+    public @Nullable TabFeature getPerWorldPlayerList() {
+        return null;
+    }
+
+    @Override
+    public void sendConsoleMessage(@NotNull IChatBaseComponent message) {
+        // Keep benchmark output clean
+    }
+
+    @Override
+    public String getServerVersionInfo() {
+        return "[Benchmark]";
+    }
+}
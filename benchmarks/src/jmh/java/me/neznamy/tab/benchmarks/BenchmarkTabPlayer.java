@@ -0,0 +1,168 @@
+package me.neznamy.tab.benchmarks;
+
+import lombok.Getter;
+import me.neznamy.tab.api.bossbar.BarColor;
+import me.neznamy.tab.api.bossbar.BarStyle;
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.chat.IChatBaseComponent;
+import me.neznamy.tab.shared.platform.Scoreboard;
+import me.neznamy.tab.shared.platform.TabList;
+import me.neznamy.tab.shared.platform.TabPlayer;
+import me.neznamy.tab.shared.platform.bossbar.BossBar;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Synthetic player which is always online and discards everything
+ * sent to it, so benchmarks only measure plugin's own work.
+ */
+@Getter
+public class BenchmarkTabPlayer extends TabPlayer {
+
+    private final Scoreboard<BenchmarkTabPlayer> scoreboard = new NoOpScoreboard(this);
+    private final TabList tabList = new NoOpTabList();
+    private final BossBar bossBar = new NoOpBossBar();
+
+    /** Synthetic ping, different for each player */
+    private final int ping;
+
+    /**
+     * Constructs new instance with given index used to generate name, id and ping
+     *
+     * @param   index
+     *          Index of the player in synthetic population
+     * @param   world
+     *          World the player is in
+     */
+    public BenchmarkTabPlayer(int index, @NotNull String world) {
+        super("Player" + index, new UUID(0, index), "Player" + index, TAB.getInstance().getConfiguration().getServerName(),
+                world, TAB.getInstance().getServerVersion().getNetworkId(), true);
+        ping = 20 + index % 200;
+    }
+
+    @Override
+    public boolean hasPermission(@NotNull String permission) {
+        return false;
+    }
+
+    @Override
+    public void sendMessage(@NotNull IChatBaseComponent message) {
+        // Discarded
+    }
+
+    @Override
+    public boolean hasInvisibilityPotion() {
+        return false;
+    }
+
+    @Override
+    public boolean isDisguised() {
+        return false;
+    }
+
+    @Override
+    public @Nullable TabList.Skin getSkin() {
+        return null;
+    }
+
+    @Override
+    public @NotNull String getPlayer() {
+        return (String) player;
+    }
+
+    @Override
+    public boolean isOnline() {
+        return true;
+    }
+
+    @Override
+    public boolean isVanished() {
+        return false;
+    }
+
+    @Override
+    public int getGamemode() {
+        return 0;
+    }
+
+    private static class NoOpScoreboard extends Scoreboard<BenchmarkTabPlayer> {
+
+        private NoOpScoreboard(@NotNull BenchmarkTabPlayer player) {
+            super(player);
+        }
+
+        @Override
+        public void setDisplaySlot(@NotNull DisplaySlot slot, @NotNull String objective) {}
+
+        @Override
+        public void setScore0(@NotNull String objective, @NotNull String player, int score) {}
+
+        @Override
+        public void removeScore0(@NotNull String objective, @NotNull String player) {}
+
+        @Override
+        public void registerObjective0(@NotNull String objectiveName, @NotNull String title, boolean hearts) {}
+
+        @Override
+        public void unregisterObjective0(@NotNull String objectiveName) {}
+
+        @Override
+        public void updateObjective0(@NotNull String objectiveName, @NotNull String title, boolean hearts) {}
+
+        @Override
+        public void registerTeam0(@NotNull String name, @NotNull String prefix, @NotNull String suffix, @NotNull NameVisibility visibility,
+                                  @NotNull CollisionRule collision, @NotNull Collection<String> players, int options) {}
+
+        @Override
+        public void unregisterTeam0(@NotNull String name) {}
+
+        @Override
+        public void updateTeam0(@NotNull String name, @NotNull String prefix, @NotNull String suffix, @NotNull NameVisibility visibility,
+                                @NotNull CollisionRule collision, int options) {}
+    }
+
+    private static class NoOpTabList implements TabList {
+
+        @Override
+        public void removeEntry(@NotNull UUID entry) {}
+
+        @Override
+        public void updateDisplayName(@NotNull UUID entry, @Nullable IChatBaseComponent displayName) {}
+
+        @Override
+        public void updateLatency(@NotNull UUID entry, int latency) {}
+
+        @Override
+        public void updateGameMode(@NotNull UUID entry, int gameMode) {}
+
+        @Override
+        public void addEntry(@NotNull Entry entry) {}
+
+        @Override
+        public void setPlayerListHeaderFooter(@NotNull IChatBaseComponent header, @NotNull IChatBaseComponent footer) {}
+    }
+
+    private static class NoOpBossBar implements BossBar {
+
+        @Override
+        public void create(@NotNull UUID id, @NotNull String title, float progress, @NotNull BarColor color, @NotNull BarStyle style) {}
+
+        @Override
+        public void update(@NotNull UUID id, @NotNull String title) {}
+
+        @Override
+        public void update(@NotNull UUID id, float progress) {}
+
+        @Override
+        public void update(@NotNull UUID id, @NotNull BarStyle style) {}
+
+        @Override
+        public void update(@NotNull UUID id, @NotNull BarColor color) {}
+
+        @Override
+        public void remove(@NotNull UUID id) {}
+    }
+}
@@ -0,0 +1,46 @@
+package me.neznamy.tab.benchmarks;
+
+import me.neznamy.tab.shared.placeholders.PlayerPlaceholderImpl;
+import me.neznamy.tab.shared.placeholders.conditions.Condition;
+import me.neznamy.tab.shared.platform.TabPlayer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures evaluating conditions for all players, both with
+ * unchanged placeholder values and after they all changed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ConditionBenchmark extends TabState {
+
+    private Condition numeric;
+    private Condition text;
+    private PlayerPlaceholderImpl counter;
+
+    @Override
+    protected void prepare() {
+        numeric = Condition.getCondition("%ping%>100;" + COUNTER + ">=0");
+        text = Condition.getCondition("%world%=world0|" + STATIC + "<-Player1");
+        counter = (PlayerPlaceholderImpl) tab.getPlaceholderManager().getPlaceholder(COUNTER);
+    }
+
+    @Benchmark
+    public void isMetUnchanged(Blackhole blackhole) {
+        for (TabPlayer player : population) {
+            blackhole.consume(numeric.isMet(player));
+            blackhole.consume(text.isMet(player));
+        }
+    }
+
+    @Benchmark
+    public void isMetChanged(Blackhole blackhole) {
+        for (TabPlayer player : population) {
+            counter.update(player);
+            blackhole.consume(numeric.isMet(player));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package me.neznamy.tab.benchmarks;
+
+import me.neznamy.tab.shared.features.PlaceholderManagerImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single tick of placeholder refreshing, including
+ * refreshing features using placeholders which changed value.
+ * Every tick changes {@link TabState#COUNTER} for all players.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PlaceholderBenchmark extends TabState {
+
+    /** Private refresh task of placeholder manager, normally run by its repeating task */
+    private Method refreshTask;
+
+    @Override
+    protected void prepare() throws Exception {
+        new BenchmarkFeature(population);
+        refreshTask = PlaceholderManagerImpl.class.getDeclaredMethod("refresh");
+        refreshTask.setAccessible(true);
+    }
+
+    @Benchmark
+    public void refresh() throws Exception {
+        refreshTask.invoke(tab.getPlaceholderManager());
+    }
+}
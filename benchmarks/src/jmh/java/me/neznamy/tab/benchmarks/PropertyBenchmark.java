@@ -0,0 +1,38 @@
+package me.neznamy.tab.benchmarks;
+
+import me.neznamy.tab.shared.Property;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures updating properties of all players without any placeholder
+ * changing value, which is what most property updates end up doing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PropertyBenchmark extends TabState {
+
+    private BenchmarkFeature feature;
+
+    @Override
+    protected void prepare() {
+        feature = new BenchmarkFeature(population);
+    }
+
+    @Benchmark
+    public void updateAll(Blackhole blackhole) {
+        for (Property property : feature.getPropertyList()) {
+            blackhole.consume(property.update());
+        }
+    }
+
+    @Benchmark
+    public void getFormatAll(Blackhole blackhole) {
+        for (Property property : feature.getPropertyList()) {
+            blackhole.consume(property.getFormat(null));
+        }
+    }
+}
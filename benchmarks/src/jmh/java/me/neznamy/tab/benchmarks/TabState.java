@@ -0,0 +1,98 @@
+package me.neznamy.tab.benchmarks;
+
+import me.neznamy.tab.shared.ProtocolVersion;
+import me.neznamy.tab.shared.TAB;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark state loading the plugin with default configuration files
+ * into a temporary folder and joining a synthetic player population.
+ * Once everything is loaded, plugin's own threads are stopped, so
+ * benchmarks can drive all work from the benchmark thread without
+ * any concurrent modifications.
+ */
+@State(Scope.Benchmark)
+public class TabState {
+
+    /** Player placeholder changing value on every refresh */
+    public static final String COUNTER = "%benchmark-counter%";
+
+    /** Player placeholder which never changes value */
+    public static final String STATIC = "%benchmark-static%";
+
+    /** Amount of synthetic players to join */
+    @Param({"10", "100", "500", "2000"})
+    public int players;
+
+    /** Plugin instance */
+    public TAB tab;
+
+    /** Joined synthetic players */
+    public final List<BenchmarkTabPlayer> population = new ArrayList<>();
+
+    /** Temporary folder with configuration files */
+    private Path dataFolder;
+
+    /** Counter backing {@link #COUNTER} */
+    private final AtomicInteger counter = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void startPlugin() throws Exception {
+        dataFolder = Files.createTempDirectory("tab-benchmark");
+        tab = new TAB(new BenchmarkPlatform(), ProtocolVersion.V1_19_4, dataFolder.toFile());
+        TAB.setInstance(tab);
+        tab.load();
+        if (tab.isPluginDisabled()) throw new IllegalStateException("Plugin failed to load, see errors in " + dataFolder);
+        tab.getPlaceholderManager().registerPlayerPlaceholder(COUNTER, 50, p -> counter.incrementAndGet());
+        tab.getPlaceholderManager().registerPlayerPlaceholder(STATIC, 500, p -> p.getName());
+        for (int i = 0; i < players; i++) {
+            BenchmarkTabPlayer player = new BenchmarkTabPlayer(i, "world" + i % 3);
+            population.add(player);
+            tab.getFeatureManager().onJoin(player);
+        }
+        awaitQueuedTasks();
+        tab.getCPUManager().cancelAllTasks();
+        prepare();
+    }
+
+    /**
+     * Prepares data used by the benchmark once the plugin is loaded
+     * and all players joined
+     *
+     * @throws  Exception
+     *          If preparing fails
+     */
+    protected void prepare() throws Exception {
+        // Nothing by default
+    }
+
+    /**
+     * Waits until all tasks submitted to the processing thread so far are processed
+     */
+    private void awaitQueuedTasks() throws Exception {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        tab.getCPUManager().runTask(() -> future.complete(null));
+        future.get(1, TimeUnit.MINUTES);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopPlugin() throws IOException {
+        tab.unload();
+        population.clear();
+        try (Stream<Path> files = Files.walk(dataFolder)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+}
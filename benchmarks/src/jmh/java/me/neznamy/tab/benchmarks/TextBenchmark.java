@@ -0,0 +1,52 @@
+package me.neznamy.tab.benchmarks;
+
+import me.neznamy.tab.shared.ProtocolVersion;
+import me.neznamy.tab.shared.chat.IChatBaseComponent;
+import me.neznamy.tab.shared.chat.rgb.RGBUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures text processing done for every sent text,
+ * which does not depend on plugin being loaded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class TextBenchmark {
+
+    @Param({
+            "&aPlain legacy &ltext",
+            "&7[#FF8800Owner&7] &fPlayer123 &8| &a54ms",
+            "<#FF0000>Gradient from red to blue</#0000FF> &7and &#00FF00hex"
+    })
+    public String text;
+
+    private IChatBaseComponent component;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        component = IChatBaseComponent.fromColoredText(text);
+    }
+
+    @Benchmark
+    public String applyFormats() {
+        return RGBUtils.getInstance().applyFormats(text);
+    }
+
+    @Benchmark
+    public IChatBaseComponent fromColoredText() {
+        return IChatBaseComponent.fromColoredText(text);
+    }
+
+    @Benchmark
+    public String toStringModern() {
+        return component.toString(ProtocolVersion.V1_19_4);
+    }
+
+    @Benchmark
+    public String toStringLegacy() {
+        return component.toString(ProtocolVersion.V1_8);
+    }
+}
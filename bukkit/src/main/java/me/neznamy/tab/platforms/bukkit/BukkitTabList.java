@@ -2,25 +2,32 @@ package me.neznamy.tab.platforms.bukkit;
 
 import com.mojang.authlib.GameProfile;
 import com.mojang.authlib.properties.Property;
-import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import me.neznamy.tab.platforms.bukkit.nms.storage.nms.NMSStorage;
 import me.neznamy.tab.shared.ProtocolVersion;
 import me.neznamy.tab.shared.chat.IChatBaseComponent;
+import me.neznamy.tab.shared.platform.BatchedTabList;
 import me.neznamy.tab.shared.platform.TabList;
+import me.neznamy.tab.shared.util.Accessors;
 import me.neznamy.tab.shared.util.ReflectionUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 
 /**
  * TabList which support modifying many entries at once
- * for significantly better performance. For 1.7 players,
+ * for significantly better performance. Changes are buffered
+ * and sent as a single packet per action. For 1.7 players,
  * ViaVersion properly splits the packet into multiple, so
  * we don't need to worry about that here.
  * <p>
@@ -28,9 +35,8 @@ import java.util.*;
  * below, because of the massive differences in tab list
  * and packet fields.
  */
-@RequiredArgsConstructor
 @SuppressWarnings({"unchecked", "rawtypes"})
-public class BukkitTabList implements TabList {
+public class BukkitTabList extends BatchedTabList<BukkitTabPlayer> {
 
     // NMS Fields
     public static Class<?> PacketPlayOutPlayerListHeaderFooterClass;
@@ -57,10 +63,21 @@ public class BukkitTabList implements TabList {
     public static Field PlayerInfoData_Listed;
     public static Field PlayerInfoData_RemoteChatSession;
 
-    /** Player this TabList belongs to */
-    private final BukkitTabPlayer player;
+    /** Constructors and fields bound into method handles, used when building packets */
+    private static BiFunction<Object, Object, Object> createPlayerInfo;
+    private static BiConsumer<Object, Object> setPlayers;
 
-    public static void load(NMSStorage nms) throws NoSuchMethodException {
+    /**
+     * PlayerInfoData constructor adapted to (packet, uuid, profile, latency, gamemode, displayName),
+     * ignoring parameters the constructor of current server version does not take
+     */
+    private static MethodHandle createPlayerInfoData;
+
+    public BukkitTabList(@NotNull BukkitTabPlayer player) {
+        super(player);
+    }
+
+    public static void load(NMSStorage nms) throws NoSuchMethodException, IllegalAccessException {
         if (nms.getMinorVersion() >= 17) {
             newPacketPlayOutPlayerListHeaderFooter = PacketPlayOutPlayerListHeaderFooterClass.getConstructor(nms.IChatBaseComponent, nms.IChatBaseComponent);
         } else {
@@ -86,44 +103,92 @@ public class BukkitTabList implements TabList {
             PlayerInfoData_Listed = ReflectionUtils.getOnlyField(PlayerInfoDataClass, boolean.class);
             PlayerInfoData_RemoteChatSession = ReflectionUtils.getOnlyField(PlayerInfoDataClass, RemoteChatSession$Data);
         }
+        createPlayerInfo = Accessors.constructor2(newPacketPlayOutPlayerInfo);
+        createPlayerInfoData = bindPlayerInfoData(nms);
+        setPlayers = Accessors.setter(PLAYERS);
+    }
+
+    /**
+     * Binds PlayerInfoData constructor of current server version into a method handle
+     * with fixed parameters (packet, uuid, profile, latency, gamemode, displayName),
+     * so entries can be created without an argument array or boxing latency.
+     *
+     * @param   nms
+     *          NMS storage
+     * @return  Bound constructor
+     * @throws  IllegalAccessException
+     *          If constructor cannot be accessed
+     */
+    private static MethodHandle bindPlayerInfoData(NMSStorage nms) throws IllegalAccessException {
+        MethodHandle handle = MethodHandles.lookup().unreflectConstructor(ReflectionUtils.setAccessible(newPlayerInfoData));
+        if (nms.is1_19_3Plus()) {
+            // (UUID, GameProfile, boolean listed, int, GameMode, Component, RemoteChatSession.Data)
+            handle = MethodHandles.insertArguments(handle, 6, (Object) null);
+            handle = MethodHandles.insertArguments(handle, 2, true);
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        } else {
+            // 1.19.0 - 1.19.2 have ProfilePublicKey.Data as the last parameter
+            if (nms.getMinorVersion() >= 19) handle = MethodHandles.insertArguments(handle, 4, (Object) null);
+            if (newPlayerInfoData.getParameterTypes()[0] == PacketPlayOutPlayerInfoClass) {
+                handle = MethodHandles.dropArguments(handle, 1, UUID.class);
+            } else {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class, UUID.class);
+            }
+        }
+        return handle.asType(MethodType.methodType(Object.class, Object.class, UUID.class, GameProfile.class, int.class, Object.class, Object.class));
+    }
+
+    @SneakyThrows
+    private static Object newPlayerInfoData(Object packet, UUID id, GameProfile profile, int latency, Object gameMode, Object displayName) {
+        return (Object) createPlayerInfoData.invokeExact(packet, id, profile, latency, gameMode, displayName);
     }
 
     @Override
     @SneakyThrows
-    public void removeEntry(@NotNull UUID entry) {
+    public void removeEntries0(@NotNull Collection<UUID> entries) {
         if (ClientboundPlayerInfoRemovePacket != null) {
             //1.19.3+
-            player.sendPacket(newClientboundPlayerInfoRemovePacket.newInstance(Collections.singletonList(entry)));
+            player.sendPacket(newClientboundPlayerInfoRemovePacket.newInstance(new ArrayList<>(entries)));
         } else {
             //1.19.2-
-            player.sendPacket(createPacket(Action.REMOVE_PLAYER, new Entry.Builder(entry).build(), player.getVersion()));
+            List<Entry> list = new ArrayList<>(entries.size());
+            for (UUID entry : entries) {
+                list.add(new Entry.Builder(entry).build());
+            }
+            player.sendPacket(createPacket(Action.REMOVE_PLAYER, list, player.getVersion()));
         }
     }
 
     @Override
-    public void updateDisplayName(@NotNull UUID entry, @Nullable IChatBaseComponent displayName) {
-        player.sendPacket(createPacket(Action.UPDATE_DISPLAY_NAME,
-                new Entry.Builder(entry).displayName(displayName).build(), player.getVersion())
-        );
+    public void updateDisplayNames0(@NotNull Map<UUID, IChatBaseComponent> displayNames) {
+        List<Entry> list = new ArrayList<>(displayNames.size());
+        for (Map.Entry<UUID, IChatBaseComponent> entry : displayNames.entrySet()) {
+            list.add(new Entry.Builder(entry.getKey()).displayName(entry.getValue()).build());
+        }
+        player.sendPacket(createPacket(Action.UPDATE_DISPLAY_NAME, list, player.getVersion()));
     }
 
     @Override
-    public void updateLatency(@NotNull UUID entry, int latency) {
-        player.sendPacket(createPacket(Action.UPDATE_LATENCY,
-                new Entry.Builder(entry).latency(latency).build(), player.getVersion())
-        );
+    public void updateLatencies0(@NotNull Map<UUID, Integer> latencies) {
+        List<Entry> list = new ArrayList<>(latencies.size());
+        for (Map.Entry<UUID, Integer> entry : latencies.entrySet()) {
+            list.add(new Entry.Builder(entry.getKey()).latency(entry.getValue()).build());
+        }
+        player.sendPacket(createPacket(Action.UPDATE_LATENCY, list, player.getVersion()));
     }
 
     @Override
-    public void updateGameMode(@NotNull UUID entry, int gameMode) {
-        player.sendPacket(createPacket(Action.UPDATE_GAME_MODE,
-                new Entry.Builder(entry).gameMode(gameMode).build(), player.getVersion())
-        );
+    public void updateGameModes0(@NotNull Map<UUID, Integer> gameModes) {
+        List<Entry> list = new ArrayList<>(gameModes.size());
+        for (Map.Entry<UUID, Integer> entry : gameModes.entrySet()) {
+            list.add(new Entry.Builder(entry.getKey()).gameMode(entry.getValue()).build());
+        }
+        player.sendPacket(createPacket(Action.UPDATE_GAME_MODE, list, player.getVersion()));
     }
 
     @Override
-    public void addEntry(@NotNull Entry entry) {
-        player.sendPacket(createPacket(Action.ADD_PLAYER, entry, player.getVersion()));
+    public void addEntries0(@NotNull Collection<Entry> entries) {
+        player.sendPacket(createPacket(Action.ADD_PLAYER, entries, player.getVersion()));
     }
 
     @Override
@@ -144,11 +209,11 @@ public class BukkitTabList implements TabList {
     }
 
     @SneakyThrows
-    private Object createPacket(TabList.Action action, TabList.Entry entry, ProtocolVersion clientVersion) {
+    private Object createPacket(TabList.Action action, Collection<TabList.Entry> entries, ProtocolVersion clientVersion) {
         NMSStorage nms = NMSStorage.getInstance();
         if (nms.getMinorVersion() < 8) return null;
         Object packet;
-        List<Object> players = new ArrayList<>();
+        List<Object> players = new ArrayList<>(entries.size());
         if (NMSStorage.getInstance().is1_19_3Plus()) {
             EnumSet<?> actions;
             if (action == TabList.Action.ADD_PLAYER) {
@@ -156,40 +221,32 @@ public class BukkitTabList implements TabList {
             } else {
                 actions = EnumSet.of(Enum.valueOf(EnumPlayerInfoActionClass, action.name()));
             }
-            packet = newPacketPlayOutPlayerInfo.newInstance(actions, Collections.emptyList());
-            GameProfile profile = new GameProfile(entry.getUniqueId(), entry.getName());
-            if (entry.getSkin() != null) profile.getProperties().put(TabList.TEXTURES_PROPERTY,
-                    new Property(TabList.TEXTURES_PROPERTY, entry.getSkin().getValue(), entry.getSkin().getSignature()));
-            players.add(newPlayerInfoData.newInstance(
+            packet = createPlayerInfo.apply(actions, Collections.emptyList());
+        } else {
+            packet = createPlayerInfo.apply(Enum.valueOf(EnumPlayerInfoActionClass, action.name()),
+                    Array.newInstance(NMSStorage.getInstance().EntityPlayer, 0));
+        }
+        for (TabList.Entry entry : entries) {
+            players.add(newPlayerInfoData(
+                    packet,
                     entry.getUniqueId(),
-                    profile,
-                    true,
+                    createProfile(entry),
                     entry.getLatency(),
                     int2GameMode(entry.getGameMode()),
-                    entry.getDisplayName() == null ? null : nms.toNMSComponent(entry.getDisplayName(), clientVersion),
-                    null
+                    entry.getDisplayName() == null ? null : nms.toNMSComponent(entry.getDisplayName(), clientVersion)
             ));
-        } else {
-            packet = newPacketPlayOutPlayerInfo.newInstance(Enum.valueOf(EnumPlayerInfoActionClass, action.name()),
-                    Array.newInstance(NMSStorage.getInstance().EntityPlayer, 0));
-            GameProfile profile = new GameProfile(entry.getUniqueId(), entry.getName());
-            if (entry.getSkin() != null) profile.getProperties().put(TabList.TEXTURES_PROPERTY,
-                    new Property(TabList.TEXTURES_PROPERTY, entry.getSkin().getValue(), entry.getSkin().getSignature()));
-            List<Object> parameters = new ArrayList<>();
-            if (newPlayerInfoData.getParameterTypes()[0] == PacketPlayOutPlayerInfoClass) {
-                parameters.add(packet);
-            }
-            parameters.add(profile);
-            parameters.add(entry.getLatency());
-            parameters.add(int2GameMode(entry.getGameMode()));
-            parameters.add(entry.getDisplayName() == null ? null : nms.toNMSComponent(entry.getDisplayName(), clientVersion));
-            if (nms.getMinorVersion() >= 19) parameters.add(null);
-            players.add(newPlayerInfoData.newInstance(parameters.toArray()));
         }
-        PLAYERS.set(packet, players);
+        setPlayers.accept(packet, players);
         return packet;
     }
 
+    private GameProfile createProfile(TabList.Entry entry) {
+        GameProfile profile = new GameProfile(entry.getUniqueId(), entry.getName());
+        if (entry.getSkin() != null) profile.getProperties().put(TabList.TEXTURES_PROPERTY,
+                new Property(TabList.TEXTURES_PROPERTY, entry.getSkin().getValue(), entry.getSkin().getSignature()));
+        return profile;
+    }
+
     private Object int2GameMode(int gameMode) {
         switch (gameMode) {
             case 1: return Enum.valueOf(EnumGamemodeClass, "CREATIVE");
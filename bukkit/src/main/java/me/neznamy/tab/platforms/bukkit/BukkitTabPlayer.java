@@ -81,10 +81,9 @@ public class BukkitTabPlayer extends BackendTabPlayer {
         }
     }
 
-    @SneakyThrows
     public void sendPacket(@Nullable Object nmsPacket) {
         if (nmsPacket == null || !getPlayer().isOnline()) return;
-        NMSStorage.getInstance().sendPacket.invoke(playerConnection, nmsPacket);
+        NMSStorage.getInstance().packetSender.accept(playerConnection, nmsPacket);
     }
 
     @Override
@@ -9,6 +9,7 @@ import me.neznamy.tab.platforms.bukkit.BukkitTabList;
 import me.neznamy.tab.platforms.bukkit.scoreboard.PacketScoreboard;
 import me.neznamy.tab.shared.ProtocolVersion;
 import me.neznamy.tab.shared.chat.IChatBaseComponent;
+import me.neznamy.tab.shared.util.Accessors;
 import me.neznamy.tab.shared.util.ComponentCache;
 import me.neznamy.tab.shared.util.ReflectionUtils;
 import me.neznamy.tab.platforms.bukkit.nms.datawatcher.DataWatcher;
@@ -22,6 +23,7 @@ import org.jetbrains.annotations.Nullable;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
 
 /**
  * Class holding all NMS classes, methods, fields and constructors used by TAB.
@@ -62,6 +64,9 @@ public abstract class NMSStorage {
     public Field CHANNEL;
     public Method getHandle;
     public Method sendPacket;
+
+    /** {@link #sendPacket} bound into a method handle, accepting player connection and packet */
+    public BiConsumer<Object, Object> packetSender;
     public Method getProfile;
 
     /** Chat components */
@@ -80,7 +85,7 @@ public abstract class NMSStorage {
 
     public Object dummyEntity;
 
-    private final ComponentCache<IChatBaseComponent, Object> componentCache = new ComponentCache<>(10000,
+    private final ComponentCache<IChatBaseComponent, Object> componentCache = new ComponentCache<>("Component -> NMS", 10000,
             (component, clientVersion) -> ChatSerializer_DESERIALIZE.invoke(null, component.toString(clientVersion)));
 
     /**
@@ -96,6 +101,7 @@ public abstract class NMSStorage {
         } else {
             sendPacket = ReflectionUtils.getMethod(PlayerConnection, new String[]{"sendPacket"}, Packet);
         }
+        packetSender = Accessors.methodCaller(sendPacket);
         if (minorVersion >= 8) {
             CHANNEL = ReflectionUtils.getOnlyField(NetworkManager, Channel.class);
             getProfile = ReflectionUtils.getOnlyMethod(EntityHuman, GameProfile.class);
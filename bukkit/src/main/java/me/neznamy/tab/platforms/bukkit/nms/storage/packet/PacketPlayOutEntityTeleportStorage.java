@@ -1,12 +1,16 @@
 package me.neznamy.tab.platforms.bukkit.nms.storage.packet;
 
-import lombok.SneakyThrows;
 import me.neznamy.tab.platforms.bukkit.nms.storage.nms.NMSStorage;
 import me.neznamy.tab.shared.backend.Location;
+import me.neznamy.tab.shared.util.Accessors;
 import me.neznamy.tab.shared.util.ReflectionUtils;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
 
 /**
  * Custom class for holding data used in PacketPlayOutEntityTeleport minecraft packet.
@@ -23,6 +27,19 @@ public class PacketPlayOutEntityTeleportStorage {
     public static Field YAW;
     public static Field PITCH;
 
+    /** Constructor and fields bound into method handles, used when building packets */
+    private static Function<Object, Object> newPacket1;
+    private static Supplier<Object> newPacket0;
+    private static ObjIntConsumer<Object> setEntityId;
+    private static ObjDoubleConsumer<Object> setX;
+    private static ObjDoubleConsumer<Object> setY;
+    private static ObjDoubleConsumer<Object> setZ;
+    private static ObjIntConsumer<Object> setX_int;
+    private static ObjIntConsumer<Object> setY_int;
+    private static ObjIntConsumer<Object> setZ_int;
+    private static ObjIntConsumer<Object> setYaw;
+    private static ObjIntConsumer<Object> setPitch;
+
     /**
      * Loads all required Fields and throws Exception if something went wrong
      *
@@ -30,8 +47,10 @@ public class PacketPlayOutEntityTeleportStorage {
      *          NMS storage reference
      * @throws  NoSuchMethodException
      *          If something fails
+     * @throws  IllegalAccessException
+     *          If binding a member fails
      */
-    public static void load(NMSStorage nms) throws NoSuchMethodException {
+    public static void load(NMSStorage nms) throws NoSuchMethodException, IllegalAccessException {
         ENTITY_ID = ReflectionUtils.getFields(CLASS, int.class).get(0);
         YAW = ReflectionUtils.getFields(CLASS, byte.class).get(0);
         PITCH = ReflectionUtils.getFields(CLASS, byte.class).get(1);
@@ -49,6 +68,23 @@ public class PacketPlayOutEntityTeleportStorage {
             Y = ReflectionUtils.getFields(CLASS, int.class).get(2);
             Z = ReflectionUtils.getFields(CLASS, int.class).get(3);
         }
+        if (nms.getMinorVersion() >= 17) {
+            newPacket1 = Accessors.constructor1(CONSTRUCTOR);
+        } else {
+            newPacket0 = Accessors.constructor0(CONSTRUCTOR);
+        }
+        if (nms.getMinorVersion() >= 9) {
+            setX = Accessors.doubleSetter(X);
+            setY = Accessors.doubleSetter(Y);
+            setZ = Accessors.doubleSetter(Z);
+        } else {
+            setX_int = Accessors.intSetter(X);
+            setY_int = Accessors.intSetter(Y);
+            setZ_int = Accessors.intSetter(Z);
+        }
+        setEntityId = Accessors.intSetter(ENTITY_ID);
+        setYaw = Accessors.intSetter(YAW);
+        setPitch = Accessors.intSetter(PITCH);
     }
 
     /**
@@ -56,27 +92,26 @@ public class PacketPlayOutEntityTeleportStorage {
      *
      * @return  NMS packet
      */
-    @SneakyThrows
     public static Object build(int entityId, Location location) {
         NMSStorage nms = NMSStorage.getInstance();
         Object nmsPacket;
         if (nms.getMinorVersion() >= 17) {
-            nmsPacket = CONSTRUCTOR.newInstance(nms.dummyEntity);
+            nmsPacket = newPacket1.apply(nms.dummyEntity);
         } else {
-            nmsPacket = CONSTRUCTOR.newInstance();
+            nmsPacket = newPacket0.get();
         }
-        ENTITY_ID.set(nmsPacket, entityId);
+        setEntityId.accept(nmsPacket, entityId);
         if (nms.getMinorVersion() >= 9) {
-            X.set(nmsPacket, location.getX());
-            Y.set(nmsPacket, location.getY());
-            Z.set(nmsPacket, location.getZ());
+            setX.accept(nmsPacket, location.getX());
+            setY.accept(nmsPacket, location.getY());
+            setZ.accept(nmsPacket, location.getZ());
         } else {
-            X.set(nmsPacket, floor(location.getX()*32));
-            Y.set(nmsPacket, floor(location.getY()*32));
-            Z.set(nmsPacket, floor(location.getZ()*32));
+            setX_int.accept(nmsPacket, floor(location.getX()*32));
+            setY_int.accept(nmsPacket, floor(location.getY()*32));
+            setZ_int.accept(nmsPacket, floor(location.getZ()*32));
         }
-        YAW.set(nmsPacket, (byte) (location.getYaw()/360*256));
-        PITCH.set(nmsPacket, (byte) (location.getPitch()/360*256));
+        setYaw.accept(nmsPacket, (byte) (location.getYaw()/360*256));
+        setPitch.accept(nmsPacket, (byte) (location.getPitch()/360*256));
         return nmsPacket;
     }
 
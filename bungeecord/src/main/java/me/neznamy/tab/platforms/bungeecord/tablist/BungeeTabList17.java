@@ -1,14 +1,14 @@
 package me.neznamy.tab.platforms.bungeecord.tablist;
 
-import lombok.RequiredArgsConstructor;
 import me.neznamy.tab.platforms.bungeecord.BungeeTabPlayer;
 import me.neznamy.tab.shared.chat.IChatBaseComponent;
-import me.neznamy.tab.shared.platform.TabList;
+import me.neznamy.tab.shared.platform.BatchedTabList;
 import net.md_5.bungee.UserConnection;
 import net.md_5.bungee.protocol.packet.PlayerListItem;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -22,46 +22,60 @@ import java.util.UUID;
  * They are sent using an internal BungeeCord method that keeps track of them,
  * so they are removed on server switch to secure parity with Velocity.
  * While BungeeCord itself does not support 1.7, some of its forks do.
- * This was tested on FlameCord fork.
+ * This was tested on FlameCord fork.<p>
+ * The 1.7 packet only supports a single entry, so buffered changes
+ * are still sent as one packet per entry.
  */
-@RequiredArgsConstructor
-public class BungeeTabList17 implements TabList {
-
-    /** Player this TabList belongs to */
-    private final BungeeTabPlayer player;
+public class BungeeTabList17 extends BatchedTabList<BungeeTabPlayer> {
 
     /** Because entries are identified by names and not uuids on 1.7 */
     private final Map<UUID, String> userNames = new HashMap<>();
     private final Map<UUID, String> displayNames = new HashMap<>();
 
+    public BungeeTabList17(@NotNull BungeeTabPlayer player) {
+        super(player);
+    }
+
     @Override
-    public void removeEntry(@NotNull UUID entry) {
-        if (!displayNames.containsKey(entry)) return; // Entry not tracked by TAB
-        update(PlayerListItem.Action.REMOVE_PLAYER, createItem(null, displayNames.get(entry), 0));
+    public void removeEntries0(@NotNull Collection<UUID> entries) {
+        for (UUID entry : entries) {
+            if (!displayNames.containsKey(entry)) continue; // Entry not tracked by TAB
+            update(PlayerListItem.Action.REMOVE_PLAYER, createItem(null, displayNames.get(entry), 0));
 
-        // Remove from map
-        userNames.remove(entry);
-        displayNames.remove(entry);
+            // Remove from map
+            userNames.remove(entry);
+            displayNames.remove(entry);
+        }
     }
 
     @Override
-    public void updateDisplayName(@NotNull UUID entry, @Nullable IChatBaseComponent displayName) {
-        if (!displayNames.containsKey(entry)) return; // Entry not tracked by TAB
-        update(PlayerListItem.Action.REMOVE_PLAYER, createItem(null, displayNames.get(entry), 0));
-        addEntry(new Entry.Builder(entry).displayName(displayName).name(userNames.get(entry)).build());
+    public void updateDisplayNames0(@NotNull Map<UUID, IChatBaseComponent> displayNames) {
+        for (Map.Entry<UUID, IChatBaseComponent> entry : displayNames.entrySet()) {
+            if (!this.displayNames.containsKey(entry.getKey())) continue; // Entry not tracked by TAB
+            update(PlayerListItem.Action.REMOVE_PLAYER, createItem(null, this.displayNames.get(entry.getKey()), 0));
+            add(new Entry.Builder(entry.getKey()).displayName(entry.getValue()).name(userNames.get(entry.getKey())).build());
+        }
     }
 
     @Override
-    public void updateLatency(@NotNull UUID entry, int latency) {
-        if (!displayNames.containsKey(entry)) return; // Entry not tracked by TAB
-        update(PlayerListItem.Action.UPDATE_LATENCY, createItem(null, displayNames.get(entry), latency));
+    public void updateLatencies0(@NotNull Map<UUID, Integer> latencies) {
+        for (Map.Entry<UUID, Integer> entry : latencies.entrySet()) {
+            if (!displayNames.containsKey(entry.getKey())) continue; // Entry not tracked by TAB
+            update(PlayerListItem.Action.UPDATE_LATENCY, createItem(null, displayNames.get(entry.getKey()), entry.getValue()));
+        }
     }
 
     @Override
-    public void updateGameMode(@NotNull UUID entry, int gameMode) {/*Added in 1.8*/}
+    public void updateGameModes0(@NotNull Map<UUID, Integer> gameModes) {/*Added in 1.8*/}
 
     @Override
-    public void addEntry(@NotNull Entry entry) {
+    public void addEntries0(@NotNull Collection<Entry> entries) {
+        for (Entry entry : entries) {
+            add(entry);
+        }
+    }
+
+    private void add(@NotNull Entry entry) {
         String displayNameString = entry.getDisplayName() == null ? String.valueOf(entry.getName()) : entry.getDisplayName().toLegacyText();
         if (displayNameString.length() > 16) displayNameString = displayNameString.substring(0, 16); // 16 character limit
         update(PlayerListItem.Action.ADD_PLAYER, createItem(entry.getName(), displayNameString, entry.getLatency()));
@@ -1,9 +1,8 @@
 package me.neznamy.tab.platforms.bungeecord.tablist;
 
-import lombok.RequiredArgsConstructor;
 import me.neznamy.tab.platforms.bungeecord.BungeeTabPlayer;
 import me.neznamy.tab.shared.chat.IChatBaseComponent;
-import me.neznamy.tab.shared.platform.TabList;
+import me.neznamy.tab.shared.platform.BatchedTabList;
 import net.md_5.bungee.UserConnection;
 import net.md_5.bungee.protocol.Property;
 import net.md_5.bungee.protocol.packet.PlayerListItem;
@@ -11,6 +10,8 @@ import net.md_5.bungee.protocol.packet.PlayerListItem.Item;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -18,52 +19,78 @@ import java.util.UUID;
  * Because BungeeCord does not have a TabList API, we need to use packets.
  * They are sent using an internal BungeeCord method that keeps track of them,
  * so they are removed on server switch to secure parity with Velocity.
+ * Changes are buffered and sent as a single packet per action.
  */
-@RequiredArgsConstructor
-public class BungeeTabList18 implements TabList {
+public class BungeeTabList18 extends BatchedTabList<BungeeTabPlayer> {
 
-    /** Player this TabList belongs to */
-    private final BungeeTabPlayer player;
+    public BungeeTabList18(@NotNull BungeeTabPlayer player) {
+        super(player);
+    }
 
     @Override
-    public void removeEntry(@NotNull UUID entry) {
-        sendPacket(PlayerListItem.Action.REMOVE_PLAYER, item(entry));
+    public void removeEntries0(@NotNull Collection<UUID> entries) {
+        Item[] items = new Item[entries.size()];
+        int i = 0;
+        for (UUID entry : entries) {
+            items[i++] = item(entry);
+        }
+        sendPacket(PlayerListItem.Action.REMOVE_PLAYER, items);
     }
 
     @Override
-    public void updateDisplayName(@NotNull UUID entry, @Nullable IChatBaseComponent displayName) {
-        Item item = item(entry);
-        item.setDisplayName(displayName == null ? null : displayName.toString(player.getVersion()));
-        sendPacket(PlayerListItem.Action.UPDATE_DISPLAY_NAME, item);
+    public void updateDisplayNames0(@NotNull Map<UUID, IChatBaseComponent> displayNames) {
+        Item[] items = new Item[displayNames.size()];
+        int i = 0;
+        for (Map.Entry<UUID, IChatBaseComponent> entry : displayNames.entrySet()) {
+            Item item = item(entry.getKey());
+            item.setDisplayName(entry.getValue() == null ? null : entry.getValue().toString(player.getVersion()));
+            items[i++] = item;
+        }
+        sendPacket(PlayerListItem.Action.UPDATE_DISPLAY_NAME, items);
     }
 
     @Override
-    public void updateLatency(@NotNull UUID entry, int latency) {
-        Item item = item(entry);
-        item.setPing(latency);
-        sendPacket(PlayerListItem.Action.UPDATE_LATENCY, item);
+    public void updateLatencies0(@NotNull Map<UUID, Integer> latencies) {
+        Item[] items = new Item[latencies.size()];
+        int i = 0;
+        for (Map.Entry<UUID, Integer> entry : latencies.entrySet()) {
+            Item item = item(entry.getKey());
+            item.setPing(entry.getValue());
+            items[i++] = item;
+        }
+        sendPacket(PlayerListItem.Action.UPDATE_LATENCY, items);
     }
 
     @Override
-    public void updateGameMode(@NotNull UUID entry, int gameMode) {
-        Item item = item(entry);
-        item.setGamemode(gameMode);
-        sendPacket(PlayerListItem.Action.UPDATE_GAMEMODE, item);
+    public void updateGameModes0(@NotNull Map<UUID, Integer> gameModes) {
+        Item[] items = new Item[gameModes.size()];
+        int i = 0;
+        for (Map.Entry<UUID, Integer> entry : gameModes.entrySet()) {
+            Item item = item(entry.getKey());
+            item.setGamemode(entry.getValue());
+            items[i++] = item;
+        }
+        sendPacket(PlayerListItem.Action.UPDATE_GAMEMODE, items);
     }
 
     @Override
-    public void addEntry(@NotNull Entry entry) {
-        Item item = item(entry.getUniqueId());
-        if (entry.getDisplayName() != null) item.setDisplayName(entry.getDisplayName().toString(player.getVersion()));
-        item.setGamemode(entry.getGameMode());
-        item.setPing(entry.getLatency());
-        if (entry.getSkin() != null) {
-            item.setProperties(new Property[]{new Property(TEXTURES_PROPERTY, entry.getSkin().getValue(), entry.getSkin().getSignature())});
-        } else {
-            item.setProperties(new Property[0]);
+    public void addEntries0(@NotNull Collection<Entry> entries) {
+        Item[] items = new Item[entries.size()];
+        int i = 0;
+        for (Entry entry : entries) {
+            Item item = item(entry.getUniqueId());
+            if (entry.getDisplayName() != null) item.setDisplayName(entry.getDisplayName().toString(player.getVersion()));
+            item.setGamemode(entry.getGameMode());
+            item.setPing(entry.getLatency());
+            if (entry.getSkin() != null) {
+                item.setProperties(new Property[]{new Property(TEXTURES_PROPERTY, entry.getSkin().getValue(), entry.getSkin().getSignature())});
+            } else {
+                item.setProperties(new Property[0]);
+            }
+            item.setUsername(entry.getName());
+            items[i++] = item;
         }
-        item.setUsername(entry.getName());
-        sendPacket(PlayerListItem.Action.ADD_PLAYER, item);
+        sendPacket(PlayerListItem.Action.ADD_PLAYER, items);
     }
 
     public @NotNull Item item(@NotNull UUID id) {
@@ -72,10 +99,10 @@ public class BungeeTabList18 implements TabList {
         return item;
     }
 
-    private void sendPacket(@NotNull PlayerListItem.Action action, @NotNull Item item) {
+    private void sendPacket(@NotNull PlayerListItem.Action action, @NotNull Item[] items) {
         PlayerListItem packet = new PlayerListItem();
         packet.setAction(action);
-        packet.setItems(new Item[]{item});
+        packet.setItems(items);
         ((UserConnection)player.getPlayer()).getTabListHandler().onUpdate(packet);
     }
 
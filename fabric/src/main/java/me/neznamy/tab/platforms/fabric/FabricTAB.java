@@ -21,7 +21,7 @@ import java.io.File;
 
 public class FabricTAB implements DedicatedServerModInitializer {
 
-    private final ComponentCache<IChatBaseComponent, Component> componentCache = new ComponentCache<>(1000,
+    private final ComponentCache<IChatBaseComponent, Component> componentCache = new ComponentCache<>("Component -> Fabric", 1000,
             (text, version) -> Component.Serializer.fromJson(text.toString(version)));
 
     @Getter private static FabricTAB instance;
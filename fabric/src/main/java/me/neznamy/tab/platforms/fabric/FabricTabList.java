@@ -5,6 +5,7 @@ import com.mojang.authlib.properties.Property;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import me.neznamy.tab.shared.chat.IChatBaseComponent;
+import me.neznamy.tab.shared.platform.BatchedTabList;
 import me.neznamy.tab.shared.platform.TabList;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.protocol.Packet;
@@ -17,37 +18,57 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
-public record FabricTabList(FabricTabPlayer player) implements TabList {
+public class FabricTabList extends BatchedTabList<FabricTabPlayer> {
+
+    public FabricTabList(@NotNull FabricTabPlayer player) {
+        super(player);
+    }
 
     @Override
-    public void removeEntry(@NotNull UUID entry) {
-        player.sendPacket(new ClientboundPlayerInfoRemovePacket(Collections.singletonList(entry)));
+    public void removeEntries0(@NotNull Collection<UUID> entries) {
+        player.sendPacket(new ClientboundPlayerInfoRemovePacket(new ArrayList<>(entries)));
     }
 
     @Override
-    public void updateDisplayName(@NotNull UUID entry, @Nullable IChatBaseComponent displayName) {
-        player.sendPacket(build(EnumSet.of(ClientboundPlayerInfoUpdatePacket.Action.UPDATE_DISPLAY_NAME),
-                new Builder(entry).setDisplayName(displayName == null ? null : FabricTAB.getInstance().toComponent(displayName, player.getVersion()))));
+    public void updateDisplayNames0(@NotNull Map<UUID, IChatBaseComponent> displayNames) {
+        List<Builder> entries = new ArrayList<>(displayNames.size());
+        for (Map.Entry<UUID, IChatBaseComponent> entry : displayNames.entrySet()) {
+            entries.add(new Builder(entry.getKey()).setDisplayName(entry.getValue() == null ? null :
+                    FabricTAB.getInstance().toComponent(entry.getValue(), player.getVersion())));
+        }
+        player.sendPacket(build(EnumSet.of(ClientboundPlayerInfoUpdatePacket.Action.UPDATE_DISPLAY_NAME), entries));
     }
 
     @Override
-    public void updateLatency(@NotNull UUID entry, int latency) {
-        player.sendPacket(build(EnumSet.of(ClientboundPlayerInfoUpdatePacket.Action.UPDATE_LATENCY), new Builder(entry).setLatency(latency)));
+    public void updateLatencies0(@NotNull Map<UUID, Integer> latencies) {
+        List<Builder> entries = new ArrayList<>(latencies.size());
+        for (Map.Entry<UUID, Integer> entry : latencies.entrySet()) {
+            entries.add(new Builder(entry.getKey()).setLatency(entry.getValue()));
+        }
+        player.sendPacket(build(EnumSet.of(ClientboundPlayerInfoUpdatePacket.Action.UPDATE_LATENCY), entries));
     }
 
     @Override
-    public void updateGameMode(@NotNull UUID entry, int gameMode) {
-        player.sendPacket(build(EnumSet.of(ClientboundPlayerInfoUpdatePacket.Action.UPDATE_GAME_MODE), new Builder(entry).setGameMode(gameMode)));
+    public void updateGameModes0(@NotNull Map<UUID, Integer> gameModes) {
+        List<Builder> entries = new ArrayList<>(gameModes.size());
+        for (Map.Entry<UUID, Integer> entry : gameModes.entrySet()) {
+            entries.add(new Builder(entry.getKey()).setGameMode(entry.getValue()));
+        }
+        player.sendPacket(build(EnumSet.of(ClientboundPlayerInfoUpdatePacket.Action.UPDATE_GAME_MODE), entries));
     }
 
     @Override
-    public void addEntry(@NotNull Entry entry) {
-        player.sendPacket(build(EnumSet.allOf(ClientboundPlayerInfoUpdatePacket.Action.class), new Builder(entry.getUniqueId())
-                .setName(entry.getName())
-                .setSkin(entry.getSkin())
-                .setGameMode(entry.getGameMode())
-                .setLatency(entry.getLatency())
-                .setDisplayName(entry.getDisplayName() == null ? null : FabricTAB.getInstance().toComponent(entry.getDisplayName(), player.getVersion()))));
+    public void addEntries0(@NotNull Collection<Entry> entries) {
+        List<Builder> builders = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            builders.add(new Builder(entry.getUniqueId())
+                    .setName(entry.getName())
+                    .setSkin(entry.getSkin())
+                    .setGameMode(entry.getGameMode())
+                    .setLatency(entry.getLatency())
+                    .setDisplayName(entry.getDisplayName() == null ? null : FabricTAB.getInstance().toComponent(entry.getDisplayName(), player.getVersion())));
+        }
+        player.sendPacket(build(EnumSet.allOf(ClientboundPlayerInfoUpdatePacket.Action.class), builders));
     }
 
     @Override
@@ -58,17 +79,21 @@ public record FabricTabList(FabricTabPlayer player) implements TabList {
         );
     }
 
-    private Packet<?> build(EnumSet<ClientboundPlayerInfoUpdatePacket.Action> actions, FabricTabList.Builder entry) {
+    private Packet<?> build(EnumSet<ClientboundPlayerInfoUpdatePacket.Action> actions, List<FabricTabList.Builder> entries) {
         ClientboundPlayerInfoUpdatePacket packet = new ClientboundPlayerInfoUpdatePacket(actions, Collections.emptyList());
-        packet.entries = Collections.singletonList(new ClientboundPlayerInfoUpdatePacket.Entry(
-                entry.getId(),
-                entry.createProfile(),
-                true,
-                entry.getLatency(),
-                GameType.byId(entry.getGameMode()),
-                entry.getDisplayName(),
-                null
-        ));
+        List<ClientboundPlayerInfoUpdatePacket.Entry> packetEntries = new ArrayList<>(entries.size());
+        for (FabricTabList.Builder entry : entries) {
+            packetEntries.add(new ClientboundPlayerInfoUpdatePacket.Entry(
+                    entry.getId(),
+                    entry.createProfile(),
+                    true,
+                    entry.getLatency(),
+                    GameType.byId(entry.getGameMode()),
+                    entry.getDisplayName(),
+                    null
+            ));
+        }
+        packet.entries = packetEntries;
         return packet;
     }
 
@@ -39,3 +39,4 @@ include(":sponge7")
 include(":sponge8")
 include(":fabric")
 include(":jar")
+include(":benchmarks")
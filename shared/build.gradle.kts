@@ -23,6 +23,13 @@ dependencies {
     compileOnlyApi("net.kyori:adventure-api:4.13.0")
     compileOnlyApi("net.kyori:adventure-text-serializer-legacy:4.13.0")
     compileOnlyApi("net.kyori:adventure-text-minimessage:4.13.0")
+    testImplementation("org.junit.jupiter:junit-jupiter:5.9.2")
+    testImplementation("com.h2database:h2:2.1.214")
+    testImplementation("com.google.guava:guava:31.1-jre")
+}
+
+tasks.test {
+    useJUnitPlatform()
 }
 
 blossom {
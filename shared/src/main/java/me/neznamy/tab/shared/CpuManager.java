@@ -8,6 +8,7 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import me.neznamy.tab.shared.features.types.TabFeature;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 
 /**
@@ -35,6 +36,12 @@ public class CpuManager {
     private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
             new ThreadFactoryBuilder().setNameFormat("TAB Processing Thread").build());
 
+    /**
+     * Pool for requesting placeholder values in parallel, {@code null} if disabled
+     * and placeholders are requested on the processing thread
+     */
+    @Nullable private final ExecutorService placeholderPool;
+
     /** Tasks submitted to main thread before plugin was fully enabled */
     private final Queue<Runnable> taskQueue = new ConcurrentLinkedQueue<>();
 
@@ -43,8 +50,14 @@ public class CpuManager {
 
     /**
      * Constructs new instance and starts repeating task that resets values in configured interval
+     *
+     * @param   placeholderThreads
+     *          Amount of threads to request placeholder values with, {@code 1} or less
+     *          to request them on the processing thread
      */
-    public CpuManager() {
+    public CpuManager(int placeholderThreads) {
+        placeholderPool = placeholderThreads > 1 ? Executors.newFixedThreadPool(placeholderThreads,
+                new ThreadFactoryBuilder().setNameFormat("TAB Placeholder Thread #%d").build()) : null;
         startRepeatingTask((int) TimeUnit.SECONDS.toMillis(UPDATE_RATE_SECONDS), () -> {
             featureUsagePrevious = Collections.unmodifiableMap(featureUsageCurrent);
             placeholderUsagePrevious = Collections.unmodifiableMap(placeholderUsageCurrent);
@@ -76,6 +89,7 @@ public class CpuManager {
      */
     public void cancelAllTasks() {
         scheduler.shutdownNow();
+        if (placeholderPool != null) placeholderPool.shutdownNow();
     }
 
     /**
@@ -220,6 +234,48 @@ public class CpuManager {
         addTime(placeholderUsageCurrent, placeholder, nanoseconds);
     }
 
+    /**
+     * Returns {@code true} if placeholder values are requested on a dedicated pool
+     * using {@link #runInParallel(List)}, {@code false} if not.
+     *
+     * @return  {@code true} if placeholder pool is enabled, {@code false} if not
+     */
+    public boolean isParallelPlaceholderRequests() {
+        return placeholderPool != null && !placeholderPool.isShutdown();
+    }
+
+    /**
+     * Runs given tasks on the placeholder pool and waits until all of them finish.
+     * If the pool is disabled, tasks run on the current thread one by one. Tasks
+     * may only compute values, state shared with the processing thread must be
+     * modified once this method returns.
+     *
+     * @param   tasks
+     *          Tasks to run
+     */
+    public void runInParallel(@NotNull List<Runnable> tasks) {
+        if (!isParallelPlaceholderRequests() || tasks.size() < 2) {
+            for (Runnable task : tasks) {
+                run(task);
+            }
+            return;
+        }
+        List<Future<?>> futures = new ArrayList<>(tasks.size());
+        try {
+            for (Runnable task : tasks) {
+                futures.add(placeholderPool.submit(() -> run(task)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RejectedExecutionException e) {
+            TAB.getInstance().getErrorManager().printError("An error was thrown when executing parallel task", e);
+        }
+    }
+
     public void runMeasuredTask(@NotNull String feature, @NotNull String type, @NotNull Runnable task) {
         submit(() -> {
             long time = System.nanoTime();
@@ -1,19 +1,27 @@
 package me.neznamy.tab.shared;
 
+import lombok.Data;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import me.neznamy.tab.shared.chat.EnumChatFormat;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * An error assistant to print internal errors into error file
@@ -23,7 +31,20 @@ import java.util.List;
 public class ErrorManager {
 
     /** Date format used in error messages */
-    private final SimpleDateFormat dateFormat = new SimpleDateFormat("dd.MM.yyyy - HH:mm:ss - ");
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy - HH:mm:ss - ")
+            .withZone(ZoneId.systemDefault());
+
+    /** Size of log file in bytes after which it is moved into a {@code .old} file and a new one is started */
+    private static final long MAX_FILE_SIZE = 1000000;
+
+    /** Time in milliseconds during which repeated identical errors are only counted */
+    private static final long DEDUPLICATION_WINDOW = 60000;
+
+    /** Amount of distinct errors to track before forgetting those outside of deduplication window */
+    private static final int MAX_TRACKED_ERRORS = 1000;
+
+    /** Amount of errors waiting to be written after which new errors are dropped */
+    private static final int QUEUE_CAPACITY = 1000;
 
     /** errors.log file for internal plugin errors */
     private final File errorLog;
@@ -34,6 +55,29 @@ public class ErrorManager {
     /** placeholder-errors.log file for errors thrown by placeholders */
     private final File placeholderErrorLog;
 
+    /** Amount of errors dropped because the queue was full */
+    private final AtomicInteger dropped = new AtomicInteger();
+
+    /**
+     * Thread writing errors into files, stops when there is nothing to write.
+     * Errors rejected because of full queue are only counted, other rejected tasks throw.
+     */
+    private final ExecutorService writer = new ThreadPoolExecutor(0, 1, 5, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(QUEUE_CAPACITY), r -> {
+                Thread thread = new Thread(r, "TAB Error Logger");
+                thread.setDaemon(true);
+                return thread;
+            }, (r, executor) -> {
+                if (!(r instanceof LogEntry)) throw new RejectedExecutionException("Error log queue is full");
+                dropped.incrementAndGet();
+            });
+
+    /** Recently written errors with amount of their repetitions */
+    private final Map<ErrorKey, Occurrence> occurrences = new ConcurrentHashMap<>();
+
+    /** Log files currently open for writing, only accessed by {@link #writer} */
+    private final Map<File, LogFile> openFiles = new HashMap<>();
+
     public ErrorManager(@NotNull TAB tab) {
         errorLog = new File(tab.getDataFolder(), "errors.log");
         antiOverrideLog = new File(tab.getDataFolder(), "anti-override.log");
@@ -104,7 +148,11 @@ public class ErrorManager {
     }
 
     /**
-     * Prints error message and stack trace into specified file
+     * Prints error message and stack trace into specified file. Errors with identical
+     * stack trace (or identical message if there is no stack trace) repeated within
+     * {@link #DEDUPLICATION_WINDOW} are only counted and the amount is written
+     * with the next occurrence after the window expires.
+     * Writing itself is done on a background thread.
      *
      * @param   message
      *          message to print
@@ -115,36 +163,180 @@ public class ErrorManager {
      * @param   file
      *          file to print error to
      */
-    private synchronized void printError(@Nullable String message, @NotNull List<String> error, boolean intoConsoleToo, @NotNull File file) {
-        try {
-            if (!file.exists()) Files.createFile(file.toPath());
-            try (BufferedWriter buf = new BufferedWriter(new FileWriter(file, true))) {
-                if (message != null) {
-                    if (file.length() < 1000000)
-                        buf.write(dateFormat.format(new Date()) + "[TAB v" + TabConstants.PLUGIN_VERSION + "] " + EnumChatFormat.decolor(message) + System.getProperty("line.separator"));
-                    if (intoConsoleToo || TAB.getInstance().getConfiguration().isDebugMode())
-                        TAB.getInstance().sendConsoleMessage(EnumChatFormat.color("&c[TAB v" + TabConstants.PLUGIN_VERSION + "] ") + EnumChatFormat.decolor(message), false);
+    private void printError(@Nullable String message, @NotNull List<String> error, boolean intoConsoleToo, @NotNull File file) {
+        long time = System.currentTimeMillis();
+        int repeated = registerOccurrence(new ErrorKey(file, error.isEmpty() ? message : null, error), message, time);
+        if (intoConsoleToo || (repeated >= 0 && TAB.getInstance().getConfiguration().isDebugMode())) {
+            if (message != null)
+                TAB.getInstance().sendConsoleMessage(EnumChatFormat.color("&c[TAB v" + TabConstants.PLUGIN_VERSION + "] ") + EnumChatFormat.decolor(message), false);
+            for (String line : error) {
+                TAB.getInstance().sendConsoleMessage(EnumChatFormat.color("&c") + line, false);
+            }
+        }
+        if (repeated < 0) return;
+        writer.execute(new LogEntry(file, time, message, error, repeated, null));
+    }
+
+    /**
+     * Registers occurrence of an error and returns how many times it was
+     * suppressed since it was last written, or {@code -1} if this occurrence
+     * should be suppressed as well.
+     *
+     * @param   key
+     *          Error that occurred
+     * @param   message
+     *          Message of the error
+     * @param   time
+     *          Time of the occurrence
+     * @return  Amount of suppressed occurrences or {@code -1} if this one should be suppressed
+     */
+    private int registerOccurrence(@NotNull ErrorKey key, @Nullable String message, long time) {
+        while (true) {
+            Occurrence occurrence = occurrences.putIfAbsent(key, new Occurrence(message, time));
+            if (occurrence == null) {
+                if (occurrences.size() > MAX_TRACKED_ERRORS) expireOccurrences(time - DEDUPLICATION_WINDOW);
+                return 0;
+            }
+            synchronized (occurrence) {
+                if (occurrence.expired) continue; // Suppressed count was already written, track it again
+                if (time - occurrence.windowStart < DEDUPLICATION_WINDOW) {
+                    occurrence.suppressed++;
+                    return -1;
                 }
-                for (String line : error) {
-                    if (file.length() < 1000000)
-                        buf.write(dateFormat.format(new Date()) + line + System.getProperty("line.separator"));
-                    if (intoConsoleToo || TAB.getInstance().getConfiguration().isDebugMode())
-                        TAB.getInstance().sendConsoleMessage(EnumChatFormat.color("&c") + line, false);
+                int suppressed = occurrence.suppressed;
+                occurrence.windowStart = time;
+                occurrence.suppressed = 0;
+                return suppressed;
+            }
+        }
+    }
+
+    /**
+     * Stops tracking errors last written before given time and
+     * writes the amount of their suppressed occurrences.
+     *
+     * @param   before
+     *          Time before which errors should stop being tracked
+     */
+    private void expireOccurrences(long before) {
+        for (Map.Entry<ErrorKey, Occurrence> entry : occurrences.entrySet()) {
+            Occurrence occurrence = entry.getValue();
+            synchronized (occurrence) {
+                if (occurrence.expired || occurrence.windowStart >= before) continue;
+                occurrence.expired = true;
+                occurrences.remove(entry.getKey(), occurrence);
+                if (occurrence.suppressed == 0) continue;
+                writer.execute(new LogEntry(entry.getKey().getFile(), System.currentTimeMillis(), null, Collections.emptyList(),
+                        occurrence.suppressed, occurrence.message));
+            }
+        }
+    }
+
+    /**
+     * Writes counts of all suppressed errors, waits until all queued errors
+     * are written and closes all open log files. Files are opened again
+     * when another error is printed.
+     */
+    public void close() {
+        expireOccurrences(Long.MAX_VALUE);
+        long deadline = System.currentTimeMillis() + 5000;
+        try {
+            Future<?> future;
+            while (true) {
+                try {
+                    future = writer.submit(this::closeFiles);
+                    break;
+                } catch (RejectedExecutionException e) {
+                    // Queue is full, wait for the writer to make room
+                    if (System.currentTimeMillis() >= deadline) throw e;
+                    Thread.sleep(10);
                 }
             }
+            future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            TAB.getInstance().sendConsoleMessage("&cFailed to write all errors into log files: " + e.getMessage(), true);
+        }
+    }
+
+    /**
+     * Writes entry into its log file, rotating the file if it exceeds
+     * {@link #MAX_FILE_SIZE}. Must only be called from {@link #writer}.
+     *
+     * @param   entry
+     *          Entry to write
+     */
+    private void write(@NotNull LogEntry entry) {
+        String prefix = DATE_FORMAT.format(Instant.ofEpochMilli(entry.getTime()));
+        String separator = System.lineSeparator();
+        StringBuilder sb = new StringBuilder();
+        int lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            sb.append(prefix).append("[TAB v").append(TabConstants.PLUGIN_VERSION).append("] ").append(lost)
+                    .append(" errors were not logged because they occurred too fast").append(separator);
+        }
+        if (entry.getRepeated() > 0) {
+            sb.append(prefix).append("[TAB v").append(TabConstants.PLUGIN_VERSION).append("] ");
+            if (entry.getRepeatedMessage() != null) sb.append('"').append(EnumChatFormat.decolor(entry.getRepeatedMessage())).append("\" ");
+            sb.append("Error repeated ").append(entry.getRepeated()).append(" more times").append(separator);
+        }
+        if (entry.getMessage() != null) {
+            sb.append(prefix).append("[TAB v").append(TabConstants.PLUGIN_VERSION).append("] ")
+                    .append(EnumChatFormat.decolor(entry.getMessage())).append(separator);
+        }
+        for (String line : entry.getLines()) {
+            sb.append(prefix).append(line).append(separator);
+        }
+        if (sb.length() == 0) return;
+        byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+        try {
+            LogFile log = openFiles.get(entry.getFile());
+            if (log != null && log.size > 0 && log.size + bytes.length > MAX_FILE_SIZE) {
+                openFiles.remove(entry.getFile());
+                log.channel.close();
+                Path path = entry.getFile().toPath();
+                Files.move(path, path.resolveSibling(path.getFileName() + ".old"), StandardCopyOption.REPLACE_EXISTING);
+                log = null;
+            }
+            if (log == null) {
+                FileChannel channel = FileChannel.open(entry.getFile().toPath(), StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                log = new LogFile(channel);
+                log.size = channel.size();
+                openFiles.put(entry.getFile(), log);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                log.size += log.channel.write(buffer);
+            }
         } catch (IOException ex) {
             TAB.getInstance().sendConsoleMessage("&cAn error occurred when printing error message into file", true);
             TAB.getInstance().sendConsoleMessage(ex.getClass().getName() + ": " + ex.getMessage(), true);
             for (StackTraceElement e : ex.getStackTrace()) {
                 TAB.getInstance().sendConsoleMessage("\t" + e.toString(), true);
             }
-            TAB.getInstance().sendConsoleMessage("&cOriginal error: " + message, true);
-            for (String line : error) {
+            TAB.getInstance().sendConsoleMessage("&cOriginal error: " + entry.getMessage(), true);
+            for (String line : entry.getLines()) {
                 TAB.getInstance().sendConsoleMessage(line, true);
             }
         }
     }
 
+    /**
+     * Closes all open log files. Must only be called from {@link #writer}.
+     */
+    private void closeFiles() {
+        for (LogFile log : openFiles.values()) {
+            try {
+                log.channel.close();
+            } catch (IOException e) {
+                // Nothing we can do
+            }
+        }
+        openFiles.clear();
+    }
+
     /**
      * Prints error message thrown by placeholder and stack trace into placeholder-errors.log file
      *
@@ -216,4 +408,68 @@ public class ErrorManager {
             return defaultValue;
         }
     }
+
+    /**
+     * Error compared when deduplicating
+     */
+    @Data
+    private static class ErrorKey {
+
+        @NotNull private final File file;
+        @Nullable private final String message;
+        @NotNull private final List<String> lines;
+    }
+
+    /**
+     * First message, start of current deduplication window of an error
+     * and amount of its occurrences suppressed in it
+     */
+    private static class Occurrence {
+
+        @Nullable private final String message;
+        private long windowStart;
+        private int suppressed;
+
+        /** Whether this occurrence was removed from tracked errors and must not be counted into anymore */
+        private boolean expired;
+
+        private Occurrence(@Nullable String message, long windowStart) {
+            this.message = message;
+            this.windowStart = windowStart;
+        }
+    }
+
+    /**
+     * Error waiting to be written into a file
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private class LogEntry implements Runnable {
+
+        @NotNull private final File file;
+        private final long time;
+        @Nullable private final String message;
+        @NotNull private final List<String> lines;
+
+        /** Amount of suppressed occurrences of this error to write */
+        private final int repeated;
+
+        /** Message of suppressed error if different from this entry's message */
+        @Nullable private final String repeatedMessage;
+
+        @Override
+        public void run() {
+            write(this);
+        }
+    }
+
+    /**
+     * Open log file with its current size
+     */
+    @RequiredArgsConstructor
+    private static class LogFile {
+
+        @NotNull private final FileChannel channel;
+        private long size;
+    }
 }
\ No newline at end of file
@@ -1,14 +1,18 @@
 package me.neznamy.tab.shared;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.WeakHashMap;
 
 import lombok.Getter;
+import me.neznamy.tab.shared.features.PlaceholderManagerImpl;
 import me.neznamy.tab.shared.features.types.Refreshable;
 import me.neznamy.tab.shared.chat.EnumChatFormat;
 import me.neznamy.tab.shared.chat.rgb.RGBUtils;
 import me.neznamy.tab.shared.placeholders.expansion.TabExpansion;
 import me.neznamy.tab.shared.placeholders.RelationalPlaceholderImpl;
+import me.neznamy.tab.shared.placeholders.TabPlaceholder;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -39,11 +43,20 @@ public class Property {
     @Nullable @Getter private String temporaryValue;
 
     /**
-     * Raw value using %s for each placeholder ready to be inserted
-     * into String formatter, which results in about 5x lower
-     * memory allocations as well as better performance.
+     * Colored literal parts of the raw value split by placeholders. Literal on index
+     * {@code i} is located before placeholder on index {@code i}, last literal is
+     * located after the last placeholder.
      */
-    private String rawFormattedValue;
+    private String[] literals;
+
+    /** Placeholders in {@link #placeholders} resolved to their instances */
+    private TabPlaceholder[] resolvedPlaceholders;
+
+    /** Placeholder registry version when {@link #resolvedPlaceholders} were resolved */
+    private int resolvedVersion;
+
+    /** Builder reused for rendering new value to avoid memory allocations */
+    private final StringBuilder builder = new StringBuilder();
 
     /** Last known value after parsing non-relational placeholders */
     private String lastReplacedValue;
@@ -62,6 +75,28 @@ public class Property {
     /** Relational placeholders in the text in the same order they are used */
     private String[] relPlaceholders;
 
+    /** Distinct relational placeholders used in the text resolved to their instances */
+    private RelationalPlaceholderImpl[] resolvedRelPlaceholders;
+
+    /** Last known value the relational segments were split from */
+    private String relationalSplitValue;
+
+    /**
+     * Colored literal parts of {@link #relationalSplitValue} split by relational placeholders.
+     * Literal on index {@code i} is located before relational placeholder on index {@code i}
+     * in {@link #relationalSegments}, last literal is located after the last one.
+     */
+    private String[] relationalLiterals;
+
+    /** Relational placeholders in {@link #relationalSplitValue} in the order they are used */
+    private RelationalPlaceholderImpl[] relationalSegments;
+
+    /** Builder reused for rendering relational outputs, guarded by {@link #relationalFormats} */
+    private final StringBuilder relationalBuilder = new StringBuilder();
+
+    /** Cached outputs for each viewer, only used if text contains relational placeholders */
+    private final WeakHashMap<TabPlayer, RelationalFormat> relationalFormats = new WeakHashMap<>();
+
     /**
      * Constructs new instance with given parameters and prepares
      * the formatter for use by detecting placeholders and reformatting the text.
@@ -86,8 +121,8 @@ public class Property {
     }
 
     /**
-     * Finds all placeholders used in the value and prepares it for
-     * String formatter using %s for each placeholder.
+     * Finds all placeholders used in the value and splits it into
+     * colored literal parts and placeholders between them.
      *
      * @param   value
      *          raw value to analyze
@@ -105,22 +140,15 @@ public class Property {
         for (String placeholder : placeholders0) {
             rawFormattedValue0 = rawFormattedValue0.replace(placeholder, "%s");
         }
-        if (placeholders0.size() > 0 && rawFormattedValue0.contains("%")) {
-            int index = rawFormattedValue0.lastIndexOf('%');
-            if (rawFormattedValue0.length() == index+1 || rawFormattedValue0.charAt(index+1) != 's') {
-                StringBuilder sb = new StringBuilder(rawFormattedValue0);
-                sb.insert(index+1, "%");
-                rawFormattedValue0 = sb.toString();
-            }
-        }
-        rawFormattedValue0 = RGBUtils.getInstance().applyCleanGradients(rawFormattedValue0);
-        rawFormattedValue = EnumChatFormat.color(rawFormattedValue0);
+        rawFormattedValue0 = EnumChatFormat.color(RGBUtils.getInstance().applyCleanGradients(rawFormattedValue0));
         placeholders = placeholders0.toArray(new String[0]);
         relPlaceholders = relPlaceholders0.toArray(new String[0]);
+        literals = placeholders.length == 0 ? new String[] {rawFormattedValue0} : compile(rawFormattedValue0, placeholders.length);
         if (listener != null) {
             listener.addUsedPlaceholders(placeholders0);
         }
-        lastReplacedValue = rawFormattedValue;
+        resolvePlaceholders();
+        lastReplacedValue = rawFormattedValue0;
         update();
         if (name != null) {
             TabExpansion expansion = TAB.getInstance().getPlaceholderManager().getTabExpansion();
@@ -129,6 +157,63 @@ public class Property {
         }
     }
 
+    /**
+     * Splits formatted value using %s for each placeholder into literal parts.
+     * Escaped {@code %%} is converted to a single {@code %}.
+     *
+     * @param   formattedValue
+     *          Value using %s for each placeholder
+     * @param   placeholderCount
+     *          Amount of placeholders in the value
+     * @return  Literal parts of the value, 1 more than amount of placeholders
+     */
+    private @NotNull String[] compile(@NotNull String formattedValue, int placeholderCount) {
+        List<String> literals0 = new ArrayList<>(placeholderCount + 1);
+        StringBuilder literal = new StringBuilder();
+        for (int i=0; i<formattedValue.length(); i++) {
+            char c = formattedValue.charAt(i);
+            if (c == '%' && i+1 < formattedValue.length()) {
+                char next = formattedValue.charAt(i+1);
+                if (next == 's' && literals0.size() < placeholderCount) {
+                    literals0.add(literal.toString());
+                    literal.setLength(0);
+                    i++;
+                    continue;
+                }
+                if (next == '%') {
+                    literal.append('%');
+                    i++;
+                    continue;
+                }
+            }
+            literal.append(c);
+        }
+        literals0.add(literal.toString());
+        while (literals0.size() < placeholderCount + 1) literals0.add("");
+        return literals0.toArray(new String[0]);
+    }
+
+    /**
+     * Resolves placeholder identifiers into placeholder instances and remembers
+     * registry version to detect when they need to be resolved again.
+     */
+    private void resolvePlaceholders() {
+        PlaceholderManagerImpl manager = TAB.getInstance().getPlaceholderManager();
+        resolvedVersion = manager.getRegistryVersion();
+        TabPlaceholder[] resolved = new TabPlaceholder[placeholders.length];
+        for (int i=0; i<placeholders.length; i++) {
+            resolved[i] = manager.getPlaceholder(placeholders[i]);
+        }
+        resolvedPlaceholders = resolved;
+        resolvedRelPlaceholders = Arrays.stream(relPlaceholders).distinct()
+                .map(identifier -> (RelationalPlaceholderImpl) manager.getPlaceholder(identifier))
+                .toArray(RelationalPlaceholderImpl[]::new);
+        synchronized (relationalFormats) {
+            relationalFormats.clear();
+            relationalSplitValue = null;
+        }
+    }
+
     /**
      * Changes raw value to new provided value and performs all
      * operations related to it. Changes source as well.
@@ -199,19 +284,18 @@ public class Property {
      */
     public boolean update() {
         if (placeholders.length == 0) return false;
-        String string;
-        if ("%s".equals(rawFormattedValue)) {
-            string = TAB.getInstance().getPlaceholderManager().getPlaceholder(placeholders[0]).set(placeholders[0], owner);
-        } else {
-            Object[] values = new String[placeholders.length];
-            for (int i=0; i<placeholders.length; i++) {
-                values[i] = TAB.getInstance().getPlaceholderManager().getPlaceholder(placeholders[i]).set(placeholders[i], owner);
-            }
-            string = String.format(rawFormattedValue, values);
+        if (resolvedVersion != TAB.getInstance().getPlaceholderManager().getRegistryVersion()) resolvePlaceholders();
+        StringBuilder sb = builder;
+        sb.setLength(0);
+        for (int i=0; i<placeholders.length; i++) {
+            appendLiteral(sb, literals[i]);
+            int start = sb.length();
+            sb.append(resolvedPlaceholders[i].set(placeholders[i], owner));
+            EnumChatFormat.color(sb, start-1, sb.length());
         }
-        string = EnumChatFormat.color(string);
-        if (!lastReplacedValue.equals(string)) {
-            lastReplacedValue = string;
+        appendLiteral(sb, literals[placeholders.length]);
+        if (!lastReplacedValue.contentEquals(sb)) {
+            lastReplacedValue = sb.toString();
             if (name != null) {
                 TAB.getInstance().getPlaceholderManager().getTabExpansion().setPropertyValue(owner, name, lastReplacedValue);
             }
@@ -220,6 +304,22 @@ public class Property {
         return false;
     }
 
+    /**
+     * Appends already colored literal to the builder. Only a color code split
+     * between previous content and the literal needs to be translated.
+     *
+     * @param   sb
+     *          builder to append to
+     * @param   literal
+     *          colored literal to append
+     */
+    private void appendLiteral(@NotNull StringBuilder sb, @NotNull String literal) {
+        if (literal.isEmpty()) return;
+        int start = sb.length();
+        sb.append(literal);
+        EnumChatFormat.color(sb, start-1, start);
+    }
+
     /**
      * Returns last known value
      *
@@ -237,11 +337,131 @@ public class Property {
      * @return  format for the viewer
      */
     public @NotNull String getFormat(@Nullable TabPlayer viewer) {
-        String format = lastReplacedValue;
-        for (String identifier : relPlaceholders) {
-            RelationalPlaceholderImpl pl = (RelationalPlaceholderImpl) TAB.getInstance().getPlaceholderManager().getPlaceholder(identifier);
-            format = format.replace(pl.getIdentifier(), viewer == null ? "" : pl.getLastValue(viewer, owner));
+        if (relPlaceholders.length == 0) return lastReplacedValue;
+        if (viewer == null) {
+            String format = lastReplacedValue;
+            for (String identifier : relPlaceholders) {
+                format = format.replace(identifier, "");
+            }
+            return EnumChatFormat.color(format);
+        }
+        if (resolvedVersion != TAB.getInstance().getPlaceholderManager().getRegistryVersion()) resolvePlaceholders();
+        synchronized (relationalFormats) {
+            String base = lastReplacedValue;
+            RelationalFormat cached = relationalFormats.get(viewer);
+            if (cached == null) {
+                cached = new RelationalFormat(resolvedRelPlaceholders.length);
+                relationalFormats.put(viewer, cached);
+            } else if (cached.isValid(base, resolvedRelPlaceholders, viewer, owner)) {
+                return cached.value;
+            }
+            if (base != relationalSplitValue) splitRelational(base);
+            relationalBuilder.setLength(0);
+            for (int i=0; i<relationalSegments.length; i++) {
+                relationalBuilder.append(relationalLiterals[i]).append(relationalSegments[i].getLastValue(viewer, owner));
+            }
+            relationalBuilder.append(relationalLiterals[relationalSegments.length]);
+            EnumChatFormat.color(relationalBuilder, 0, relationalBuilder.length());
+            cached.update(base, resolvedRelPlaceholders, viewer, owner, relationalBuilder.toString());
+            return cached.value;
+        }
+    }
+
+    /**
+     * Splits provided value by relational placeholders into literal parts and placeholders between them.
+     *
+     * @param   value
+     *          Value to split
+     */
+    private void splitRelational(@NotNull String value) {
+        List<String> literals0 = new ArrayList<>();
+        List<RelationalPlaceholderImpl> segments0 = new ArrayList<>();
+        int index = 0;
+        while (true) {
+            int next = -1;
+            RelationalPlaceholderImpl nextPlaceholder = null;
+            for (RelationalPlaceholderImpl placeholder : resolvedRelPlaceholders) {
+                int position = value.indexOf(placeholder.getIdentifier(), index);
+                if (position != -1 && (next == -1 || position < next)) {
+                    next = position;
+                    nextPlaceholder = placeholder;
+                }
+            }
+            if (nextPlaceholder == null) break;
+            literals0.add(value.substring(index, next));
+            segments0.add(nextPlaceholder);
+            index = next + nextPlaceholder.getIdentifier().length();
+        }
+        literals0.add(value.substring(index));
+        relationalLiterals = literals0.toArray(new String[0]);
+        relationalSegments = segments0.toArray(new RelationalPlaceholderImpl[0]);
+        relationalSplitValue = value;
+    }
+
+    /**
+     * Cached output of relational format for a viewer along with
+     * versions of values of its inputs for the viewer and owner
+     * at the time it was rendered.
+     */
+    private static class RelationalFormat {
+
+        /** Last known value the output was rendered from */
+        private String base;
+
+        /** Value versions of relational placeholders when output was rendered */
+        private final int[] versions;
+
+        /** Rendered output */
+        private String value;
+
+        private RelationalFormat(int placeholderCount) {
+            versions = new int[placeholderCount];
+        }
+
+        /**
+         * Returns {@code true} if neither base value nor any of the relational
+         * placeholders changed since this output was rendered, {@code false} if they did.
+         *
+         * @param   base
+         *          Current last known value
+         * @param   placeholders
+         *          Relational placeholders used in the text
+         * @param   viewer
+         *          Viewer of the text
+         * @param   owner
+         *          Owner of the property
+         * @return  {@code true} if cached output is still valid, {@code false} if not
+         */
+        private boolean isValid(@NotNull String base, @NotNull RelationalPlaceholderImpl[] placeholders,
+                                @NotNull TabPlayer viewer, @NotNull TabPlayer owner) {
+            if (this.base != base || versions.length != placeholders.length) return false;
+            for (int i=0; i<placeholders.length; i++) {
+                if (versions[i] != placeholders[i].getValueVersion(viewer, owner)) return false;
+            }
+            return true;
+        }
+
+        /**
+         * Stores new output and versions of its inputs.
+         *
+         * @param   base
+         *          Last known value the output was rendered from
+         * @param   placeholders
+         *          Relational placeholders used in the text
+         * @param   viewer
+         *          Viewer of the text
+         * @param   owner
+         *          Owner of the property
+         * @param   value
+         *          Rendered output
+         */
+        private void update(@NotNull String base, @NotNull RelationalPlaceholderImpl[] placeholders,
+                            @NotNull TabPlayer viewer, @NotNull TabPlayer owner, @NotNull String value) {
+            this.base = base;
+            for (int i=0; i<versions.length; i++) {
+                versions[i] = placeholders[i].getValueVersion(viewer, owner);
+            }
+            this.value = value;
         }
-        return EnumChatFormat.color(format);
     }
-}
\ No newline at end of file
+}
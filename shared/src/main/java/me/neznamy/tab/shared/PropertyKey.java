@@ -0,0 +1,129 @@
+package me.neznamy.tab.shared;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Handle of a property name registered once with a unique index.
+ * Players store their properties in an array indexed by it, so code
+ * holding the handle can access a property without building or hashing
+ * its name. Registered handles are never unregistered, the same name
+ * always returns the same handle. Handles of short-lived properties,
+ * such as those of BossBars created via API, are allocated without
+ * registering their name and release their index once no longer used.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PropertyKey {
+
+    /** All registered handles by their property name */
+    private static final Map<String, PropertyKey> registered = new ConcurrentHashMap<>();
+
+    /** Index of the next registered handle, guarded by {@link #registered} */
+    private static int nextIndex;
+
+    /** Indexes of released handles available for reuse, guarded by {@link #registered} */
+    private static final Deque<Integer> freeIndexes = new ArrayDeque<>();
+
+    public static final PropertyKey HEADER = of(TabConstants.Property.HEADER);
+    public static final PropertyKey FOOTER = of(TabConstants.Property.FOOTER);
+
+    public static final PropertyKey TABPREFIX = of(TabConstants.Property.TABPREFIX);
+    public static final PropertyKey CUSTOMTABNAME = of(TabConstants.Property.CUSTOMTABNAME);
+    public static final PropertyKey TABSUFFIX = of(TabConstants.Property.TABSUFFIX);
+
+    public static final PropertyKey TAGPREFIX = of(TabConstants.Property.TAGPREFIX);
+    public static final PropertyKey CUSTOMTAGNAME = of(TabConstants.Property.CUSTOMTAGNAME);
+    public static final PropertyKey TAGSUFFIX = of(TabConstants.Property.TAGSUFFIX);
+
+    public static final PropertyKey ABOVENAME = of(TabConstants.Property.ABOVENAME);
+    public static final PropertyKey NAMETAG = of(TabConstants.Property.NAMETAG);
+    public static final PropertyKey BELOWNAME = of(TabConstants.Property.BELOWNAME);
+
+    public static final PropertyKey BELOWNAME_NUMBER = of(TabConstants.Property.BELOWNAME_NUMBER);
+    public static final PropertyKey BELOWNAME_TEXT = of(TabConstants.Property.BELOWNAME_TEXT);
+
+    public static final PropertyKey YELLOW_NUMBER = of(TabConstants.Property.YELLOW_NUMBER);
+
+    /** Name of the property */
+    @NotNull private final String name;
+
+    /** Index of the property in player's property array */
+    private final int index;
+
+    /** Whether this handle was allocated without registering and can be released */
+    private final boolean allocated;
+
+    /**
+     * Returns handle of property with given name, registering it if
+     * it was not registered yet.
+     *
+     * @param   name
+     *          Name of the property
+     * @return  Handle of the property
+     */
+    public static @NotNull PropertyKey of(@NotNull String name) {
+        PropertyKey key = registered.get(name);
+        if (key != null) return key;
+        synchronized (registered) {
+            return registered.computeIfAbsent(name, n -> new PropertyKey(n, nextIndex++, false));
+        }
+    }
+
+    /**
+     * Returns handle of property with given name or {@code null} if
+     * no property with such name was registered. Unlike {@link #of(String)},
+     * this does not register the name.
+     *
+     * @param   name
+     *          Name of the property
+     * @return  Handle of the property or {@code null} if not registered
+     */
+    public static @Nullable PropertyKey get(@NotNull String name) {
+        return registered.get(name);
+    }
+
+    /**
+     * Allocates new handle for property with given name without registering it.
+     * The handle should be released using {@link #release(PropertyKey)} once
+     * the property is no longer used, so its index can be reused.
+     *
+     * @param   name
+     *          Name of the property
+     * @return  Newly allocated handle
+     */
+    public static @NotNull PropertyKey allocate(@NotNull String name) {
+        synchronized (registered) {
+            Integer index = freeIndexes.poll();
+            return new PropertyKey(name, index == null ? nextIndex++ : index, true);
+        }
+    }
+
+    /**
+     * Releases index of handle created by {@link #allocate(String)}, so it can be
+     * reused by another handle. Registered handles are never released.
+     * Properties using the handle must be removed from players before releasing it.
+     *
+     * @param   key
+     *          Handle to release
+     */
+    public static void release(@NotNull PropertyKey key) {
+        if (!key.allocated) return;
+        synchronized (registered) {
+            freeIndexes.push(key.index);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
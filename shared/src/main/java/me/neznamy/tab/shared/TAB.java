@@ -20,15 +20,15 @@ import me.neznamy.tab.shared.config.Configs;
 import me.neznamy.tab.shared.event.EventBusImpl;
 import me.neznamy.tab.shared.event.impl.TabLoadEventImpl;
 import me.neznamy.tab.shared.features.PlaceholderManagerImpl;
+import me.neznamy.tab.shared.platform.PlayerRegistry;
 import me.neznamy.tab.shared.platform.TabPlayer;
+import me.neznamy.tab.shared.proxy.ProxyTabPlayer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.yaml.snakeyaml.error.YAMLException;
 
 import java.io.File;
-import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Main class of the plugin storing data and implementing API
@@ -38,14 +38,8 @@ public class TAB extends TabAPI {
     /** Instance of this class */
     @Getter @Setter private static TAB instance;
 
-    /** Player data storage */
-    private final Map<UUID, TabPlayer> data = new ConcurrentHashMap<>();
-
-    /** Players by their TabList UUID for faster lookup */
-    private final Map<UUID, TabPlayer> playersByTabListId = new ConcurrentHashMap<>();
-    
-    /** Online player array to avoid memory allocation when iterating */
-    @Getter private volatile TabPlayer[] onlinePlayers = new TabPlayer[0];
+    /** Online players indexed by id, name and slot */
+    @Getter private final PlayerRegistry playerRegistry = new PlayerRegistry();
 
     /** Instance of plugin's main command */
     @Getter private TabCommand command;
@@ -131,7 +125,7 @@ public class TAB extends TabAPI {
      * @return  player with provided id or null if player was not found
      */
     public @Nullable TabPlayer getPlayerByTabListUUID(UUID tabListId) {
-        return playersByTabListId.get(tabListId);
+        return playerRegistry.getByTabListId(tabListId);
     }
 
     /**
@@ -143,8 +137,10 @@ public class TAB extends TabAPI {
     public String load() {
         try {
             long time = System.currentTimeMillis();
-            cpu = new CpuManager();
             configuration = new Configs();
+            cpu = new CpuManager(configuration.getSecretOption("placeholder-threads", 1));
+            ConfigurationFile.setWriteBehind(configuration.getSecretOption("config-writes.write-behind", false));
+            ConfigurationFile.setJournal(configuration.getSecretOption("config-writes.journal", false));
             featureManager = new FeatureManager();
             featureManager.registerFeature(TabConstants.Feature.PLACEHOLDER_MANAGER, new PlaceholderManagerImpl());
             featureManager.registerFeature(TabConstants.Feature.GROUP_MANAGER, platform.detectPermissionPlugin());
@@ -153,7 +149,7 @@ public class TAB extends TabAPI {
             platform.loadPlayers();
             command = new TabCommand();
             featureManager.load();
-            for (TabPlayer p : onlinePlayers) p.markAsLoaded(false);
+            for (TabPlayer p : getOnlinePlayers()) p.markAsLoaded(false);
             if (eventBus != null) eventBus.fire(TabLoadEventImpl.getInstance());
             pluginDisabled = false;
             cpu.enable();
@@ -183,6 +179,10 @@ public class TAB extends TabAPI {
             long time = System.currentTimeMillis();
             if (configuration.getMysql() != null) configuration.getMysql().closeConnection();
             featureManager.unload();
+            for (TabPlayer p : getOnlinePlayers()) {
+                p.getTabList().flush();
+                if (p instanceof ProxyTabPlayer) ((ProxyTabPlayer) p).flushPluginMessages();
+            }
             sendConsoleMessage("&aDisabled in " + (System.currentTimeMillis()-time) + "ms", true);
         } catch (Exception | NoClassDefFoundError e) {
             errorManager.criticalError("Failed to disable", e);
@@ -191,14 +191,17 @@ public class TAB extends TabAPI {
     }
 
     /**
-     * Clears online player maps and arrays and cancels all tasks
+     * Clears online player maps and arrays, cancels all tasks, saves files with pending changes
+     * and writes all pending errors
      */
     private void kill() {
         pluginDisabled = true;
-        data.clear();
-        playersByTabListId.clear();
-        onlinePlayers = new TabPlayer[0];
-        cpu.cancelAllTasks();
+        playerRegistry.clear();
+        if (cpu != null) cpu.cancelAllTasks();
+        ConfigurationFile.saveDirtyFiles();
+        ConfigurationFile.setWriteBehind(false);
+        ConfigurationFile.setJournal(false);
+        errorManager.close();
     }
 
     /**
@@ -208,9 +211,7 @@ public class TAB extends TabAPI {
      *          Player to add
      */
     public void addPlayer(@NotNull TabPlayer player) {
-        data.put(player.getUniqueId(), player);
-        playersByTabListId.put(player.getTablistId(), player);
-        onlinePlayers = data.values().toArray(new TabPlayer[0]);
+        playerRegistry.add(player);
     }
 
     /**
@@ -220,9 +221,7 @@ public class TAB extends TabAPI {
      *          Player to remove
      */
     public void removePlayer(@NotNull TabPlayer player) {
-        data.remove(player.getUniqueId());
-        playersByTabListId.remove(player.getTablistId());
-        onlinePlayers = data.values().toArray(new TabPlayer[0]);
+        playerRegistry.remove(player);
     }
 
     /**
@@ -266,15 +265,17 @@ public class TAB extends TabAPI {
 
     @Override
     public @Nullable TabPlayer getPlayer(@NotNull String name) {
-        for (TabPlayer p : data.values()) {
-            if (p.getName().equalsIgnoreCase(name)) return p;
-        }
-        return null;
+        return playerRegistry.getByName(name);
+    }
+
+    @Override
+    public @NotNull TabPlayer[] getOnlinePlayers() {
+        return playerRegistry.getOnlinePlayers();
     }
 
     @Override
     public @Nullable TabPlayer getPlayer(@NotNull UUID uniqueId) {
-        return data.get(uniqueId);
+        return playerRegistry.getByUniqueId(uniqueId);
     }
 
     public void sendConsoleMessage(@NotNull String message, boolean translateColors) {
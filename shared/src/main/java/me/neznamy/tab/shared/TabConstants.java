@@ -42,8 +42,10 @@ public class TabConstants {
         public static final String PLAYER_RESPAWN = "Player Respawn";
         public static final String PLUGIN_MESSAGE = "PluginMessageEvent";
         public static final String REDIS_BUNGEE_MESSAGE = "PubSubMessageEvent";
+        public static final String REDIS_BUNGEE_FLUSH = "Sending batched messages";
         public static final String VANISH_CHANGE = "Vanish status change";
         public static final String ANTI_OVERRIDE = "Anti override";
+        public static final String LATENCY_UPDATE = "Updating latency";
 
         public static final String BYTE_BUF = "ByteBuf";
         public static final String PACKET_PLAYER_INFO = "PacketPlayOutPlayerInfo";
@@ -94,20 +94,6 @@ public class ArmorStand {
         }
     }
 
-    public void teleport() {
-        for (BackendTabPlayer all : asm.getNearbyPlayers()) {
-            sendTeleportPacket(all);
-        }
-    }
-
-    public void teleport(BackendTabPlayer viewer) {
-        if (!asm.isNearby(viewer) && viewer != owner) {
-            asm.spawn(viewer);
-        } else {
-            sendTeleportPacket(viewer);
-        }
-    }
-
     public void spawn(BackendTabPlayer viewer) {
         visible = calculateVisibility();
         viewer.spawnEntity(entityId, uuid, manager.getArmorStandType(),
@@ -193,6 +179,27 @@ public class ArmorStand {
         viewer.teleportEntity(entityId, new Location(manager.getX(owner), getYLocation(viewer), manager.getZ(owner), 0, 0));
     }
 
+    /**
+     * Sends teleport packet using owner's location computed in advance.
+     * Y value of provided location is overridden.
+     *
+     * @param   viewer
+     *          Player to send teleport packet to
+     * @param   location
+     *          Owner's location to reuse
+     * @param   baseY
+     *          Owner's Y location as returned by {@link BackendArmorStandManager#getBaseY()}
+     * @param   sleeping
+     *          Whether owner is sleeping or not
+     * @param   sneaking
+     *          Whether owner is sneaking or not
+     */
+    public void sendTeleportPacket(@NotNull BackendTabPlayer viewer, @NotNull Location location, double baseY,
+                                   boolean sleeping, boolean sneaking) {
+        location.setY(baseY + getYAdd(sleeping, sneaking, viewer));
+        viewer.teleportEntity(entityId, location);
+    }
+
     /**
      * Creates data watcher with specified display name for viewer
      *
@@ -218,31 +225,6 @@ public class ArmorStand {
      * @return  Location where armor stand should be for specified viewer
      */
     public double getYLocation(@NotNull TabPlayer viewer) {
-        double y = manager.getY(owner.getPlayer());
-        //1.14+ server sided bug
-        Object vehicle = manager.getVehicle(owner);
-        if (vehicle != null) {
-            String type = manager.getEntityType(vehicle);
-            double vehicleY = manager.getY(vehicle);
-            if (type.contains("horse")) { //covering all 3 horse types
-                y = vehicleY + 0.85;
-            }
-            if (type.equals("donkey")) { //1.11+
-                y = vehicleY + 0.525;
-            }
-            if (type.equals("pig")) {
-                y = vehicleY + 0.325;
-            }
-            if (type.equals("strider")) { //1.16+
-                y = vehicleY + 1.15;
-            }
-        } else {
-            //1.13+ swimming or 1.9+ flying with elytra
-            if (manager.isSwimming(owner) || manager.isGliding(owner)) {
-                y = manager.getY(owner.getPlayer())-1.22;
-            }
-        }
-        y += getYAdd(manager.isSleeping(owner), manager.isSneaking(owner), viewer);
-        return y;
+        return asm.getBaseY() + getYAdd(manager.isSleeping(owner), manager.isSneaking(owner), viewer);
     }
 }
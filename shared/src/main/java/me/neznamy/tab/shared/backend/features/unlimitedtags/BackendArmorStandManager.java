@@ -3,8 +3,9 @@ package me.neznamy.tab.shared.backend.features.unlimitedtags;
 import lombok.Getter;
 import me.neznamy.tab.shared.features.nametags.unlimited.ArmorStandManager;
 import me.neznamy.tab.shared.platform.TabPlayer;
-import me.neznamy.tab.shared.TabConstants;
+import me.neznamy.tab.shared.PropertyKey;
 import me.neznamy.tab.shared.backend.BackendTabPlayer;
+import me.neznamy.tab.shared.backend.Location;
 import me.neznamy.tab.shared.features.nametags.unlimited.NameTagX;
 import org.jetbrains.annotations.NotNull;
 
@@ -14,13 +15,16 @@ public class BackendArmorStandManager implements ArmorStandManager {
 
     private final BackendNameTagX nameTagX;
 
+    /** Owner of this armor stand manager */
+    private final TabPlayer owner;
+
     @Getter private boolean sneaking;
 
     /** Armor stands in an array for speed while iterating */
     private final ArmorStand[] armorStandArray;
 
     /** Players in entity tracking range of owner */
-    private final List<BackendTabPlayer> nearbyPlayerList = new ArrayList<>();
+    private final Set<BackendTabPlayer> nearbyPlayerSet = Collections.newSetFromMap(new IdentityHashMap<>());
 
     /** Nearby players in an array for speed while iterating */
     @Getter private BackendTabPlayer[] nearbyPlayers = new BackendTabPlayer[0];
@@ -35,10 +39,11 @@ public class BackendArmorStandManager implements ArmorStandManager {
      */
     public BackendArmorStandManager(@NotNull NameTagX nameTagX, @NotNull TabPlayer owner) {
         this.nameTagX = (BackendNameTagX) nameTagX;
+        this.owner = owner;
         sneaking = this.nameTagX.isSneaking(owner);
-        owner.setProperty(nameTagX, TabConstants.Property.NAMETAG, owner.getProperty(TabConstants.Property.TAGPREFIX).getCurrentRawValue()
-                + owner.getProperty(TabConstants.Property.CUSTOMTAGNAME).getCurrentRawValue()
-                + owner.getProperty(TabConstants.Property.TAGSUFFIX).getCurrentRawValue());
+        owner.setProperty(nameTagX, PropertyKey.NAMETAG, owner.getProperty(PropertyKey.TAGPREFIX).getCurrentRawValue()
+                + owner.getProperty(PropertyKey.CUSTOMTAGNAME).getCurrentRawValue()
+                + owner.getProperty(PropertyKey.TAGSUFFIX).getCurrentRawValue());
         double height = 0;
         List<ArmorStand> armorStands = new ArrayList<>();
         for (String line : nameTagX.getDynamicLines()) {
@@ -59,14 +64,72 @@ public class BackendArmorStandManager implements ArmorStandManager {
      *          player to teleport armor stands for
      */
     public void teleport(@NotNull BackendTabPlayer viewer) {
-        for (ArmorStand a : armorStandArray) a.teleport(viewer);
+        teleport(Collections.singletonList(viewer));
     }
 
     /**
      * Teleports armor stands to player's current location for all nearby players
      */
     public void teleport() {
-        for (ArmorStand a : armorStandArray) a.teleport();
+        teleport(Arrays.asList(nearbyPlayers));
+    }
+
+    /**
+     * Teleports armor stands to player's current location for specified viewers.
+     * Owner's location is only computed once for all viewers. Viewers who are not
+     * nearby get armor stands spawned instead.
+     *
+     * @param   viewers
+     *          players to teleport armor stands for
+     */
+    public void teleport(@NotNull Collection<BackendTabPlayer> viewers) {
+        Location location = new Location(nameTagX.getX(owner), 0, nameTagX.getZ(owner), 0, 0);
+        double baseY = getBaseY();
+        boolean sleeping = nameTagX.isSleeping(owner);
+        boolean sneaking = nameTagX.isSneaking(owner);
+        for (BackendTabPlayer viewer : viewers) {
+            if (!isNearby(viewer) && viewer != owner) {
+                spawn(viewer);
+                continue;
+            }
+            for (ArmorStand a : armorStandArray) {
+                a.sendTeleportPacket(viewer, location, baseY, sleeping, sneaking);
+            }
+        }
+    }
+
+    /**
+     * Returns owner's Y location armor stand offsets are added to. This takes
+     * into account vehicles and poses which change player's height.
+     *
+     * @return  Owner's Y location to add armor stand offsets to
+     */
+    public double getBaseY() {
+        double y = nameTagX.getY(owner.getPlayer());
+        //1.14+ server sided bug
+        Object vehicle = nameTagX.getVehicle(owner);
+        if (vehicle != null) {
+            String type = nameTagX.getEntityType(vehicle);
+            double vehicleY = nameTagX.getY(vehicle);
+            if (type.contains("horse")) { //covering all 3 horse types
+                y = vehicleY + 0.85;
+            }
+            if (type.equals("donkey")) { //1.11+
+                y = vehicleY + 0.525;
+            }
+            if (type.equals("pig")) {
+                y = vehicleY + 0.325;
+            }
+            if (type.equals("strider")) { //1.16+
+                y = vehicleY + 1.15;
+            }
+        } else {
+            //1.13+ swimming or 1.9+ flying with elytra
+            if (nameTagX.isSwimming(owner) || nameTagX.isGliding(owner)) {
+                y = nameTagX.getY(owner.getPlayer())-1.22;
+            }
+        }
+        return y;
     }
 
     /**
@@ -77,7 +140,7 @@ public class BackendArmorStandManager implements ArmorStandManager {
      * @return  {@code true} if player nearby, {@code false} if not
      */
     public boolean isNearby(@NotNull BackendTabPlayer viewer) {
-        return nearbyPlayerList.contains(viewer);
+        return nearbyPlayerSet.contains(viewer);
     }
 
     /**
@@ -131,8 +194,7 @@ public class BackendArmorStandManager implements ArmorStandManager {
      *          player to spawn armor stands for
      */
     public void spawn(@NotNull BackendTabPlayer viewer) {
-        nearbyPlayerList.add(viewer);
-        nearbyPlayers = nearbyPlayerList.toArray(new BackendTabPlayer[0]);
+        if (nearbyPlayerSet.add(viewer)) nearbyPlayers = nearbyPlayerSet.toArray(new BackendTabPlayer[0]);
         if (viewer.getVersion().getMinorVersion() < 8) return;
         for (ArmorStand a : armorStandArray) a.spawn(viewer);
     }
@@ -158,7 +220,7 @@ public class BackendArmorStandManager implements ArmorStandManager {
      *          player to remove
      */
     public void unregisterPlayer(@NotNull BackendTabPlayer viewer) {
-        if (nearbyPlayerList.remove(viewer)) nearbyPlayers = nearbyPlayerList.toArray(new BackendTabPlayer[0]);
+        if (nearbyPlayerSet.remove(viewer)) nearbyPlayers = nearbyPlayerSet.toArray(new BackendTabPlayer[0]);
     }
 
     public void updateVisibility(boolean force) {
@@ -185,7 +247,7 @@ public class BackendArmorStandManager implements ArmorStandManager {
                 viewer.destroyEntities(as.getEntityId());
             }
         }
-        nearbyPlayerList.clear();
+        nearbyPlayerSet.clear();
         nearbyPlayers = new BackendTabPlayer[0];
     }
 
@@ -15,12 +15,28 @@ import java.util.List;
 
 public abstract class BackendNameTagX extends NameTagX implements GameModeListener {
 
+    /** Maximum flat distance in blocks for armor stands to be spawned on join and load */
+    private static final double SPAWN_DISTANCE = 48;
+
+    /** Interval in milliseconds in which locations of all players are updated in {@link #spatialGrid} */
+    private static final int LOCATION_UPDATE_INTERVAL = 500;
+
+    /**
+     * Extra range in blocks searched in {@link #spatialGrid} on top of {@link #SPAWN_DISTANCE}, covering
+     * players who moved since their location was last updated. Players nobody tracks send no move
+     * packets, so their location is only updated every {@link #LOCATION_UPDATE_INTERVAL} milliseconds.
+     */
+    private static final double STALE_LOCATION_MARGIN = 24;
+
     /** Vehicle manager reference */
     @Getter private final VehicleRefresher vehicleManager = new VehicleRefresher(this);
 
     /** Packet Listener reference */
     protected final PacketListener packetListener = new PacketListener(this);
 
+    /** Players by location for range checks */
+    @Getter private final SpatialGrid spatialGrid = new SpatialGrid(this);
+
     public BackendNameTagX() {
         super(BackendArmorStandManager::new);
         TAB.getInstance().getFeatureManager().registerFeature(TabConstants.Feature.UNLIMITED_NAME_TAGS_VEHICLE_REFRESHER, vehicleManager);
@@ -40,6 +56,18 @@ public abstract class BackendNameTagX extends NameTagX implements GameModeListen
         });
     }
 
+    /**
+     * Starts task updating locations of all players in {@link #spatialGrid}, including
+     * players whose movement is not observed, because nobody is tracking them.
+     */
+    private void startLocationUpdateTask() {
+        TAB.getInstance().getCPUManager().startRepeatingMeasuredTask(LOCATION_UPDATE_INTERVAL, featureName, TabConstants.CpuUsageCategory.PROCESSING_PLAYER_MOVEMENT, () -> {
+            for (TabPlayer p : TAB.getInstance().getOnlinePlayers()) {
+                spatialGrid.update(p);
+            }
+        });
+    }
+
     @Override
     public BackendArmorStandManager getArmorStandManager(@NotNull TabPlayer player) {
         return (BackendArmorStandManager) armorStandManagerMap.get(player);
@@ -48,26 +76,32 @@ public abstract class BackendNameTagX extends NameTagX implements GameModeListen
     @Override
     public void load() {
         super.load();
+        for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
+            spatialGrid.update(all);
+        }
         for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
             if (isPlayerDisabled(all)) continue;
-            for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
+            for (TabPlayer viewer : spatialGrid.getNearby(all, SPAWN_DISTANCE)) {
                 spawnArmorStands(viewer, all);
             }
         }
         startVisibilityRefreshTask();
+        startLocationUpdateTask();
     }
 
     @Override
     public void unload() {
         super.unload();
         unregisterListener();
+        spatialGrid.clear();
     }
 
     @Override
     public void onJoin(@NotNull TabPlayer connectedPlayer) {
         super.onJoin(connectedPlayer);
+        spatialGrid.update(connectedPlayer);
         if (isPlayerDisabled(connectedPlayer)) return;
-        for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
+        for (TabPlayer viewer : spatialGrid.getNearby(connectedPlayer, SPAWN_DISTANCE + STALE_LOCATION_MARGIN)) {
             spawnArmorStands(viewer, connectedPlayer);
             spawnArmorStands(connectedPlayer, viewer);
         }
@@ -80,7 +114,7 @@ public abstract class BackendNameTagX extends NameTagX implements GameModeListen
 
     /**
      * Spawns armor stands of target player to viewer if all requirements are met.
-     * These include players being in the same world, distance being less than 48 blocks
+     * These include players being in the same world, distance being less than {@link #SPAWN_DISTANCE} blocks
      * and target player being visible to viewer.
      *
      * @param   viewer
@@ -92,13 +126,14 @@ public abstract class BackendNameTagX extends NameTagX implements GameModeListen
         if (viewer.getVersion().getMinorVersion() < 8) return;
         if (target == viewer || isPlayerDisabled(target)) return;
         if (!areInSameWorld(viewer, target)) return;
-        if (getDistance(viewer, target) <= 48 && canSee(viewer, target) && !target.isVanished())
+        if (getDistance(viewer, target) <= SPAWN_DISTANCE && canSee(viewer, target) && !target.isVanished())
             getArmorStandManager(target).spawn((BackendTabPlayer) viewer);
     }
 
     @Override
     public void onQuit(@NotNull TabPlayer disconnectedPlayer) {
         super.onQuit(disconnectedPlayer);
+        spatialGrid.remove(disconnectedPlayer);
         for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
             getArmorStandManager(all).unregisterPlayer((BackendTabPlayer) disconnectedPlayer);
         }
@@ -109,7 +144,8 @@ public abstract class BackendNameTagX extends NameTagX implements GameModeListen
     @Override
     public void resumeArmorStands(@NotNull TabPlayer player) {
         if (isPlayerDisabled(player)) return;
-        for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
+        spatialGrid.update(player);
+        for (TabPlayer viewer : spatialGrid.getNearby(player, SPAWN_DISTANCE + STALE_LOCATION_MARGIN)) {
             spawnArmorStands(viewer, player);
         }
     }
@@ -141,11 +177,10 @@ public abstract class BackendNameTagX extends NameTagX implements GameModeListen
         if (isPreviewingNameTag(p)) {
             getArmorStandManager(p).spawn((BackendTabPlayer) p);
         }
+        spatialGrid.update(p);
         //for some reason this is needed for some users
-        for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
-            if (viewer.getWorld().equals(from)) {
-                getArmorStandManager(p).destroy((BackendTabPlayer) viewer);
-            }
+        for (TabPlayer viewer : spatialGrid.getPlayers(from)) {
+            getArmorStandManager(p).destroy((BackendTabPlayer) viewer);
         }
     }
 
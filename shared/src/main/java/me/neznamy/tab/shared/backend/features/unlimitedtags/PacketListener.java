@@ -12,9 +12,7 @@ import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.backend.BackendTabPlayer;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -23,6 +21,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * if trying to listen to move event.
  * For entering/leaving tracking range there are no events and
  * periodic / move-triggered distance checks would cause high CPU usage.
+ * Observed movement also keeps player locations in {@link SpatialGrid} up to date.
  */
 @RequiredArgsConstructor
 public class PacketListener extends TabFeature implements JoinListener, QuitListener, Loadable {
@@ -35,6 +34,12 @@ public class PacketListener extends TabFeature implements JoinListener, QuitList
     /** A player map by entity id, used for better performance */
     private final Map<Integer, TabPlayer> entityIdMap = new ConcurrentHashMap<>();
 
+    /** Viewers who received move packets of each player since last flush */
+    private final Map<TabPlayer, Set<BackendTabPlayer>> pendingMoves = new IdentityHashMap<>();
+
+    /** Flag tracking whether a flush task is already scheduled */
+    private boolean flushScheduled;
+
     @Override
     public void load() {
         for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
@@ -64,8 +69,10 @@ public class PacketListener extends TabFeature implements JoinListener, QuitList
     public void onEntitySpawn(@NotNull BackendTabPlayer receiver, int entityId) {
         TabPlayer spawnedPlayer = entityIdMap.get(entityId);
         if (spawnedPlayer != null && spawnedPlayer.isLoaded() && !nameTagX.isPlayerDisabled(spawnedPlayer)) {
-            TAB.getInstance().getCPUManager().runMeasuredTask(featureName, TabConstants.CpuUsageCategory.PACKET_ENTITY_SPAWN,
-                    () -> nameTagX.getArmorStandManager(spawnedPlayer).spawn(receiver));
+            TAB.getInstance().getCPUManager().runMeasuredTask(featureName, TabConstants.CpuUsageCategory.PACKET_ENTITY_SPAWN, () -> {
+                nameTagX.getSpatialGrid().update(spawnedPlayer);
+                nameTagX.getArmorStandManager(spawnedPlayer).spawn(receiver);
+            });
         }
     }
 
@@ -83,22 +90,60 @@ public class PacketListener extends TabFeature implements JoinListener, QuitList
     public void onEntityMove(@NotNull BackendTabPlayer receiver, int entityId) {
         TabPlayer pl = entityIdMap.get(entityId);
         if (pl != null) {
-            //player moved
-            if (nameTagX.isPlayerDisabled(pl) || !pl.isLoaded()) return;
-            TAB.getInstance().getCPUManager().runMeasuredTask(featureName, TabConstants.CpuUsageCategory.PACKET_ENTITY_MOVE,
-                    () -> nameTagX.getArmorStandManager(pl).teleport(receiver));
+            //player moved, location is tracked even if disabled, because player still views armor stands of others
+            if (!pl.isLoaded()) return;
+            queueMove(pl, receiver);
         } else {
             //a vehicle carrying something moved
             for (Integer entity : nameTagX.getVehicleManager().getVehicles().getOrDefault(entityId, Collections.emptyList())) {
                 TabPlayer passenger = entityIdMap.get(entity);
                 if (passenger != null && nameTagX.getArmorStandManager(passenger) != null) {
-                    TAB.getInstance().getCPUManager().runMeasuredTask(featureName, TabConstants.CpuUsageCategory.PACKET_ENTITY_MOVE_PASSENGER,
-                            () -> nameTagX.getArmorStandManager(passenger).teleport(receiver));
+                    queueMove(passenger, receiver);
                 }
             }
         }
     }
 
+    /**
+     * Queues teleport of owner's armor stands for viewer. All moves queued until
+     * the flush task runs are processed together, teleporting armor stands only
+     * once per viewer and computing owner's location only once.
+     *
+     * @param   owner
+     *          Player whose armor stands should be teleported
+     * @param   viewer
+     *          Player to teleport armor stands for
+     */
+    private void queueMove(@NotNull TabPlayer owner, @NotNull BackendTabPlayer viewer) {
+        synchronized (pendingMoves) {
+            pendingMoves.computeIfAbsent(owner, o -> Collections.newSetFromMap(new IdentityHashMap<>())).add(viewer);
+            if (flushScheduled) return;
+            flushScheduled = true;
+        }
+        TAB.getInstance().getCPUManager().runMeasuredTask(featureName, TabConstants.CpuUsageCategory.PACKET_ENTITY_MOVE, this::flushMoves);
+    }
+
+    /**
+     * Updates locations of all players with queued moves and
+     * teleports their armor stands unless they are disabled
+     */
+    private void flushMoves() {
+        Map<TabPlayer, Set<BackendTabPlayer>> moves;
+        synchronized (pendingMoves) {
+            flushScheduled = false;
+            if (pendingMoves.isEmpty()) return;
+            moves = new IdentityHashMap<>(pendingMoves);
+            pendingMoves.clear();
+        }
+        for (Map.Entry<TabPlayer, Set<BackendTabPlayer>> entry : moves.entrySet()) {
+            BackendArmorStandManager asm = nameTagX.getArmorStandManager(entry.getKey());
+            if (asm == null) continue; // Player disconnected
+            nameTagX.getSpatialGrid().update(entry.getKey());
+            if (nameTagX.isPlayerDisabled(entry.getKey())) continue;
+            asm.teleport(entry.getValue());
+        }
+    }
+
     /**
      * Processes entity destroy packet and destroys armor stands if
      * entity ID belongs to an online player.
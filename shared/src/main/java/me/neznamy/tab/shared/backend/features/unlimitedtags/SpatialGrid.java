@@ -0,0 +1,152 @@
+package me.neznamy.tab.shared.backend.features.unlimitedtags;
+
+import lombok.RequiredArgsConstructor;
+import me.neznamy.tab.shared.platform.TabPlayer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Spatial hash of players split by world into chunk-sized cells,
+ * allowing range checks to only look at players in nearby cells
+ * instead of all online players. Cells are updated on observed
+ * movement and periodically for all players, so they may be
+ * slightly outdated.
+ */
+@RequiredArgsConstructor
+public class SpatialGrid {
+
+    /** Bit shift converting block coordinate to cell coordinate, cells are 16x16 blocks */
+    private static final int CELL_SHIFT = 4;
+
+    /** Reference to the main feature */
+    private final BackendNameTagX nameTagX;
+
+    /** Players in each world */
+    private final Map<String, GridWorld> worlds = new HashMap<>();
+
+    /** Last known cell of each player */
+    private final Map<TabPlayer, Position> positions = new IdentityHashMap<>();
+
+    /**
+     * Moves player to the cell of their current location
+     *
+     * @param   player
+     *          Player to update
+     */
+    public synchronized void update(@NotNull TabPlayer player) {
+        String world = player.getWorld();
+        int cellX = (int) Math.floor(nameTagX.getX(player)) >> CELL_SHIFT;
+        int cellZ = (int) Math.floor(nameTagX.getZ(player)) >> CELL_SHIFT;
+        Position position = positions.get(player);
+        if (position != null) {
+            if (position.world.equals(world) && position.cellX == cellX && position.cellZ == cellZ) return;
+            removeFromCell(player, position);
+        } else {
+            position = new Position();
+            positions.put(player, position);
+        }
+        position.world = world;
+        position.cellX = cellX;
+        position.cellZ = cellZ;
+        GridWorld gridWorld = worlds.computeIfAbsent(world, w -> new GridWorld());
+        gridWorld.players.add(player);
+        gridWorld.cells.computeIfAbsent(key(cellX, cellZ), k -> Collections.newSetFromMap(new IdentityHashMap<>())).add(player);
+    }
+
+    /**
+     * Removes player from the grid
+     *
+     * @param   player
+     *          Player to remove
+     */
+    public synchronized void remove(@NotNull TabPlayer player) {
+        Position position = positions.remove(player);
+        if (position != null) removeFromCell(player, position);
+    }
+
+    /**
+     * Removes all players from the grid
+     */
+    public synchronized void clear() {
+        worlds.clear();
+        positions.clear();
+    }
+
+    private void removeFromCell(@NotNull TabPlayer player, @NotNull Position position) {
+        GridWorld gridWorld = worlds.get(position.world);
+        if (gridWorld == null) return;
+        gridWorld.players.remove(player);
+        long key = key(position.cellX, position.cellZ);
+        Set<TabPlayer> cell = gridWorld.cells.get(key);
+        if (cell != null && cell.remove(player) && cell.isEmpty()) gridWorld.cells.remove(key);
+        if (gridWorld.players.isEmpty()) worlds.remove(position.world);
+    }
+
+    /**
+     * Returns all players in cells within range of player's last known cell,
+     * including the player itself. Players in returned list may still be further
+     * than the range. Players not in the list were further at their last known
+     * location, callers should add a margin covering movement since then.
+     *
+     * @param   player
+     *          Player to get nearby players of
+     * @param   range
+     *          Range in blocks
+     * @return  Players in nearby cells
+     */
+    public synchronized @NotNull List<TabPlayer> getNearby(@NotNull TabPlayer player, double range) {
+        Position position = positions.get(player);
+        if (position == null) return Collections.emptyList();
+        GridWorld gridWorld = worlds.get(position.world);
+        if (gridWorld == null) return Collections.emptyList();
+        int cellRange = ((int) Math.ceil(range) + (1 << CELL_SHIFT) - 1) >> CELL_SHIFT;
+        List<TabPlayer> nearby = new ArrayList<>();
+        for (int x = position.cellX - cellRange; x <= position.cellX + cellRange; x++) {
+            for (int z = position.cellZ - cellRange; z <= position.cellZ + cellRange; z++) {
+                Set<TabPlayer> cell = gridWorld.cells.get(key(x, z));
+                if (cell != null) nearby.addAll(cell);
+            }
+        }
+        return nearby;
+    }
+
+    /**
+     * Returns all players last known to be in specified world
+     *
+     * @param   world
+     *          World to get players in
+     * @return  Players in the world
+     */
+    public synchronized @NotNull List<TabPlayer> getPlayers(@NotNull String world) {
+        GridWorld gridWorld = worlds.get(world);
+        if (gridWorld == null) return Collections.emptyList();
+        return new ArrayList<>(gridWorld.players);
+    }
+
+    private static long key(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Players of a single world
+     */
+    private static class GridWorld {
+
+        /** All players in this world */
+        private final Set<TabPlayer> players = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        /** Players in each non-empty cell */
+        private final Map<Long, Set<TabPlayer>> cells = new HashMap<>();
+    }
+
+    /**
+     * Last known cell of a player
+     */
+    private static class Position {
+
+        private String world;
+        private int cellX;
+        private int cellZ;
+    }
+}
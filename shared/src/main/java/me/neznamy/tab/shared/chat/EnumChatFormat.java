@@ -165,6 +165,29 @@ public enum EnumChatFormat {
         return new String(b);
     }
 
+    /**
+     * Translates color codes in provided builder in place, same as {@link #color(String)},
+     * but only for codes whose '&amp;' symbol is on index between {@code from} (inclusive)
+     * and {@code to} (exclusive). This allows appending text to a builder and only
+     * colorizing the appended part, including a code split between old and new content.
+     *
+     * @param   builder
+     *          builder to replace color symbol in
+     * @param   from
+     *          first index to check (inclusive)
+     * @param   to
+     *          last index to check (exclusive)
+     */
+    public static void color(@NotNull StringBuilder builder, int from, int to) {
+        int end = Math.min(to, builder.length() - 1);
+        for (int i = Math.max(0, from); i < end; i++) {
+            if ((builder.charAt(i) == '&') && ("0123456789AaBbCcDdEeFfKkLlMmNnOoRrXx".indexOf(builder.charAt(i + 1)) > -1)) {
+                builder.setCharAt(i, COLOR_CHAR);
+                builder.setCharAt(i + 1, Character.toLowerCase(builder.charAt(i + 1)));
+            }
+        }
+    }
+
     /**
      * Turns back the color symbol into '&amp;' symbol in provided text.
      *
@@ -12,6 +12,7 @@ import me.neznamy.tab.shared.chat.IChatBaseComponent;
 import me.neznamy.tab.api.placeholder.Placeholder;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.TabConstants;
+import me.neznamy.tab.shared.util.ComponentCache;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -56,6 +57,9 @@ public class CpuCommand extends SubCommand {
             sendToConsole(features);
         }
         sendMessage(sender, SEPARATOR);
+        sendMessage(sender, "&8&l" + LINE_CHAR + " &6Component caches:");
+        printCaches(sender);
+        sendMessage(sender, SEPARATOR);
         sendMessage(sender, String.format("&8&l%s &6&lPlaceholders Total: &a&l%s%%", LINE_CHAR, colorize(decimal3.format(placeholdersTotal), 10, 5)));
         sendMessage(sender, String.format("&8&l%s &6&lPlugin internals: &a&l%s%%", LINE_CHAR, colorize(decimal3.format(featuresTotal-placeholdersTotal), 10, 5)));
         sendMessage(sender, String.format("&8&l%s &6&lTotal: &e&l%s%%", LINE_CHAR, colorize(decimal3.format(featuresTotal), 10, 5)));
@@ -75,6 +79,15 @@ public class CpuCommand extends SubCommand {
         }
     }
 
+    private void printCaches(@Nullable TabPlayer sender) {
+        for (ComponentCache<?, ?> cache : ComponentCache.getCaches()) {
+            long requests = cache.getHits() + cache.getMisses();
+            String hitRate = requests == 0 ? "0" : decimal3.format(cache.getHits() * 100d / requests);
+            sendMessage(sender, String.format("&8&l%s &7%s - &e%s&7/%s entries, &a%s%% &7hit rate, &e%s &7evictions",
+                    LINE_CHAR, cache.getName(), cache.getSize(), cache.getCacheSize() * 2, hitRate, cache.getEvictions()));
+        }
+    }
+
     public void sendToConsole(@NotNull Map<String, Map<String, Float>> features) {
         TAB.getInstance().sendConsoleMessage("&8&l" + LINE_CHAR + " &6Features:", true);
         for (Entry<String, Map<String, Float>> entry : features.entrySet()) {
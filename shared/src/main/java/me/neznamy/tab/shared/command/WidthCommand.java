@@ -65,8 +65,7 @@ public class WidthCommand extends SubCommand {
                 for (int i = 0; i < symbol.length(); i++) {
                     idArray[i] = Integer.toString(symbol.charAt(i));
                 }
-                TAB.getInstance().getConfig().getConfigurationSection("tablist-name-formatting.character-width-overrides").put(String.join("+", idArray), width);
-                TAB.getInstance().getConfig().save();
+                TAB.getInstance().getConfig().set("tablist-name-formatting.character-width-overrides." + String.join("+", idArray), width);
                 sendMessage(sender, "&2[TAB] Successfully set width of &6" + symbol + " &2(&6" + String.join("+", idArray) + "&2) to &6" + width + "&2 pixels.");
             } else {
                 sendUsage(sender);
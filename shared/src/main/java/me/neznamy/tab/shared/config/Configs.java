@@ -74,8 +74,10 @@ public class Configs {
                     Class.forName("com.mysql.jdbc.Driver");
                 }
                 mysql = new MySQL(config.getString("mysql.host", "127.0.0.1"), config.getInt("mysql.port", 3306),
-                        config.getString("mysql.database", "tab"), config.getString("mysql.username", "user"), config.getString("mysql.password", "password"));
+                        config.getString("mysql.database", "tab"), config.getString("mysql.username", "user"), config.getString("mysql.password", "password"),
+                        getSecretOption("mysql.pool-size", 2));
                 mysql.openConnection();
+                TAB.getInstance().sendConsoleMessage("&aSuccessfully connected to MySQL", true);
                 groups = new MySQLGroupConfiguration(mysql);
                 users = new MySQLUserConfiguration(mysql);
                 return;
@@ -4,20 +4,31 @@ import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
 import me.neznamy.tab.shared.TAB;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.*;
 
 /**
- * Abstract class for configuration file
+ * Abstract class for configuration file.
+ * <p>
+ * Files are always written into a temporary file first, which then replaces
+ * the original file, so a crash during writing cannot corrupt it. In write-behind
+ * mode, changes only mark the file as dirty and the file is written on a background
+ * thread, coalescing all changes made in the meantime into a single write.
+ * Optionally, each change is also appended into a journal next to the file,
+ * which is replayed on load if the file was not written before a crash.
  */
 @SuppressWarnings("unchecked")
 public abstract class ConfigurationFile {
@@ -31,6 +42,32 @@ public abstract class ConfigurationFile {
     /** File to use */
     @Getter protected final File file;
 
+    /** Whether changes should be written on background thread or immediately */
+    @Setter private static boolean writeBehind;
+
+    /** Whether changes should be appended into a journal before they are written */
+    @Setter private static boolean journal;
+
+    /** Thread writing files in write-behind mode, stops when there is nothing to write */
+    private static final ExecutorService writer = new ThreadPoolExecutor(0, 1, 5, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), r -> {
+                Thread thread = new Thread(r, "TAB Configuration Writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /** Files with changes not written yet */
+    private static final Set<ConfigurationFile> dirtyFiles = Collections.synchronizedSet(new LinkedHashSet<>());
+
+    /** Lock ensuring writes of this file happen in the same order as serialization */
+    private final Object writeLock = new Object();
+
+    /** Journal with changes not written into the file yet */
+    private final Path journalFile;
+
+    /** Journal being written into the file, deleted once the file is written */
+    private final Path oldJournalFile;
+
     /**
      * Constructs new instance and attempts to load specified configuration file.
      * If file does not exist, default file is copied from {@code source}.
@@ -48,6 +85,8 @@ public abstract class ConfigurationFile {
      */
     protected ConfigurationFile(@Nullable InputStream source, @NonNull File destination) throws IOException {
         this.file = destination;
+        journalFile = file.toPath().resolveSibling(file.getName() + ".journal");
+        oldJournalFile = file.toPath().resolveSibling(file.getName() + ".journal.old");
         if (file.getParentFile() != null && !file.getParentFile().exists()) Files.createDirectories(file.getParentFile().toPath());
         if (!file.exists()) {
             if (source == null) throw new IllegalStateException("File does not exist and source is null");
@@ -57,9 +96,125 @@ public abstract class ConfigurationFile {
     }
 
     /**
-     * Saves values from map to the file
+     * Serializes all values into file content without header
+     *
+     * @return  Serialized file content
      */
-    public abstract void save();
+    protected abstract @NotNull String serialize();
+
+    /**
+     * Serializes a single change into one line of journal
+     *
+     * @param   change
+     *          Map with path and value of the change
+     * @return  Serialized change without line separator
+     */
+    protected abstract @NotNull String serializeChange(@NotNull Map<String, Object> change);
+
+    /**
+     * Deserializes a single journal line created by {@link #serializeChange(Map)}
+     *
+     * @param   line
+     *          Journal line
+     * @return  Map with path and value of the change or {@code null} if line is invalid
+     */
+    protected abstract @Nullable Map<String, Object> deserializeChange(@NotNull String line);
+
+    /**
+     * Saves values from map to the file immediately
+     */
+    public void save() {
+        dirtyFiles.remove(this);
+        synchronized (writeLock) {
+            String content;
+            synchronized (this) {
+                content = serialize();
+                if (Files.exists(journalFile)) {
+                    try {
+                        Files.move(journalFile, oldJournalFile, StandardCopyOption.REPLACE_EXISTING);
+                    } catch (IOException e) {
+                        TAB.getInstance().getErrorManager().printError("Failed to rotate journal of " + file.getName(), e);
+                    }
+                }
+            }
+            try {
+                write(header == null ? content : String.join(System.lineSeparator(), header) + System.lineSeparator() + content);
+                Files.deleteIfExists(oldJournalFile);
+            } catch (IOException e) {
+                TAB.getInstance().sendConsoleMessage("&cFailed to save file " + file.getPath() + ": " + e.getMessage(), true);
+            }
+        }
+    }
+
+    /**
+     * Writes content into a temporary file, which then replaces the file
+     *
+     * @param   content
+     *          Content to write
+     * @throws  IOException
+     *          if I/O operation fails
+     */
+    private void write(@NotNull String content) throws IOException {
+        Path temp = file.toPath().resolveSibling(file.getName() + ".tmp");
+        Files.write(temp, content.getBytes(StandardCharsets.UTF_8));
+        try {
+            Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Saves the file immediately if write-behind mode is disabled, otherwise
+     * marks it as dirty and saves it on background thread.
+     */
+    public void markDirty() {
+        if (!writeBehind) {
+            save();
+            return;
+        }
+        if (dirtyFiles.add(this)) {
+            writer.submit(() -> {
+                if (dirtyFiles.contains(this)) save();
+            });
+        }
+    }
+
+    /**
+     * Immediately saves all files with changes which were not written yet
+     */
+    public static void saveDirtyFiles() {
+        List<ConfigurationFile> files;
+        synchronized (dirtyFiles) {
+            files = new ArrayList<>(dirtyFiles);
+        }
+        for (ConfigurationFile file : files) {
+            file.save();
+        }
+    }
+
+    /**
+     * Applies changes from journals left behind by previous run and saves
+     * the file with them. This must be called after values are loaded.
+     *
+     * @throws  IOException
+     *          if I/O operation fails
+     */
+    protected void replayJournal() throws IOException {
+        boolean found = false;
+        for (Path path : new Path[] {oldJournalFile, journalFile}) {
+            if (!Files.exists(path)) continue;
+            found = true;
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                Map<String, Object> change = deserializeChange(line);
+                if (change == null) continue; // Incomplete line written during crash
+                set(values, String.valueOf(change.get("path")), change.get("value"));
+            }
+        }
+        if (!found) return;
+        TAB.getInstance().debug("Replayed journal of " + file.getName());
+        save();
+    }
 
     /**
      * Gets config option with specified path. If the option is not present and
@@ -296,7 +451,8 @@ public abstract class ConfigurationFile {
     }
 
     /**
-     * Sets value to the specified path and saves the file to disk by calling {@link #save()}.
+     * Sets value to the specified path and saves the file to disk by calling {@link #markDirty()}.
+     * If journal is enabled, the change is appended into it first.
      *
      * @param   path
      *          Path to the option with sections separated with "{@code .}"
@@ -304,8 +460,21 @@ public abstract class ConfigurationFile {
      *          Value to save
      */
     public void set(@NonNull String path, @Nullable Object value) {
-        set(values, path, value);
-        save();
+        synchronized (this) {
+            set(values, path, value);
+            if (journal) {
+                Map<String, Object> change = new LinkedHashMap<>();
+                change.put("path", path);
+                change.put("value", value);
+                try {
+                    Files.write(journalFile, (serializeChange(change) + System.lineSeparator()).getBytes(StandardCharsets.UTF_8),
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                } catch (IOException e) {
+                    TAB.getInstance().getErrorManager().printError("Failed to write journal of " + file.getName(), e);
+                }
+            }
+        }
+        markDirty();
     }
 
     /**
@@ -371,21 +540,4 @@ public abstract class ConfigurationFile {
             }
         }
     }
-
-    /**
-     * Inserts header back into file. This is required after calling {@link #save()}, because
-     * it destroys the header.
-     *
-     * @throws  IOException
-     *          if I/O operation fails
-     */
-    public void fixHeader() throws IOException {
-        if (header == null) return;
-        List<String> content = new ArrayList<>(header);
-        content.addAll(Files.readAllLines(file.toPath()));
-        Files.delete(file.toPath());
-        if (file.createNewFile()) {
-            Files.write(file.toPath(), content);
-        }
-    }
 }
\ No newline at end of file
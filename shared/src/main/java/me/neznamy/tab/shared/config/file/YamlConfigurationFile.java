@@ -2,17 +2,15 @@ package me.neznamy.tab.shared.config.file;
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
-import java.nio.charset.StandardCharsets;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import lombok.NonNull;
 import me.neznamy.tab.shared.TAB;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.Yaml;
@@ -28,6 +26,9 @@ public class YamlConfigurationFile extends ConfigurationFile {
     /** SnakeYAML instance */
     private final Yaml yaml;
 
+    /** SnakeYAML instance writing everything on a single line for journal */
+    private final Yaml journalYaml;
+
     /**
      * Constructs new instance and attempts to load specified configuration file.
      * If file does not exist, default file is copied from {@code source}.
@@ -53,9 +54,15 @@ public class YamlConfigurationFile extends ConfigurationFile {
             DumperOptions options = new DumperOptions();
             options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
             yaml = new Yaml(options);
+            DumperOptions journalOptions = new DumperOptions();
+            journalOptions.setDefaultFlowStyle(DumperOptions.FlowStyle.FLOW);
+            journalOptions.setDefaultScalarStyle(DumperOptions.ScalarStyle.DOUBLE_QUOTED);
+            journalOptions.setSplitLines(false);
+            journalYaml = new Yaml(journalOptions);
             values = yaml.load(input);
             if (values == null) values = new LinkedHashMap<>();
             input.close();
+            replayJournal();
         } catch (YAMLException e) {
             if (input != null) input.close();
             TAB tab = TAB.getInstance();
@@ -74,14 +81,23 @@ public class YamlConfigurationFile extends ConfigurationFile {
     }
 
     @Override
-    public void save() {
+    protected @NotNull String serialize() {
+        return yaml.dump(values);
+    }
+
+    @Override
+    protected @NotNull String serializeChange(@NotNull Map<String, Object> change) {
+        return journalYaml.dump(change).trim();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected @Nullable Map<String, Object> deserializeChange(@NotNull String line) {
         try {
-            Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8);
-            yaml.dump(values, writer);
-            writer.close();
-            fixHeader();
-        } catch (IOException e) {
-            TAB.getInstance().sendConsoleMessage("&cFailed to save yaml file " + file.getPath() + " with content " + values.toString(), true);
+            Object change = journalYaml.load(line);
+            return change instanceof Map ? (Map<String, Object>) change : null;
+        } catch (YAMLException e) {
+            return null;
         }
     }
 }
\ No newline at end of file
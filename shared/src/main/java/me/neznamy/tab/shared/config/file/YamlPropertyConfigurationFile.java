@@ -4,7 +4,9 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
+import lombok.NonNull;
 import me.neznamy.tab.shared.TabConstants;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -17,10 +19,29 @@ public class YamlPropertyConfigurationFile extends YamlConfigurationFile impleme
 
     private final String PER_SERVER = "per-server";
     private final String PER_WORLD = "per-world";
+    private final String DEFAULT_GROUP = TabConstants.DEFAULT_GROUP.toLowerCase(Locale.ROOT);
     
     private final String category;
     private final List<Object> worldGroups = new ArrayList<>(getConfigurationSection(PER_WORLD).keySet());
     private final List<Object> serverGroups = new ArrayList<>(getConfigurationSection(PER_SERVER).keySet());
+
+    /** Compiled index of all properties, {@code null} if file changed and it needs to be compiled again */
+    private volatile PropertyIndex index;
+
+    /** Lowercase world group of each world */
+    private final Map<String, String> worldGroupCache = new ConcurrentHashMap<>();
+
+    /** Lowercase server group of each server */
+    private final Map<String, String> serverGroupCache = new ConcurrentHashMap<>();
+
+    /** Source descriptors of properties defined per world by name and world */
+    private final Map<String, Map<String, String>> worldSources = new ConcurrentHashMap<>();
+
+    /** Source descriptors of properties defined per server by name and server */
+    private final Map<String, Map<String, String>> serverSources = new ConcurrentHashMap<>();
+
+    /** Source descriptors of global properties by name */
+    private final Map<String, String> globalSources = new ConcurrentHashMap<>();
     
     public YamlPropertyConfigurationFile(@Nullable InputStream source, @NotNull File destination) throws YAMLException, IOException {
         super(source, destination);
@@ -40,28 +61,72 @@ public class YamlPropertyConfigurationFile extends YamlConfigurationFile impleme
 
     @Override
     public String[] getProperty(@NotNull String name, @NotNull String property, @Nullable String server, @Nullable String world) {
-        Object value;
-        if ((value = getObject(new String[] {PER_WORLD, TAB.getInstance().getConfiguration().getGroup(worldGroups, world), name, property})) != null) {
-            return new String[] {toString(value), category + "=" + name + ", world=" + world};
-        }
-        if ((value = getObject(new String[] {PER_WORLD, TAB.getInstance().getConfiguration().getGroup(worldGroups, world), TabConstants.DEFAULT_GROUP, property})) != null) {
-            return new String[] {toString(value), category + "=" + TabConstants.DEFAULT_GROUP + ", world=" + world};
-        }
-        if ((value = getObject(new String[] {PER_SERVER, TAB.getInstance().getConfiguration().getGroup(serverGroups, server), name, property})) != null) {
-            return new String[] {toString(value), category + "=" + name + ", server=" + server};
+        PropertyIndex index = getIndex();
+        String lowercaseName = name.toLowerCase(Locale.ROOT);
+        String lowercaseProperty = property.toLowerCase(Locale.ROOT);
+        String value;
+        if (world != null) {
+            Map<String, Map<String, String>> worldGroup = index.perWorld.get(worldGroupCache.computeIfAbsent(world,
+                    w -> TAB.getInstance().getConfiguration().getGroup(worldGroups, w).toLowerCase(Locale.ROOT)));
+            if (worldGroup != null) {
+                if ((value = get(worldGroup, lowercaseName, lowercaseProperty)) != null) {
+                    return new String[] {value, worldSources.computeIfAbsent(name, n -> new ConcurrentHashMap<>())
+                            .computeIfAbsent(world, w -> category + "=" + name + ", world=" + w)};
+                }
+                if ((value = get(worldGroup, DEFAULT_GROUP, lowercaseProperty)) != null) {
+                    return new String[] {value, worldSources.computeIfAbsent(TabConstants.DEFAULT_GROUP, n -> new ConcurrentHashMap<>())
+                            .computeIfAbsent(world, w -> category + "=" + TabConstants.DEFAULT_GROUP + ", world=" + w)};
+                }
+            }
         }
-        if ((value = getObject(new String[] {PER_SERVER, TAB.getInstance().getConfiguration().getGroup(serverGroups, server), TabConstants.DEFAULT_GROUP, property})) != null) {
-            return new String[] {toString(value), category + "=" + TabConstants.DEFAULT_GROUP + ", server=" + server};
+        if (server != null) {
+            Map<String, Map<String, String>> serverGroup = index.perServer.get(serverGroupCache.computeIfAbsent(server,
+                    s -> TAB.getInstance().getConfiguration().getGroup(serverGroups, s).toLowerCase(Locale.ROOT)));
+            if (serverGroup != null) {
+                if ((value = get(serverGroup, lowercaseName, lowercaseProperty)) != null) {
+                    return new String[] {value, serverSources.computeIfAbsent(name, n -> new ConcurrentHashMap<>())
+                            .computeIfAbsent(server, s -> category + "=" + name + ", server=" + s)};
+                }
+                if ((value = get(serverGroup, DEFAULT_GROUP, lowercaseProperty)) != null) {
+                    return new String[] {value, serverSources.computeIfAbsent(TabConstants.DEFAULT_GROUP, n -> new ConcurrentHashMap<>())
+                            .computeIfAbsent(server, s -> category + "=" + TabConstants.DEFAULT_GROUP + ", server=" + s)};
+                }
+            }
         }
-        if ((value = getObject(new String[] {name, property})) != null) {
-            return new String[] {toString(value), category + "=" + name};
+        if ((value = get(index.global, lowercaseName, lowercaseProperty)) != null) {
+            return new String[] {value, globalSources.computeIfAbsent(name, n -> category + "=" + n)};
         }
-        if ((value = getObject(new String[] {TabConstants.DEFAULT_GROUP, property})) != null) {
-            return new String[] {toString(value), category + "=" + TabConstants.DEFAULT_GROUP};
+        if ((value = get(index.global, DEFAULT_GROUP, lowercaseProperty)) != null) {
+            return new String[] {value, globalSources.computeIfAbsent(TabConstants.DEFAULT_GROUP, n -> category + "=" + n)};
         }
         return new String[0];
     }
 
+    private @Nullable String get(@NotNull Map<String, Map<String, String>> entries, @NotNull String name, @NotNull String property) {
+        Map<String, String> properties = entries.get(name);
+        return properties == null ? null : properties.get(property);
+    }
+
+    /**
+     * Returns compiled index of all properties, compiling it first if file changed
+     *
+     * @return  Compiled property index
+     */
+    private @NotNull PropertyIndex getIndex() {
+        PropertyIndex index = this.index;
+        if (index != null) return index;
+        synchronized (this) {
+            if (this.index == null) this.index = new PropertyIndex(values);
+            return this.index;
+        }
+    }
+
+    @Override
+    public void set(@NonNull String path, @Nullable Object value) {
+        super.set(path, value);
+        index = null;
+    }
+
     @Override
     public void remove(@NotNull String name) {
         set(name, null);
@@ -94,4 +159,65 @@ public class YamlPropertyConfigurationFile extends YamlConfigurationFile impleme
         perServer.values().forEach(m -> set.addAll(m.keySet()));
         return set;
     }
+
+    /**
+     * Immutable index of all properties in the file with lowercase keys,
+     * so lookups do not need to walk through the file ignoring case.
+     */
+    private class PropertyIndex {
+
+        /** Properties by world group, name and property */
+        private final Map<String, Map<String, Map<String, String>>> perWorld;
+
+        /** Properties by server group, name and property */
+        private final Map<String, Map<String, Map<String, String>>> perServer;
+
+        /** Properties by name and property */
+        private final Map<String, Map<String, String>> global;
+
+        /**
+         * Compiles index from file content
+         *
+         * @param   values
+         *          File content
+         */
+        private PropertyIndex(@NotNull Map<String, Object> values) {
+            perWorld = compileGroups(findSection(values, PER_WORLD));
+            perServer = compileGroups(findSection(values, PER_SERVER));
+            global = compileEntries(values);
+        }
+
+        private @NotNull Map<String, Map<String, Map<String, String>>> compileGroups(@Nullable Object section) {
+            Map<String, Map<String, Map<String, String>>> groups = new HashMap<>();
+            if (!(section instanceof Map)) return groups;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) section).entrySet()) {
+                if (entry.getValue() instanceof Map) {
+                    groups.putIfAbsent(entry.getKey().toString().toLowerCase(Locale.ROOT), compileEntries((Map<?, ?>) entry.getValue()));
+                }
+            }
+            return groups;
+        }
+
+        private @NotNull Map<String, Map<String, String>> compileEntries(@NotNull Map<?, ?> section) {
+            Map<String, Map<String, String>> entries = new HashMap<>();
+            for (Map.Entry<?, ?> entry : section.entrySet()) {
+                if (!(entry.getValue() instanceof Map)) continue;
+                Map<String, String> properties = new HashMap<>();
+                for (Map.Entry<?, ?> property : ((Map<?, ?>) entry.getValue()).entrySet()) {
+                    if (property.getValue() == null) continue;
+                    properties.putIfAbsent(property.getKey().toString().toLowerCase(Locale.ROOT),
+                            YamlPropertyConfigurationFile.this.toString(property.getValue()));
+                }
+                entries.putIfAbsent(entry.getKey().toString().toLowerCase(Locale.ROOT), properties);
+            }
+            return entries;
+        }
+
+        private @Nullable Object findSection(@NotNull Map<String, Object> values, @NotNull String name) {
+            for (Map.Entry<String, Object> entry : values.entrySet()) {
+                if (entry.getKey().equalsIgnoreCase(name)) return entry.getValue();
+            }
+            return null;
+        }
+    }
 }
\ No newline at end of file
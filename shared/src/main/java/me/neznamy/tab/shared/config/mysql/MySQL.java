@@ -5,69 +5,414 @@ import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.sql.rowset.CachedRowSet;
 import javax.sql.rowset.RowSetProvider;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import me.neznamy.tab.shared.TAB;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+/**
+ * MySQL connection pool with dedicated I/O executors. Read queries run on a pool
+ * of threads, write queries are queued and flushed in batches by a single writer
+ * thread, so they are executed in the order they were queued. Queued changes of
+ * the same row are collapsed and the remaining ones are grouped by statement, so
+ * each statement is sent as a single batch, which the driver rewrites into
+ * multi-row statements.
+ */
 @RequiredArgsConstructor
 public class MySQL {
 
-    private Connection con;
+    /** Delay in milliseconds between first queued write query and flushing the queue */
+    private static final int FLUSH_DELAY_MILLIS = 50;
+
     @NonNull private final String host;
     private final int port;
     @NonNull private final String database;
     @NonNull private final String username;
     @NonNull private final String password;
+    private final int poolSize;
+
+    /** Idle connections ready to be borrowed */
+    private BlockingQueue<Connection> idleConnections;
+
+    /** Executor for running read queries outside of the processing thread */
+    private ExecutorService ioExecutor;
+
+    /** Single thread executor flushing write queries, so flushes never run concurrently */
+    private ScheduledExecutorService writeExecutor;
+
+    /** Write queries waiting to be flushed */
+    private final Queue<QueuedUpdate> queuedUpdates = new ConcurrentLinkedQueue<>();
+
+    /** Flag tracking whether a flush task is already scheduled */
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
 
     public void openConnection() throws SQLException {
-        if (isConnected()) return;
-        con = DriverManager.getConnection("jdbc:mysql://" + host + ":" + port + "/" + database, username, password);
-        TAB.getInstance().sendConsoleMessage("&aSuccessfully connected to MySQL", true);
+        if (idleConnections != null) return;
+        BlockingQueue<Connection> connections = new ArrayBlockingQueue<>(poolSize);
+        for (int i=0; i<poolSize; i++) {
+            connections.add(createConnection());
+        }
+        idleConnections = connections;
+        ioExecutor = Executors.newFixedThreadPool(poolSize, new ThreadFactoryBuilder().setNameFormat("TAB MySQL Thread #%d").build());
+        writeExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("TAB MySQL Writer Thread").build());
     }
-    
+
+    /**
+     * Opens a new connection to the database.
+     *
+     * @return  New connection
+     * @throws  SQLException
+     *          If opening the connection fails
+     */
+    @NotNull Connection createConnection() throws SQLException {
+        return DriverManager.getConnection("jdbc:mysql://" + host + ":" + port + "/" + database + "?rewriteBatchedStatements=true", username, password);
+    }
+
+    /**
+     * Flushes all queued write queries and closes all connections
+     *
+     * @throws  SQLException
+     *          If closing a connection fails
+     */
     public void closeConnection() throws SQLException {
-        if (isConnected()) con.close();
+        if (idleConnections == null) return;
+        // Writer first, as it hands queued reads over to the I/O executor
+        awaitTermination(writeExecutor);
+        awaitTermination(ioExecutor);
+        flush();
+        BlockingQueue<Connection> connections = idleConnections;
+        idleConnections = null;
+        Connection con;
+        while ((con = connections.poll()) != null) {
+            con.close();
+        }
     }
 
-    private boolean isConnected() throws SQLException {
-        return con != null && !con.isClosed();
+    private void awaitTermination(@NotNull ExecutorService executor) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                TAB.getInstance().sendConsoleMessage("&cMySQL queries did not finish in 30 seconds, closing connections anyway", true);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Takes an idle connection from the pool, waiting for one to become available if needed.
+     * If the connection is no longer valid, a new one is opened. Connection must be returned
+     * using {@link #release(Connection)}.
+     *
+     * @return  Valid connection
+     * @throws  SQLException
+     *          If opening a new connection fails
+     */
+    private @NotNull Connection borrow() throws SQLException {
+        if (idleConnections == null) openConnection();
+        Connection con;
+        try {
+            con = idleConnections.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+        try {
+            if (con.isClosed() || !con.isValid(2)) {
+                closeQuietly(con);
+                con = createConnection();
+            }
+        } catch (SQLException e) {
+            idleConnections.add(con);
+            throw e;
+        }
+        return con;
+    }
+
+    /**
+     * Returns borrowed connection into the pool. If the pool was closed
+     * meanwhile, the connection is closed instead.
+     *
+     * @param   con
+     *          Connection to return
+     */
+    private void release(@NotNull Connection con) {
+        BlockingQueue<Connection> connections = idleConnections;
+        if (connections != null) {
+            connections.add(con);
+        } else {
+            closeQuietly(con);
+        }
+    }
+
+    private void closeQuietly(@NotNull Connection con) {
+        try {
+            con.close();
+        } catch (SQLException ignored) {
+            // Connection is broken already
+        }
     }
 
     public void execute(@NonNull String query, @Nullable Object... vars) throws SQLException {
-        try (PreparedStatement ps = prepareStatement(query, vars)) {
+        Connection con = borrow();
+        try (PreparedStatement ps = prepareStatement(con, query, vars)) {
             ps.execute();
+        } finally {
+            release(con);
         }
     }
 
-    private PreparedStatement prepareStatement(@NonNull String query, @Nullable Object... vars) throws SQLException {
-        if (!isConnected()) openConnection();
+    private PreparedStatement prepareStatement(@NonNull Connection con, @NonNull String query, @Nullable Object... vars) throws SQLException {
         PreparedStatement ps = con.prepareStatement(query);
+        setParameters(ps, query, vars);
+        return ps;
+    }
+
+    private void setParameters(@NonNull PreparedStatement ps, @NonNull String query, @Nullable Object... vars) throws SQLException {
         int i = 0;
-        if (query.contains("?") && vars.length != 0) {
+        if (query.contains("?") && vars != null && vars.length != 0) {
             for (Object obj : vars) {
                 i++;
                 ps.setObject(i, obj);
             }
         }
-        return ps;
     }
 
     public CachedRowSet getCRS(@NonNull String query, @NonNull Object... vars) throws SQLException {
-        PreparedStatement ps = prepareStatement(query, vars);
-        ResultSet rs = ps.executeQuery();
-        CachedRowSet crs;
-        try {
-            crs = RowSetProvider.newFactory().createCachedRowSet();
+        Connection con = borrow();
+        try (PreparedStatement ps = prepareStatement(con, query, vars);
+             ResultSet rs = ps.executeQuery()) {
+            CachedRowSet crs = RowSetProvider.newFactory().createCachedRowSet();
             crs.populate(rs);
             return crs;
         } finally {
-            rs.close();
-            ps.close();
+            release(con);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Runs query on the I/O executor and returns future completed with the result.
+     * Write queries queued before this call are executed before the query runs.
+     * If the connection is already closed, the future is completed exceptionally.
+     *
+     * @param   query
+     *          Query to run
+     * @param   vars
+     *          Query parameters
+     * @return  Future completed with query result
+     */
+    public @NotNull CompletableFuture<CachedRowSet> getCRSAsync(@NonNull String query, @NonNull Object... vars) {
+        CompletableFuture<CachedRowSet> future = new CompletableFuture<>();
+        execute(writeExecutor, future, () -> {
+            flush();
+            execute(ioExecutor, future, () -> {
+                try {
+                    future.complete(getCRS(query, vars));
+                } catch (SQLException | RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        });
+        return future;
+    }
+
+    private void execute(@Nullable Executor executor, @NotNull CompletableFuture<?> future, @NotNull Runnable task) {
+        if (executor == null) {
+            future.completeExceptionally(new SQLException("Connection is not open"));
+            return;
+        }
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new SQLException("Connection is closed", e));
+        }
+    }
+
+    /**
+     * Queues write query to be executed by the writer thread. Queries queued
+     * shortly after each other are executed together in a single transaction.
+     * Row changes queued before this query are executed before it and row
+     * changes queued after it are executed after it.
+     *
+     * @param   query
+     *          Query to execute
+     * @param   vars
+     *          Query parameters
+     */
+    public void queueUpdate(@NonNull String query, @Nullable Object... vars) {
+        queue(new QueuedUpdate(null, false, query, vars));
+    }
+
+    /**
+     * Queues query deleting a single row. If an insert of the same row
+     * was queued and not executed yet, it is discarded.
+     *
+     * @param   row
+     *          Identifier of the row the query deletes
+     * @param   query
+     *          Query to execute
+     * @param   vars
+     *          Query parameters
+     */
+    public void queueRowDelete(@NonNull Object row, @NonNull String query, @Nullable Object... vars) {
+        queue(new QueuedUpdate(row, true, query, vars));
+    }
+
+    /**
+     * Queues query inserting a single row. If an insert of the same row
+     * was queued and not executed yet, it is replaced by this one.
+     *
+     * @param   row
+     *          Identifier of the row the query inserts
+     * @param   query
+     *          Query to execute
+     * @param   vars
+     *          Query parameters
+     */
+    public void queueRowInsert(@NonNull Object row, @NonNull String query, @Nullable Object... vars) {
+        queue(new QueuedUpdate(row, false, query, vars));
+    }
+
+    private void queue(@NotNull QueuedUpdate update) {
+        queuedUpdates.add(update);
+        ScheduledExecutorService executor = writeExecutor;
+        if (executor == null || executor.isShutdown()) return; // Flushed on close
+        if (flushScheduled.compareAndSet(false, true)) {
+            try {
+                executor.schedule(() -> {
+                    flushScheduled.set(false);
+                    flush();
+                }, FLUSH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                flushScheduled.set(false); // Closed meanwhile, flushed on close
+            }
+        }
+    }
+
+    /**
+     * Executes all queued write queries in a single transaction. Only called
+     * from the writer thread or after it was terminated. Row changes
+     * between two other queries are collapsed per row, then all deletes
+     * and all inserts are executed grouped by statement.
+     */
+    private void flush() {
+        List<QueuedUpdate> updates = new ArrayList<>();
+        QueuedUpdate update;
+        while ((update = queuedUpdates.poll()) != null) {
+            updates.add(update);
+        }
+        if (updates.isEmpty()) return;
+        Connection con = null;
+        try {
+            con = borrow();
+            con.setAutoCommit(false);
+            Map<Object, QueuedUpdate> deletes = new LinkedHashMap<>();
+            Map<Object, QueuedUpdate> inserts = new LinkedHashMap<>();
+            for (QueuedUpdate queued : updates) {
+                if (queued.row == null) {
+                    executeRowChanges(con, deletes, inserts);
+                    executeGrouped(con, Collections.singletonList(queued));
+                } else if (queued.delete) {
+                    deletes.putIfAbsent(queued.row, queued);
+                    inserts.remove(queued.row);
+                } else {
+                    inserts.put(queued.row, queued);
+                }
+            }
+            executeRowChanges(con, deletes, inserts);
+            con.commit();
+        } catch (SQLException e) {
+            if (con != null) {
+                try {
+                    con.rollback();
+                } catch (SQLException ignored) {
+                    // Connection is broken, it will be replaced on next borrow
+                }
+            }
+            TAB.getInstance().getErrorManager().printError("Failed to execute " + updates.size() + " queued MySQL queries", e);
+        } finally {
+            if (con != null) {
+                try {
+                    con.setAutoCommit(true);
+                } catch (SQLException ignored) {
+                    // Connection is broken, it will be replaced on next borrow
+                }
+                release(con);
+            }
+        }
+    }
+
+    /**
+     * Executes collapsed row changes, deletes first, then inserts, and clears them.
+     *
+     * @param   con
+     *          Connection to execute the queries with
+     * @param   deletes
+     *          Queued deletes by their row
+     * @param   inserts
+     *          Queued inserts by their row
+     * @throws  SQLException
+     *          If executing a query fails
+     */
+    private void executeRowChanges(@NotNull Connection con, @NotNull Map<Object, QueuedUpdate> deletes,
+                                   @NotNull Map<Object, QueuedUpdate> inserts) throws SQLException {
+        executeGrouped(con, deletes.values());
+        executeGrouped(con, inserts.values());
+        deletes.clear();
+        inserts.clear();
+    }
+
+    /**
+     * Executes queries grouped by statement, each statement as a single batch.
+     *
+     * @param   con
+     *          Connection to execute the queries with
+     * @param   updates
+     *          Queries to execute
+     * @throws  SQLException
+     *          If executing a query fails
+     */
+    private void executeGrouped(@NotNull Connection con, @NotNull Collection<QueuedUpdate> updates) throws SQLException {
+        Map<String, List<QueuedUpdate>> statements = new LinkedHashMap<>();
+        for (QueuedUpdate queued : updates) {
+            statements.computeIfAbsent(queued.query, q -> new ArrayList<>()).add(queued);
+        }
+        for (Map.Entry<String, List<QueuedUpdate>> entry : statements.entrySet()) {
+            try (PreparedStatement ps = con.prepareStatement(entry.getKey())) {
+                for (QueuedUpdate queued : entry.getValue()) {
+                    setParameters(ps, queued.query, queued.vars);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Write query waiting to be executed
+     */
+    @RequiredArgsConstructor
+    private static class QueuedUpdate {
+
+        /** Identifier of the row this query changes, {@code null} if not a single row change */
+        @Nullable private final Object row;
+
+        /** Whether this query deletes {@link #row} or inserts it */
+        private final boolean delete;
+
+        /** Query to execute */
+        @NotNull private final String query;
+
+        /** Query parameters */
+        @Nullable private final Object[] vars;
+    }
+}
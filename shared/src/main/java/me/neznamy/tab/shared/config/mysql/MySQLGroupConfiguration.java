@@ -36,15 +36,11 @@ public class MySQLGroupConfiguration implements PropertyConfiguration {
     @Override
     public void setProperty(@NotNull String group, @NotNull String property, @Nullable String server, @Nullable String world, @Nullable String value) {
         String lowercaseGroup = group.equals(TabConstants.DEFAULT_GROUP) ? group : group.toLowerCase(Locale.US);
-        try {
-            if (getProperty(lowercaseGroup, property, server, world) != null) {
-                mysql.execute("delete from `tab_groups` where `group` = ? and `property` = ? and world " + querySymbol(world == null) + " ? and server " + querySymbol(server == null) + " ?", lowercaseGroup, property, world, server);
-            }
-            setProperty0(lowercaseGroup, property, server, world, value);
-            if (value != null) mysql.execute("insert into `tab_groups` (`group`, `property`, `value`, `world`, `server`) values (?, ?, ?, ?, ?)", lowercaseGroup, property, value, world, server);
-        } catch (SQLException e) {
-            TAB.getInstance().getErrorManager().printError("Failed to execute MySQL query", e);
+        if (getProperty(lowercaseGroup, property, server, world) != null) {
+            mysql.queueRowDelete(Arrays.asList("tab_groups", lowercaseGroup, property, world, server), "delete from `tab_groups` where `group` = ? and `property` = ? and world " + querySymbol(world == null) + " ? and server " + querySymbol(server == null) + " ?", lowercaseGroup, property, world, server);
         }
+        setProperty0(lowercaseGroup, property, server, world, value);
+        if (value != null) mysql.queueRowInsert(Arrays.asList("tab_groups", lowercaseGroup, property, world, server), "insert into `tab_groups` (`group`, `property`, `value`, `world`, `server`) values (?, ?, ?, ?, ?)", lowercaseGroup, property, value, world, server);
     }
     
     private String querySymbol(boolean isNull) {
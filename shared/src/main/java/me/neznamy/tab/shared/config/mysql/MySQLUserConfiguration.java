@@ -3,8 +3,6 @@ package me.neznamy.tab.shared.config.mysql;
 import java.sql.SQLException;
 import java.util.*;
 
-import javax.sql.rowset.CachedRowSet;
-
 import me.neznamy.tab.shared.config.PropertyConfiguration;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.TAB;
@@ -28,15 +26,11 @@ public class MySQLUserConfiguration implements PropertyConfiguration {
     public void setProperty(@NotNull String user, @NotNull String property, @Nullable String server, @Nullable String world, @Nullable String value) {
         TabPlayer p = getPlayer(user);
         String lowercaseUser = user.toLowerCase();
-        try {
-            if (getProperty(lowercaseUser, property, server, world) != null) {
-                mysql.execute("delete from `tab_users` where `user` = ? and `property` = ? and world " + querySymbol(world == null) + " ? and server " + querySymbol(server == null) + " ?", lowercaseUser, property, world, server);
-            }
-            if (p != null) setProperty0(p, property, server, world, value);
-            if (value != null) mysql.execute("insert into `tab_users` (`user`, `property`, `value`, `world`, `server`) values (?, ?, ?, ?, ?)", lowercaseUser, property, value, world, server);
-        } catch (SQLException e) {
-            TAB.getInstance().getErrorManager().printError("Failed to execute MySQL query", e);
+        if (getProperty(lowercaseUser, property, server, world) != null) {
+            mysql.queueRowDelete(Arrays.asList("tab_users", lowercaseUser, property, world, server), "delete from `tab_users` where `user` = ? and `property` = ? and world " + querySymbol(world == null) + " ? and server " + querySymbol(server == null) + " ?", lowercaseUser, property, world, server);
         }
+        if (p != null) setProperty0(p, property, server, world, value);
+        if (value != null) mysql.queueRowInsert(Arrays.asList("tab_users", lowercaseUser, property, world, server), "insert into `tab_users` (`user`, `property`, `value`, `world`, `server`) values (?, ?, ?, ?, ?)", lowercaseUser, property, value, world, server);
     }
 
     private String querySymbol(boolean isNull) {
@@ -71,11 +65,7 @@ public class MySQLUserConfiguration implements PropertyConfiguration {
 
     @Override
     public void remove(@NotNull String player) {
-        try {
-            mysql.execute("delete from `tab_users` where `user` = ?", player);
-        } catch (SQLException e) {
-            TAB.getInstance().getErrorManager().printError("Failed to execute MySQL query", e);
-        }
+        mysql.queueUpdate("delete from `tab_users` where `user` = ?", player);
         TabPlayer user = getPlayer(player);
         if (user == null) return;
         values.remove(user);
@@ -116,36 +106,37 @@ public class MySQLUserConfiguration implements PropertyConfiguration {
     }
 
     public void load(@NotNull TabPlayer player) {
-        TAB.getInstance().getCPUManager().runTask(() -> {
-
-            try {
-                CachedRowSet crs = mysql.getCRS("select * from `tab_users` where `user` = ?", player.getName().toLowerCase());
-                while (crs.next()) {
-                    String user = crs.getString("user");
-                    String property = crs.getString("property");
-                    String value = crs.getString("value");
-                    String world = crs.getString("world");
-                    String server = crs.getString("server");
-                    TAB.getInstance().debug("Loaded user line: " + String.format("%s, %s, %s, %s, %s", user, property, value, world, server));
-                    setProperty0(player, property, server, world, value);
-                }
-                CachedRowSet crs2 = mysql.getCRS("select * from `tab_users` where `user` = ?", player.getUniqueId().toString());
-                while (crs2.next()) {
-                    String user = crs2.getString("user");
-                    String property = crs2.getString("property");
-                    String value = crs2.getString("value");
-                    String world = crs2.getString("world");
-                    String server = crs2.getString("server");
-                    TAB.getInstance().debug("Loaded user line: " + String.format("%s, %s, %s, %s, %s", user, property, value, world, server));
-                    setProperty0(player, property, server, world, value);
-                }
-                TAB.getInstance().debug("Loaded MySQL data of " + player.getName());
-                if (crs.size() > 0 || crs2.size() > 0) {
-                    player.forceRefresh();
-                }
-            } catch (SQLException e) {
-                TAB.getInstance().getErrorManager().printError("Failed to load data of " + player.getName() + " from MySQL", e);
+        mysql.getCRSAsync("select * from `tab_users` where `user` = ? or `user` = ?",
+                player.getName().toLowerCase(), player.getUniqueId().toString()).whenComplete((crs, error) -> {
+            if (error != null) {
+                TAB.getInstance().getErrorManager().printError("Failed to load data of " + player.getName() + " from MySQL", error);
+                return;
             }
+            TAB.getInstance().getCPUManager().runTask(() -> {
+                try {
+                    // Rows stored by name first, rows stored by UUID afterwards, so they take priority
+                    String uuid = player.getUniqueId().toString();
+                    for (boolean byUUID : new boolean[] {false, true}) {
+                        crs.beforeFirst();
+                        while (crs.next()) {
+                            String user = crs.getString("user");
+                            if (user.equalsIgnoreCase(uuid) != byUUID) continue;
+                            String property = crs.getString("property");
+                            String value = crs.getString("value");
+                            String world = crs.getString("world");
+                            String server = crs.getString("server");
+                            TAB.getInstance().debug("Loaded user line: " + String.format("%s, %s, %s, %s, %s", user, property, value, world, server));
+                            setProperty0(player, property, server, world, value);
+                        }
+                    }
+                    TAB.getInstance().debug("Loaded MySQL data of " + player.getName());
+                    if (crs.size() > 0) {
+                        player.forceRefresh();
+                    }
+                } catch (SQLException e) {
+                    TAB.getInstance().getErrorManager().printError("Failed to load data of " + player.getName() + " from MySQL", e);
+                }
+            });
         });
     }
-}
\ No newline at end of file
+}
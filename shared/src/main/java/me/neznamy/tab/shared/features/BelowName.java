@@ -6,6 +6,7 @@ import me.neznamy.tab.shared.placeholders.conditions.Condition;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.platform.Scoreboard;
 import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.PropertyKey;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.features.redis.RedisSupport;
 import me.neznamy.tab.shared.features.types.*;
@@ -42,13 +43,13 @@ public class BelowName extends TabFeature implements JoinListener, Loadable, UnL
     public void load() {
         redis = TAB.getInstance().getFeatureManager().getFeature(TabConstants.Feature.REDIS_BUNGEE);
         for (TabPlayer loaded : TAB.getInstance().getOnlinePlayers()) {
-            loaded.setProperty(this, TabConstants.Property.BELOWNAME_NUMBER, rawNumber);
-            loaded.setProperty(textRefresher, TabConstants.Property.BELOWNAME_TEXT, rawText);
+            loaded.setProperty(this, PropertyKey.BELOWNAME_NUMBER, rawNumber);
+            loaded.setProperty(textRefresher, PropertyKey.BELOWNAME_TEXT, rawText);
             if (disableChecker.isDisableConditionMet(loaded)) {
                 disableChecker.addDisabledPlayer(loaded);
                 continue;
             }
-            loaded.getScoreboard().registerObjective(OBJECTIVE_NAME, loaded.getProperty(TabConstants.Property.BELOWNAME_TEXT).updateAndGet(), false);
+            loaded.getScoreboard().registerObjective(OBJECTIVE_NAME, loaded.getProperty(PropertyKey.BELOWNAME_TEXT).updateAndGet(), false);
             loaded.getScoreboard().setDisplaySlot(Scoreboard.DisplaySlot.BELOW_NAME, OBJECTIVE_NAME);
         }
         Map<TabPlayer, Integer> values = new HashMap<>();
@@ -74,13 +75,13 @@ public class BelowName extends TabFeature implements JoinListener, Loadable, UnL
 
     @Override
     public void onJoin(@NotNull TabPlayer connectedPlayer) {
-        connectedPlayer.setProperty(this, TabConstants.Property.BELOWNAME_NUMBER, rawNumber);
-        connectedPlayer.setProperty(textRefresher, TabConstants.Property.BELOWNAME_TEXT, rawText);
+        connectedPlayer.setProperty(this, PropertyKey.BELOWNAME_NUMBER, rawNumber);
+        connectedPlayer.setProperty(textRefresher, PropertyKey.BELOWNAME_TEXT, rawText);
         if (disableChecker.isDisableConditionMet(connectedPlayer)) {
             disableChecker.addDisabledPlayer(connectedPlayer);
             return;
         }
-        connectedPlayer.getScoreboard().registerObjective(OBJECTIVE_NAME, connectedPlayer.getProperty(TabConstants.Property.BELOWNAME_TEXT).updateAndGet(), false);
+        connectedPlayer.getScoreboard().registerObjective(OBJECTIVE_NAME, connectedPlayer.getProperty(PropertyKey.BELOWNAME_TEXT).updateAndGet(), false);
         connectedPlayer.getScoreboard().setDisplaySlot(Scoreboard.DisplaySlot.BELOW_NAME, OBJECTIVE_NAME);
         int number = getValue(connectedPlayer);
         for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
@@ -93,7 +94,7 @@ public class BelowName extends TabFeature implements JoinListener, Loadable, UnL
     @Override
     public void onServerChange(@NotNull TabPlayer player, @NotNull String from, @NotNull String to) {
         if (disableChecker.isDisabledPlayer(player)) return;
-        player.getScoreboard().registerObjective(OBJECTIVE_NAME, player.getProperty(TabConstants.Property.BELOWNAME_TEXT).updateAndGet(), false);
+        player.getScoreboard().registerObjective(OBJECTIVE_NAME, player.getProperty(PropertyKey.BELOWNAME_TEXT).updateAndGet(), false);
         player.getScoreboard().setDisplaySlot(Scoreboard.DisplaySlot.BELOW_NAME, OBJECTIVE_NAME);
         for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
             player.getScoreboard().setScore(OBJECTIVE_NAME, all.getName(), getValue(all));
@@ -109,7 +110,7 @@ public class BelowName extends TabFeature implements JoinListener, Loadable, UnL
     }
 
     public int getValue(@NotNull TabPlayer p) {
-        return TAB.getInstance().getErrorManager().parseInteger(p.getProperty(TabConstants.Property.BELOWNAME_NUMBER).updateAndGet(), 0);
+        return TAB.getInstance().getErrorManager().parseInteger(p.getProperty(PropertyKey.BELOWNAME_NUMBER).updateAndGet(), 0);
     }
 
     @Override
@@ -132,7 +133,7 @@ public class BelowName extends TabFeature implements JoinListener, Loadable, UnL
         @Override
         public void refresh(@NotNull TabPlayer refreshed, boolean force) {
             if (feature.disableChecker.isDisabledPlayer(refreshed)) return;
-            refreshed.getScoreboard().updateObjective(OBJECTIVE_NAME, refreshed.getProperty(TabConstants.Property.BELOWNAME_TEXT).updateAndGet(), false);
+            refreshed.getScoreboard().updateObjective(OBJECTIVE_NAME, refreshed.getProperty(PropertyKey.BELOWNAME_TEXT).updateAndGet(), false);
         }
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package me.neznamy.tab.shared.features;
 
 import lombok.Getter;
 import me.neznamy.tab.api.tablist.HeaderFooterManager;
+import me.neznamy.tab.shared.PropertyKey;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.chat.IChatBaseComponent;
 import me.neznamy.tab.shared.TAB;
@@ -60,7 +61,7 @@ public class HeaderFooter extends TabFeature implements HeaderFooterManager, Joi
         updateProperties(p);
         // Velocity clears header/footer on server switch, which can be a problem without placeholders that change often
         // Resend immediately instead of the next time a placeholder changes value
-        sendHeaderFooter(p, p.getProperty(TabConstants.Property.HEADER).get(), p.getProperty(TabConstants.Property.FOOTER).get());
+        sendHeaderFooter(p, p.getProperty(PropertyKey.HEADER).get(), p.getProperty(PropertyKey.FOOTER).get());
     }
 
     @Override
@@ -69,22 +70,22 @@ public class HeaderFooter extends TabFeature implements HeaderFooterManager, Joi
     }
 
     private void updateProperties(TabPlayer p) {
-        boolean refresh = p.setProperty(this, TabConstants.Property.HEADER, getProperty(p, TabConstants.Property.HEADER));
-        if (p.setProperty(this, TabConstants.Property.FOOTER, getProperty(p, TabConstants.Property.FOOTER))) {
+        boolean refresh = p.setProperty(this, PropertyKey.HEADER, getProperty(p, TabConstants.Property.HEADER));
+        if (p.setProperty(this, PropertyKey.FOOTER, getProperty(p, TabConstants.Property.FOOTER))) {
             refresh = true;
         }
         if (refresh) {
-            sendHeaderFooter(p, p.getProperty(TabConstants.Property.HEADER).get(), p.getProperty(TabConstants.Property.FOOTER).get());
+            sendHeaderFooter(p, p.getProperty(PropertyKey.HEADER).get(), p.getProperty(PropertyKey.FOOTER).get());
         }
     }
 
     @Override
     public void refresh(@NotNull TabPlayer p, boolean force) {
         if (force) {
-            p.setProperty(this, TabConstants.Property.HEADER, getProperty(p, TabConstants.Property.HEADER));
-            p.setProperty(this, TabConstants.Property.FOOTER, getProperty(p, TabConstants.Property.FOOTER));
+            p.setProperty(this, PropertyKey.HEADER, getProperty(p, TabConstants.Property.HEADER));
+            p.setProperty(this, PropertyKey.FOOTER, getProperty(p, TabConstants.Property.FOOTER));
         }
-        sendHeaderFooter(p, p.getProperty(TabConstants.Property.HEADER).updateAndGet(), p.getProperty(TabConstants.Property.FOOTER).updateAndGet());
+        sendHeaderFooter(p, p.getProperty(PropertyKey.HEADER).updateAndGet(), p.getProperty(PropertyKey.FOOTER).updateAndGet());
     }
 
     public void onDisableConditionChange(TabPlayer p, boolean disabledNow) {
@@ -92,7 +93,7 @@ public class HeaderFooter extends TabFeature implements HeaderFooterManager, Joi
             if (p.getVersion().getMinorVersion() < 8) return;
             p.getTabList().setPlayerListHeaderFooter(new IChatBaseComponent(""), new IChatBaseComponent(""));
         } else {
-            sendHeaderFooter(p, p.getProperty(TabConstants.Property.HEADER).get(), p.getProperty(TabConstants.Property.FOOTER).get());
+            sendHeaderFooter(p, p.getProperty(PropertyKey.HEADER).get(), p.getProperty(PropertyKey.FOOTER).get());
         }
     }
 
@@ -134,25 +135,25 @@ public class HeaderFooter extends TabFeature implements HeaderFooterManager, Joi
     @Override
     public void setHeader(@NotNull me.neznamy.tab.api.TabPlayer p, @Nullable String header) {
         TabPlayer player = (TabPlayer) p;
-        player.getProperty(TabConstants.Property.HEADER).setTemporaryValue(header);
-        sendHeaderFooter(player, player.getProperty(TabConstants.Property.HEADER).updateAndGet(),
-                player.getProperty(TabConstants.Property.FOOTER).updateAndGet());
+        player.getProperty(PropertyKey.HEADER).setTemporaryValue(header);
+        sendHeaderFooter(player, player.getProperty(PropertyKey.HEADER).updateAndGet(),
+                player.getProperty(PropertyKey.FOOTER).updateAndGet());
     }
 
     @Override
     public void setFooter(@NotNull me.neznamy.tab.api.TabPlayer p, @Nullable String footer) {
         TabPlayer player = (TabPlayer) p;
-        player.getProperty(TabConstants.Property.FOOTER).setTemporaryValue(footer);
-        sendHeaderFooter(player, player.getProperty(TabConstants.Property.HEADER).updateAndGet(),
-                player.getProperty(TabConstants.Property.FOOTER).updateAndGet());
+        player.getProperty(PropertyKey.FOOTER).setTemporaryValue(footer);
+        sendHeaderFooter(player, player.getProperty(PropertyKey.HEADER).updateAndGet(),
+                player.getProperty(PropertyKey.FOOTER).updateAndGet());
     }
 
     @Override
     public void setHeaderAndFooter(@NotNull me.neznamy.tab.api.TabPlayer p, @Nullable String header, @Nullable String footer) {
         TabPlayer player = (TabPlayer) p;
-        player.getProperty(TabConstants.Property.HEADER).setTemporaryValue(header);
-        player.getProperty(TabConstants.Property.FOOTER).setTemporaryValue(footer);
-        sendHeaderFooter(player, player.getProperty(TabConstants.Property.HEADER).updateAndGet(),
-                player.getProperty(TabConstants.Property.FOOTER).updateAndGet());
+        player.getProperty(PropertyKey.HEADER).setTemporaryValue(header);
+        player.getProperty(PropertyKey.FOOTER).setTemporaryValue(footer);
+        sendHeaderFooter(player, player.getProperty(PropertyKey.HEADER).updateAndGet(),
+                player.getProperty(PropertyKey.FOOTER).updateAndGet());
     }
 }
\ No newline at end of file
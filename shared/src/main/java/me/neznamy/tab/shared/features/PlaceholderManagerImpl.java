@@ -1,8 +1,8 @@
 package me.neznamy.tab.shared.features;
 
 import java.util.*;
-import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -12,12 +12,15 @@ import java.util.regex.Pattern;
 
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 import me.neznamy.tab.api.placeholder.Placeholder;
 import me.neznamy.tab.api.placeholder.PlaceholderManager;
+import me.neznamy.tab.shared.ProtocolVersion;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.event.impl.TabPlaceholderRegisterEvent;
+import me.neznamy.tab.shared.features.globalplayerlist.GlobalPlayerList;
 import me.neznamy.tab.shared.features.types.*;
 import me.neznamy.tab.shared.placeholders.PlayerPlaceholderImpl;
 import me.neznamy.tab.shared.placeholders.RelationalPlaceholderImpl;
@@ -26,12 +29,13 @@ import me.neznamy.tab.shared.placeholders.TabPlaceholder;
 import me.neznamy.tab.shared.placeholders.expansion.EmptyTabExpansion;
 import me.neznamy.tab.shared.placeholders.expansion.TabExpansion;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Messy class for placeholder management
  */
-public class PlaceholderManagerImpl extends TabFeature implements PlaceholderManager, JoinListener, Loadable,
-        Refreshable {
+public class PlaceholderManagerImpl extends TabFeature implements PlaceholderManager, JoinListener, QuitListener,
+        ServerSwitchListener, Loadable, Refreshable {
 
     private final Pattern placeholderPattern = Pattern.compile("%([^%]*)%");
 
@@ -46,8 +50,44 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
     @Getter private final Map<String, Set<Refreshable>> placeholderUsage = new ConcurrentHashMap<>();
     private Placeholder[] usedPlaceholders = new Placeholder[0];
 
+    /** Features using placeholders, position in this list is the id used in usage masks */
+    private final List<Refreshable> refreshables = new CopyOnWriteArrayList<>();
+
+    /** Ids of features in {@link #refreshables} */
+    private final Map<Refreshable, Integer> refreshableIds = new ConcurrentHashMap<>();
+
+    /** Map of placeholder identifier - ids of features using the placeholder */
+    private final Map<String, BitSet> usageMasks = new ConcurrentHashMap<>();
+
+    /** Features pending refresh in current tick, reused across ticks */
+    private final List<DirtyFeatures> dirtyPlayers = new ArrayList<>();
+
+    /** Dirty feature sets indexed by {@link TabPlayer#getSlot()}, reused across ticks to avoid allocation */
+    private DirtyFeatures[] dirtyFeatures = new DirtyFeatures[0];
+
+    /** Scope of each online player, {@code null} value if player can see everyone */
+    private final Map<TabPlayer, String> playerRelationalScopes = new HashMap<>();
+
+    /** Players in each scope, arrays are replaced when a player enters or leaves the scope */
+    private final Map<String, TabPlayer[]> scopeMembers = new HashMap<>();
+
+    /** Groups of players which can see each other, used to limit relational placeholder evaluation */
+    private volatile TabPlayer[][] relationalScopes = new TabPlayer[0][];
+
+    /** Players who can see all online players regardless of scope */
+    private volatile TabPlayer[] relationalWildcards = new TabPlayer[0];
+
+    /** Used placeholders grouped by refresh interval, so a tick only visits placeholders which are due */
+    private RefreshBucket[] refreshBuckets = new RefreshBucket[0];
+
     @Getter private final AtomicInteger loopTime = new AtomicInteger();
 
+    /**
+     * Counter increased every time a placeholder is registered or unregistered,
+     * allowing cached placeholder references to detect they are outdated.
+     */
+    @Getter private volatile int registryVersion;
+
     @Getter @NonNull private final TabExpansion tabExpansion = TAB.getInstance().getConfig().getBoolean("placeholders.register-tab-expansion", false) ?
             TAB.getInstance().getPlatform().createTabExpansion() : new EmptyTabExpansion();
 
@@ -59,84 +99,279 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
 
     private void refresh() {
         int loopTime = this.loopTime.addAndGet(TabConstants.Placeholder.MINIMUM_REFRESH_INTERVAL);
-        int size = TAB.getInstance().getOnlinePlayers().length;
-        Map<TabPlayer, Set<Refreshable>> update = new HashMap<>(size);
-        Map<TabPlayer, Set<Refreshable>> forceUpdate = new HashMap<>(size);
-        boolean somethingChanged = false;
-        for (Placeholder placeholder : usedPlaceholders) {
-            if (placeholder.getRefresh() == -1 || loopTime % placeholder.getRefresh() != 0) continue;
-            if (placeholder instanceof RelationalPlaceholderImpl && updateRelationalPlaceholder((RelationalPlaceholderImpl) placeholder, forceUpdate)) somethingChanged = true;
-            if (placeholder instanceof PlayerPlaceholderImpl && updatePlayerPlaceholder((PlayerPlaceholderImpl) placeholder, update)) somethingChanged = true;
-            if (placeholder instanceof ServerPlaceholderImpl && updateServerPlaceholder((ServerPlaceholderImpl) placeholder, update)) somethingChanged = true;
+        TabPlayer[] players = TAB.getInstance().getOnlinePlayers();
+        Map<PlayerPlaceholderImpl, Object[]> outputs = requestPlayerPlaceholders(loopTime, players);
+        for (RefreshBucket bucket : refreshBuckets) {
+            if (loopTime % bucket.interval != 0) continue;
+            for (Placeholder placeholder : bucket.placeholders) {
+                if (placeholder instanceof RelationalPlaceholderImpl) updateRelationalPlaceholder((RelationalPlaceholderImpl) placeholder);
+                if (placeholder instanceof PlayerPlaceholderImpl) updatePlayerPlaceholder((PlayerPlaceholderImpl) placeholder, players,
+                        outputs == null ? null : outputs.get(placeholder));
+                if (placeholder instanceof ServerPlaceholderImpl) updateServerPlaceholder((ServerPlaceholderImpl) placeholder);
+            }
         }
-        if (somethingChanged) refresh(forceUpdate, update);
+        if (!dirtyPlayers.isEmpty()) refreshDirtyPlayers();
     }
-    
-    private void refresh(@NonNull Map<TabPlayer, Set<Refreshable>> forceUpdate, Map<TabPlayer, @NonNull Set<Refreshable>> update) {
-        long startRefreshTime = System.nanoTime();
-        for (Entry<TabPlayer, Set<Refreshable>> entry : update.entrySet()) {
-            for (Refreshable r : entry.getValue()) {
-                long startTime = System.nanoTime();
-                r.refresh(entry.getKey(), false);
-                TAB.getInstance().getCPUManager().addTime(r.getFeatureName(), r.getRefreshDisplayName(), System.nanoTime() - startTime);
+
+    /**
+     * Requests values of player placeholders due in this tick for all players on the
+     * placeholder pool, one task per player, so values of a player are requested in the
+     * same order as on the processing thread. Only placeholder functions run in parallel,
+     * outputs are applied and features refreshed on the processing thread afterwards.
+     *
+     * @param   loopTime
+     *          Current loop time
+     * @param   players
+     *          Players to request values for
+     * @return  Outputs of due player placeholders indexed like {@code players},
+     *          {@code null} if parallel requesting is disabled
+     */
+    private @Nullable Map<PlayerPlaceholderImpl, Object[]> requestPlayerPlaceholders(int loopTime, @NonNull TabPlayer[] players) {
+        if (players.length < 2 || !TAB.getInstance().getCPUManager().isParallelPlaceholderRequests()) return null;
+        List<PlayerPlaceholderImpl> due = new ArrayList<>();
+        for (RefreshBucket bucket : refreshBuckets) {
+            if (loopTime % bucket.interval != 0) continue;
+            for (Placeholder placeholder : bucket.placeholders) {
+                if (placeholder instanceof PlayerPlaceholderImpl) due.add((PlayerPlaceholderImpl) placeholder);
             }
         }
-        for (Entry<TabPlayer, Set<Refreshable>> entry : forceUpdate.entrySet()) {
-            for (Refreshable r : entry.getValue()) {
-                long startTime = System.nanoTime();
-                r.refresh(entry.getKey(), true);
-                TAB.getInstance().getCPUManager().addTime(r.getFeatureName(), r.getRefreshDisplayName(), System.nanoTime() - startTime);
-            }
+        if (due.isEmpty()) return null;
+        Map<PlayerPlaceholderImpl, Object[]> outputs = new IdentityHashMap<>();
+        for (PlayerPlaceholderImpl placeholder : due) {
+            outputs.put(placeholder, new Object[players.length]);
         }
+        List<Runnable> tasks = new ArrayList<>(players.length);
+        for (int i=0; i<players.length; i++) {
+            int index = i;
+            tasks.add(() -> {
+                for (PlayerPlaceholderImpl placeholder : due) {
+                    long startTime = System.nanoTime();
+                    outputs.get(placeholder)[index] = placeholder.request(players[index]);
+                    TAB.getInstance().getCPUManager().addPlaceholderTime(placeholder.getIdentifier(), System.nanoTime()-startTime);
+                }
+            });
+        }
+        TAB.getInstance().getCPUManager().runInParallel(tasks);
+        return outputs;
+    }
+
+    private void refreshDirtyPlayers() {
+        long startRefreshTime = System.nanoTime();
+        for (DirtyFeatures features : dirtyPlayers) {
+            refresh(features.player, features.update, false);
+            refresh(features.player, features.forceUpdate, true);
+            features.player = null;
+        }
+        dirtyPlayers.clear();
         //subtracting back usage by this method from placeholder refreshing usage, since it is already counted under different name in this method
         TAB.getInstance().getCPUManager().addTime(featureName, TabConstants.CpuUsageCategory.PLACEHOLDER_REFRESHING, startRefreshTime-System.nanoTime());
     }
 
-    private boolean updateRelationalPlaceholder(@NonNull RelationalPlaceholderImpl placeholder, @NonNull Map<TabPlayer, Set<Refreshable>> forceUpdate) {
-        boolean somethingChanged = false;
+    private void refresh(@NonNull TabPlayer player, @NonNull BitSet features, boolean force) {
+        for (int id = features.nextSetBit(0); id >= 0; id = features.nextSetBit(id + 1)) {
+            Refreshable r = refreshables.get(id);
+            long startTime = System.nanoTime();
+            r.refresh(player, force);
+            TAB.getInstance().getCPUManager().addTime(r.getFeatureName(), r.getRefreshDisplayName(), System.nanoTime() - startTime);
+        }
+        features.clear();
+    }
+
+    /**
+     * Marks all features using specified placeholder as requiring refresh for player
+     * in current tick. Uses pooled structures so that steady-state ticks do not allocate.
+     *
+     * @param   player
+     *          Player to mark features for
+     * @param   identifier
+     *          Identifier of placeholder which changed value
+     * @param   force
+     *          Whether refresh should be forced or not
+     */
+    private void markDirty(@NonNull TabPlayer player, @NonNull String identifier, boolean force) {
+        BitSet usage = usageMasks.get(identifier);
+        if (usage == null) return;
+        int slot = player.getSlot();
+        if (slot < 0) return; // Not online
+        if (slot >= dirtyFeatures.length) {
+            dirtyFeatures = Arrays.copyOf(dirtyFeatures, Math.max(slot + 1, TAB.getInstance().getPlayerRegistry().getSlotCapacity()));
+        }
+        DirtyFeatures features = dirtyFeatures[slot];
+        if (features == null) {
+            features = new DirtyFeatures();
+            dirtyFeatures[slot] = features;
+        }
+        if (features.player != player) {
+            if (features.player == null) {
+                dirtyPlayers.add(features);
+            } else {
+                // Previous player in this slot quit in current tick
+                features.update.clear();
+                features.forceUpdate.clear();
+            }
+            features.player = player;
+        }
+        (force ? features.forceUpdate : features.update).or(usage);
+    }
+
+    private void updateRelationalPlaceholder(@NonNull RelationalPlaceholderImpl placeholder) {
         long startTime = System.nanoTime();
-        for (TabPlayer p1 : TAB.getInstance().getOnlinePlayers()) {
-            for (TabPlayer p2 : TAB.getInstance().getOnlinePlayers()) {
-                if (placeholder.update(p1, p2)) {
-                    forceUpdate.computeIfAbsent(p2, x -> new HashSet<>()).addAll(placeholderUsage.get(placeholder.getIdentifier()));
-                    somethingChanged = true;
+        for (TabPlayer[] scope : relationalScopes) {
+            for (TabPlayer viewer : scope) {
+                for (TabPlayer target : scope) {
+                    updateRelationalPlaceholder(placeholder, viewer, target);
                 }
-                if (placeholder.update(p2, p1)) {
-                    forceUpdate.computeIfAbsent(p1, x -> new HashSet<>()).addAll(placeholderUsage.get(placeholder.getIdentifier()));
-                    somethingChanged = true;
+            }
+        }
+        for (TabPlayer wildcard : relationalWildcards) {
+            for (TabPlayer other : relationalWildcards) {
+                updateRelationalPlaceholder(placeholder, wildcard, other);
+            }
+            for (TabPlayer[] scope : relationalScopes) {
+                for (TabPlayer scoped : scope) {
+                    updateRelationalPlaceholder(placeholder, wildcard, scoped);
+                    updateRelationalPlaceholder(placeholder, scoped, wildcard);
                 }
             }
         }
         TAB.getInstance().getCPUManager().addPlaceholderTime(placeholder.getIdentifier(), System.nanoTime()-startTime);
-        return somethingChanged;
     }
 
-    private boolean updatePlayerPlaceholder(@NonNull PlayerPlaceholderImpl placeholder, @NonNull Map<TabPlayer, Set<Refreshable>> update) {
-        boolean somethingChanged = false;
+    private void updateRelationalPlaceholder(@NonNull RelationalPlaceholderImpl placeholder, @NonNull TabPlayer viewer, @NonNull TabPlayer target) {
+        if (placeholder.update(viewer, target)) {
+            markDirty(target, placeholder.getIdentifier(), true);
+        }
+    }
+
+    /**
+     * Returns scope in which specified player can see other players, either in tablist,
+     * layout or above their heads. Relational placeholders only need to be evaluated
+     * for players sharing the same scope.
+     *
+     * @param   player
+     *          Player to get scope of
+     * @return  Scope of the player, {@code null} if player can see all online players
+     */
+    private @Nullable String getRelationalScope(@NonNull TabPlayer player) {
+        if (TAB.getInstance().getServerVersion() != ProtocolVersion.PROXY) return "";
+        if (TAB.getInstance().getFeatureManager().isFeatureEnabled(TabConstants.Feature.LAYOUT)) return "";
+        GlobalPlayerList globalPlayerList = TAB.getInstance().getFeatureManager().getFeature(TabConstants.Feature.GLOBAL_PLAYER_LIST);
+        if (globalPlayerList == null) return player.getServer();
+        if (globalPlayerList.isSpyServer(player.getServer())) return null;
+        return globalPlayerList.getServerGroup(player.getServer());
+    }
+
+    /**
+     * Returns {@code true} if players with given scopes can see each other, {@code false} if not.
+     *
+     * @param   scope
+     *          Scope of the first player
+     * @param   otherScope
+     *          Scope of the second player
+     * @return  {@code true} if players can see each other, {@code false} if not
+     */
+    private boolean isSameRelationalScope(@Nullable String scope, @Nullable String otherScope) {
+        return scope == null || otherScope == null || scope.equals(otherScope);
+    }
+
+    /**
+     * Recalculates relational scope of player and moves the player from previous
+     * scope into the new one if it changed
+     *
+     * @param   player
+     *          Player to recalculate scope of
+     */
+    private void updateRelationalScope(@NonNull TabPlayer player) {
+        String scope = getRelationalScope(player);
+        boolean known = playerRelationalScopes.containsKey(player);
+        String previous = playerRelationalScopes.put(player, scope);
+        if (known) {
+            if (Objects.equals(previous, scope)) return;
+            removeFromRelationalScope(player, previous);
+        }
+        addToRelationalScope(player, scope);
+    }
+
+    /**
+     * Adds player to given scope
+     *
+     * @param   player
+     *          Player to add
+     * @param   scope
+     *          Scope to add player to, {@code null} for players who can see everyone
+     */
+    private void addToRelationalScope(@NonNull TabPlayer player, @Nullable String scope) {
+        if (scope == null) {
+            relationalWildcards = withPlayer(relationalWildcards, player);
+            return;
+        }
+        TabPlayer[] members = scopeMembers.get(scope);
+        scopeMembers.put(scope, members == null ? new TabPlayer[] {player} : withPlayer(members, player));
+        relationalScopes = scopeMembers.values().toArray(new TabPlayer[0][]);
+    }
+
+    /**
+     * Removes player from given scope
+     *
+     * @param   player
+     *          Player to remove
+     * @param   scope
+     *          Scope to remove player from, {@code null} for players who can see everyone
+     */
+    private void removeFromRelationalScope(@NonNull TabPlayer player, @Nullable String scope) {
+        if (scope == null) {
+            relationalWildcards = withoutPlayer(relationalWildcards, player);
+            return;
+        }
+        TabPlayer[] members = scopeMembers.get(scope);
+        if (members == null) return;
+        members = withoutPlayer(members, player);
+        if (members.length == 0) {
+            scopeMembers.remove(scope);
+        } else {
+            scopeMembers.put(scope, members);
+        }
+        relationalScopes = scopeMembers.values().toArray(new TabPlayer[0][]);
+    }
+
+    private @NotNull TabPlayer[] withPlayer(@NonNull TabPlayer[] players, @NonNull TabPlayer player) {
+        TabPlayer[] result = Arrays.copyOf(players, players.length + 1);
+        result[players.length] = player;
+        return result;
+    }
+
+    private @NotNull TabPlayer[] withoutPlayer(@NonNull TabPlayer[] players, @NonNull TabPlayer player) {
+        for (int i = 0; i < players.length; i++) {
+            if (players[i] != player) continue;
+            TabPlayer[] result = new TabPlayer[players.length - 1];
+            System.arraycopy(players, 0, result, 0, i);
+            System.arraycopy(players, i + 1, result, i, players.length - i - 1);
+            return result;
+        }
+        return players;
+    }
+
+    private void updatePlayerPlaceholder(@NonNull PlayerPlaceholderImpl placeholder, @NonNull TabPlayer[] players, @Nullable Object[] outputs) {
         long startTime = System.nanoTime();
-        for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
-            if (placeholder.update(all)) {
+        for (int i=0; i<players.length; i++) {
+            TabPlayer all = players[i];
+            if (outputs == null ? placeholder.update(all) : placeholder.update(all, outputs[i])) {
                 if (placeholder.getIdentifier().equals(TabConstants.Placeholder.VANISHED)) TAB.getInstance().getFeatureManager().onVanishStatusChange(all);
                 if (placeholder.getIdentifier().equals(TabConstants.Placeholder.GAMEMODE)) TAB.getInstance().getFeatureManager().onGameModeChange(all);
-                update.computeIfAbsent(all, k -> new HashSet<>()).addAll(placeholderUsage.get(placeholder.getIdentifier()));
-                somethingChanged = true;
+                markDirty(all, placeholder.getIdentifier(), false);
             }
         }
         TAB.getInstance().getCPUManager().addPlaceholderTime(placeholder.getIdentifier(), System.nanoTime()-startTime);
-        return somethingChanged;
     }
 
-    private boolean updateServerPlaceholder(@NonNull ServerPlaceholderImpl placeholder, @NonNull Map<TabPlayer, Set<Refreshable>> update) {
-        boolean somethingChanged = false;
+    private void updateServerPlaceholder(@NonNull ServerPlaceholderImpl placeholder) {
         long startTime = System.nanoTime();
         if (placeholder.update0()) {
-            somethingChanged = true;
             for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
-                update.computeIfAbsent(all, k -> new HashSet<>()).addAll(placeholderUsage.get(placeholder.getIdentifier()));
+                markDirty(all, placeholder.getIdentifier(), false);
             }
         }
         TAB.getInstance().getCPUManager().addPlaceholderTime(placeholder.getIdentifier(), System.nanoTime()-startTime);
-        return somethingChanged;
     }
 
     public int getRefreshInterval(@NonNull String identifier) {
@@ -150,6 +385,7 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
     public <T extends Placeholder> T registerPlaceholder(@NonNull T placeholder) {
         boolean override = registeredPlaceholders.containsKey(placeholder.getIdentifier());
         registeredPlaceholders.put(placeholder.getIdentifier(), placeholder);
+        registryVersion++;
         recalculateUsedPlaceholders();
         if (override && placeholderUsage.containsKey(placeholder.getIdentifier())) {
             for (TabPlayer p : TAB.getInstance().getOnlinePlayers()) {
@@ -193,6 +429,11 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
 
     public void addUsedPlaceholder(@NonNull String identifier, @NonNull Refreshable feature) {
         if (placeholderUsage.computeIfAbsent(identifier, x -> new HashSet<>()).add(feature)) {
+            int id = refreshableIds.computeIfAbsent(feature, f -> {
+                refreshables.add(f);
+                return refreshables.size() - 1;
+            });
+            usageMasks.computeIfAbsent(identifier, x -> new BitSet()).set(id);
             recalculateUsedPlaceholders();
             TabPlaceholder p = getPlaceholder(identifier);
             for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
@@ -203,6 +444,14 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
 
     public void recalculateUsedPlaceholders() {
         usedPlaceholders = placeholderUsage.keySet().stream().map(this::getPlaceholder).distinct().toArray(Placeholder[]::new);
+        Map<Integer, List<Placeholder>> byInterval = new TreeMap<>();
+        for (Placeholder placeholder : usedPlaceholders) {
+            if (placeholder.getRefresh() == -1) continue;
+            byInterval.computeIfAbsent(placeholder.getRefresh(), i -> new ArrayList<>()).add(placeholder);
+        }
+        refreshBuckets = byInterval.entrySet().stream()
+                .map(e -> new RefreshBucket(e.getKey(), e.getValue().toArray(new Placeholder[0])))
+                .toArray(RefreshBucket[]::new);
     }
 
     public @NotNull String findReplacement(@NonNull String placeholder, @NonNull String output) {
@@ -211,12 +460,15 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
 
     @Override
     public void onJoin(@NotNull TabPlayer connectedPlayer) {
+        updateRelationalScope(connectedPlayer);
+        String scope = playerRelationalScopes.get(connectedPlayer);
         for (Placeholder p : usedPlaceholders) {
             long startTime = System.nanoTime();
             if (p instanceof RelationalPlaceholderImpl) {
                 for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
+                    if (!isSameRelationalScope(scope, playerRelationalScopes.get(all))) continue;
                     ((RelationalPlaceholderImpl)p).update(connectedPlayer, all);
-                    ((RelationalPlaceholderImpl)p).update(all, connectedPlayer);
+                    if (all != connectedPlayer) ((RelationalPlaceholderImpl)p).update(all, connectedPlayer);
                 }
             }
             if (p instanceof PlayerPlaceholderImpl) {
@@ -229,6 +481,32 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
         }
     }
 
+    @Override
+    public void onQuit(@NotNull TabPlayer disconnectedPlayer) {
+        if (playerRelationalScopes.containsKey(disconnectedPlayer)) {
+            removeFromRelationalScope(disconnectedPlayer, playerRelationalScopes.remove(disconnectedPlayer));
+        }
+        for (Placeholder placeholder : registeredPlaceholders.values()) {
+            if (placeholder instanceof RelationalPlaceholderImpl) ((RelationalPlaceholderImpl) placeholder).clearSlot(disconnectedPlayer.getSlot());
+        }
+    }
+
+    @Override
+    public void onServerChange(@NotNull TabPlayer changed, @NotNull String from, @NotNull String to) {
+        updateRelationalScope(changed);
+        String scope = playerRelationalScopes.get(changed);
+        for (Placeholder p : usedPlaceholders) {
+            if (!(p instanceof RelationalPlaceholderImpl)) continue;
+            long startTime = System.nanoTime();
+            for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
+                if (!isSameRelationalScope(scope, playerRelationalScopes.get(all))) continue;
+                updateRelationalPlaceholder((RelationalPlaceholderImpl) p, changed, all);
+                if (all != changed) updateRelationalPlaceholder((RelationalPlaceholderImpl) p, all, changed);
+            }
+            TAB.getInstance().getCPUManager().addPlaceholderTime(p.getIdentifier(), System.nanoTime()-startTime);
+        }
+    }
+
     @Override
     public void refresh(@NotNull TabPlayer refreshed, boolean force) {
         // Condition or placeholder only used in tab expansion, do nothing for now
@@ -287,7 +565,37 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
     @Override
     public void unregisterPlaceholder(@NonNull String identifier) {
         registeredPlaceholders.remove(identifier);
+        registryVersion++;
         placeholderUsage.remove(identifier);
+        usageMasks.remove(identifier);
         recalculateUsedPlaceholders();
     }
-}
\ No newline at end of file
+
+    /**
+     * Features pending refresh for a player, cleared in place after every tick
+     */
+    private static class DirtyFeatures {
+
+        /** Player to refresh features for, {@code null} if there is nothing to refresh */
+        private TabPlayer player;
+
+        /** Ids of features to refresh */
+        private final BitSet update = new BitSet();
+
+        /** Ids of features to refresh with force flag */
+        private final BitSet forceUpdate = new BitSet();
+    }
+
+    /**
+     * Placeholders sharing the same refresh interval
+     */
+    @RequiredArgsConstructor
+    private static class RefreshBucket {
+
+        /** Refresh interval of all placeholders in this bucket */
+        private final int interval;
+
+        /** Placeholders refreshing in this interval */
+        private final Placeholder[] placeholders;
+    }
+}
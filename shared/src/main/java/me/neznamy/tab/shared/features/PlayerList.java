@@ -5,6 +5,7 @@ import lombok.NonNull;
 import me.neznamy.tab.api.tablist.TabListFormatManager;
 import me.neznamy.tab.shared.Property;
 import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.PropertyKey;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.chat.IChatBaseComponent;
 import me.neznamy.tab.shared.features.layout.LayoutManagerImpl;
@@ -83,9 +84,9 @@ public class PlayerList extends TabFeature implements TabListFormatManager, Join
      * @return  {@code true} if at least one property changed, {@code false} if not
      */
     protected boolean updateProperties(@NotNull TabPlayer p) {
-        boolean changed = p.loadPropertyFromConfig(this, TabConstants.Property.TABPREFIX);
-        if (p.loadPropertyFromConfig(this, TabConstants.Property.CUSTOMTABNAME, p.getName())) changed = true;
-        if (p.loadPropertyFromConfig(this, TabConstants.Property.TABSUFFIX)) changed = true;
+        boolean changed = p.loadPropertyFromConfig(this, PropertyKey.TABPREFIX);
+        if (p.loadPropertyFromConfig(this, PropertyKey.CUSTOMTABNAME, p.getName())) changed = true;
+        if (p.loadPropertyFromConfig(this, PropertyKey.TABSUFFIX)) changed = true;
         return changed;
     }
 
@@ -105,8 +106,8 @@ public class PlayerList extends TabFeature implements TabListFormatManager, Join
             viewer.getTabList().updateDisplayName(tablistId, format ? getTabFormat(player, viewer) :
                     tablistId.getMostSignificantBits() == 0 ? new IChatBaseComponent(player.getName()) : null);
         }
-        if (redis != null) redis.updateTabFormat(player, player.getProperty(TabConstants.Property.TABPREFIX).get() +
-                player.getProperty(TabConstants.Property.CUSTOMTABNAME).get() + player.getProperty(TabConstants.Property.TABSUFFIX).get());
+        if (redis != null) redis.updateTabFormat(player, player.getProperty(PropertyKey.TABPREFIX).get() +
+                player.getProperty(PropertyKey.CUSTOMTABNAME).get() + player.getProperty(PropertyKey.TABSUFFIX).get());
     }
 
     /**
@@ -119,9 +120,9 @@ public class PlayerList extends TabFeature implements TabListFormatManager, Join
      * @return  Format of specified player for viewer
      */
     public @Nullable IChatBaseComponent getTabFormat(@NotNull TabPlayer p, @NotNull TabPlayer viewer) {
-        Property prefix = p.getProperty(TabConstants.Property.TABPREFIX);
-        Property name = p.getProperty(TabConstants.Property.CUSTOMTABNAME);
-        Property suffix = p.getProperty(TabConstants.Property.TABSUFFIX);
+        Property prefix = p.getProperty(PropertyKey.TABPREFIX);
+        Property name = p.getProperty(PropertyKey.CUSTOMTABNAME);
+        Property suffix = p.getProperty(PropertyKey.TABSUFFIX);
         if (prefix == null || name == null || suffix == null) {
             return null;
         }
@@ -136,7 +137,7 @@ public class PlayerList extends TabFeature implements TabListFormatManager, Join
             if (disableChecker.isDisableConditionMet(all)) {
                 disableChecker.addDisabledPlayer(all);
             } else {
-                if (redis != null) redis.updateTabFormat(all, all.getProperty(TabConstants.Property.TABPREFIX).get() + all.getProperty(TabConstants.Property.CUSTOMTABNAME).get() + all.getProperty(TabConstants.Property.TABSUFFIX).get());
+                if (redis != null) redis.updateTabFormat(all, all.getProperty(PropertyKey.TABPREFIX).get() + all.getProperty(PropertyKey.CUSTOMTABNAME).get() + all.getProperty(PropertyKey.TABSUFFIX).get());
             }
         }
         for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
@@ -188,9 +189,9 @@ public class PlayerList extends TabFeature implements TabListFormatManager, Join
             updateProperties(refreshed);
             refresh = true;
         } else {
-            boolean prefix = refreshed.getProperty(TabConstants.Property.TABPREFIX).update();
-            boolean name = refreshed.getProperty(TabConstants.Property.CUSTOMTABNAME).update();
-            boolean suffix = refreshed.getProperty(TabConstants.Property.TABSUFFIX).update();
+            boolean prefix = refreshed.getProperty(PropertyKey.TABPREFIX).update();
+            boolean name = refreshed.getProperty(PropertyKey.CUSTOMTABNAME).update();
+            boolean suffix = refreshed.getProperty(PropertyKey.TABSUFFIX).update();
             refresh = prefix || name || suffix;
         }
         if (refresh) {
@@ -243,57 +244,57 @@ public class PlayerList extends TabFeature implements TabListFormatManager, Join
     @Override
     public void setPrefix(@NonNull me.neznamy.tab.api.TabPlayer player, @Nullable String prefix) {
         Preconditions.checkLoaded(player);
-        ((TabPlayer)player).getProperty(TabConstants.Property.TABPREFIX).setTemporaryValue(prefix);
+        ((TabPlayer)player).getProperty(PropertyKey.TABPREFIX).setTemporaryValue(prefix);
         updatePlayer(player, true);
     }
 
     @Override
     public void setName(@NonNull me.neznamy.tab.api.TabPlayer player, @Nullable String customName) {
         Preconditions.checkLoaded(player);
-        ((TabPlayer)player).getProperty(TabConstants.Property.CUSTOMTABNAME).setTemporaryValue(customName);
+        ((TabPlayer)player).getProperty(PropertyKey.CUSTOMTABNAME).setTemporaryValue(customName);
         updatePlayer(player, true);
     }
 
     @Override
     public void setSuffix(@NonNull me.neznamy.tab.api.TabPlayer player, @Nullable String suffix) {
         Preconditions.checkLoaded(player);
-        ((TabPlayer)player).getProperty(TabConstants.Property.TABSUFFIX).setTemporaryValue(suffix);
+        ((TabPlayer)player).getProperty(PropertyKey.TABSUFFIX).setTemporaryValue(suffix);
         updatePlayer(player, true);
     }
 
     @Override
     public String getCustomPrefix(me.neznamy.tab.api.@NonNull TabPlayer player) {
         Preconditions.checkLoaded(player);
-        return ((TabPlayer)player).getProperty(TabConstants.Property.TABPREFIX).getTemporaryValue();
+        return ((TabPlayer)player).getProperty(PropertyKey.TABPREFIX).getTemporaryValue();
     }
 
     @Override
     public String getCustomName(me.neznamy.tab.api.@NonNull TabPlayer player) {
         Preconditions.checkLoaded(player);
-        return ((TabPlayer)player).getProperty(TabConstants.Property.CUSTOMTABNAME).getTemporaryValue();
+        return ((TabPlayer)player).getProperty(PropertyKey.CUSTOMTABNAME).getTemporaryValue();
     }
 
     @Override
     public String getCustomSuffix(me.neznamy.tab.api.@NonNull TabPlayer player) {
         Preconditions.checkLoaded(player);
-        return ((TabPlayer)player).getProperty(TabConstants.Property.TABSUFFIX).getTemporaryValue();
+        return ((TabPlayer)player).getProperty(PropertyKey.TABSUFFIX).getTemporaryValue();
     }
 
     @Override
     public @NotNull String getOriginalPrefix(me.neznamy.tab.api.@NonNull TabPlayer player) {
         Preconditions.checkLoaded(player);
-        return ((TabPlayer)player).getProperty(TabConstants.Property.TABPREFIX).getOriginalRawValue();
+        return ((TabPlayer)player).getProperty(PropertyKey.TABPREFIX).getOriginalRawValue();
     }
 
     @Override
     public @NotNull String getOriginalName(me.neznamy.tab.api.@NonNull TabPlayer player) {
         Preconditions.checkLoaded(player);
-        return ((TabPlayer)player).getProperty(TabConstants.Property.CUSTOMTABNAME).getOriginalRawValue();
+        return ((TabPlayer)player).getProperty(PropertyKey.CUSTOMTABNAME).getOriginalRawValue();
     }
 
     @Override
     public @NotNull String getOriginalSuffix(me.neznamy.tab.api.@NonNull TabPlayer player) {
         Preconditions.checkLoaded(player);
-        return ((TabPlayer)player).getProperty(TabConstants.Property.TABSUFFIX).getOriginalRawValue();
+        return ((TabPlayer)player).getProperty(PropertyKey.TABSUFFIX).getOriginalRawValue();
     }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import me.neznamy.tab.shared.placeholders.conditions.Condition;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.platform.Scoreboard;
 import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.PropertyKey;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.features.redis.RedisSupport;
 import me.neznamy.tab.shared.features.types.*;
@@ -48,14 +49,14 @@ public class YellowNumber extends TabFeature implements JoinListener, Loadable,
      * @return  Current value of player
      */
     public int getValue(@NotNull TabPlayer p) {
-        return TAB.getInstance().getErrorManager().parseInteger(p.getProperty(TabConstants.Property.YELLOW_NUMBER).updateAndGet(), 0);
+        return TAB.getInstance().getErrorManager().parseInteger(p.getProperty(PropertyKey.YELLOW_NUMBER).updateAndGet(), 0);
     }
 
     @Override
     public void load() {
         redis = TAB.getInstance().getFeatureManager().getFeature(TabConstants.Feature.REDIS_BUNGEE);
         for (TabPlayer loaded : TAB.getInstance().getOnlinePlayers()) {
-            loaded.setProperty(this, TabConstants.Property.YELLOW_NUMBER, rawValue);
+            loaded.setProperty(this, PropertyKey.YELLOW_NUMBER, rawValue);
             if (disableChecker.isDisableConditionMet(loaded)) {
                 disableChecker.addDisabledPlayer(loaded);
                 continue;
@@ -82,7 +83,7 @@ public class YellowNumber extends TabFeature implements JoinListener, Loadable,
 
     @Override
     public void onJoin(@NotNull TabPlayer connectedPlayer) {
-        connectedPlayer.setProperty(this, TabConstants.Property.YELLOW_NUMBER, rawValue);
+        connectedPlayer.setProperty(this, PropertyKey.YELLOW_NUMBER, rawValue);
         if (disableChecker.isDisableConditionMet(connectedPlayer)) {
             disableChecker.addDisabledPlayer(connectedPlayer);
             return;
@@ -1,8 +1,11 @@
 package me.neznamy.tab.shared.features.alignedplayerlist;
 
 import lombok.Getter;
+import me.neznamy.tab.shared.PropertyKey;
 import me.neznamy.tab.shared.TabConstants;
+import me.neznamy.tab.shared.chat.EnumChatFormat;
 import me.neznamy.tab.shared.chat.IChatBaseComponent;
+import me.neznamy.tab.shared.config.file.ConfigurationFile;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.features.types.QuitListener;
 import me.neznamy.tab.shared.TAB;
@@ -21,10 +24,31 @@ import java.util.stream.Collectors;
  */
 public class AlignedPlayerList extends PlayerList implements QuitListener {
 
+    /** Widest space which is precomputed, wider spaces are built on request */
+    private static final int MAX_PRECOMPUTED_SPACE = 512;
+
+    /** Maximum amount of texts with remembered width */
+    private static final int TEXT_WIDTH_CACHE_SIZE = 1000;
+
     private final Map<TabPlayer, PlayerView> playerViews = new HashMap<>();
     @Getter private final byte[] widths = loadWidths();
     @Getter private final Map<String, Integer> multiCharWidths = loadMultiCharWidths();
 
+    /** Widths of character pairs from {@link #multiCharWidths} with both characters merged into a single int key */
+    private final Map<Integer, Integer> charPairWidths = loadCharPairWidths();
+
+    /** Spaces for each pixel width from 12 to {@link #MAX_PRECOMPUTED_SPACE} */
+    private final String[] spaces = precomputeSpaces();
+
+    /** Remembered widths of recently measured texts */
+    private final Map<String, Integer> textWidths = new LinkedHashMap<String, Integer>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+            return size() > TEXT_WIDTH_CACHE_SIZE;
+        }
+    };
+
     /**
      * Loads widths from included widths.txt file as well as width overrides from config
      */
@@ -39,34 +63,152 @@ public class AlignedPlayerList extends PlayerList implements QuitListener {
         for (String line : new BufferedReader(new InputStreamReader(file)).lines().collect(Collectors.toList())) {
             widths[characterId++] = (byte) Float.parseFloat(line);
         }
-        Map<Object, Integer> widthOverrides = TAB.getInstance().getConfiguration().getConfig().getConfigurationSection("tablist-name-formatting.character-width-overrides");
+        ConfigurationFile config = TAB.getInstance().getConfig();
         List<Integer> redundant = new ArrayList<>();
-        for (Entry<Object, Integer> entry : widthOverrides.entrySet()) {
-            if (entry.getKey() instanceof Integer) {
-                Integer key = (Integer) entry.getKey();
-                if (widths[key] == entry.getValue().byteValue()) {
-                    redundant.add(key);
-                } else {
-                    widths[key] = entry.getValue().byteValue();
+        synchronized (config) { // Config may be serialized on writer thread at the same time
+            Map<Object, Integer> widthOverrides = config.getConfigurationSection("tablist-name-formatting.character-width-overrides");
+            for (Entry<Object, Integer> entry : widthOverrides.entrySet()) {
+                if (entry.getKey() instanceof Integer) {
+                    Integer key = (Integer) entry.getKey();
+                    if (widths[key] == entry.getValue().byteValue()) {
+                        redundant.add(key);
+                    } else {
+                        widths[key] = entry.getValue().byteValue();
+                    }
                 }
             }
+            redundant.forEach(widthOverrides::remove);
         }
-        redundant.forEach(widthOverrides::remove);
-        if (!redundant.isEmpty()) TAB.getInstance().getConfig().save();
+        if (!redundant.isEmpty()) config.save();
         return widths;
     }
 
     private Map<String, Integer> loadMultiCharWidths() {
         Map<String, Integer> multiCharWidths = new HashMap<>();
-        Map<Object, Integer> widthOverrides = TAB.getInstance().getConfiguration().getConfig().getConfigurationSection("tablist-name-formatting.character-width-overrides");
-        for (Entry<Object, Integer> entry : widthOverrides.entrySet()) {
-            if (entry.getKey() instanceof String) {
-                multiCharWidths.put((String) entry.getKey(), entry.getValue());
+        ConfigurationFile config = TAB.getInstance().getConfig();
+        synchronized (config) {
+            Map<Object, Integer> widthOverrides = config.getConfigurationSection("tablist-name-formatting.character-width-overrides");
+            for (Entry<Object, Integer> entry : widthOverrides.entrySet()) {
+                if (entry.getKey() instanceof String) {
+                    multiCharWidths.put((String) entry.getKey(), entry.getValue());
+                }
             }
         }
         return multiCharWidths;
     }
 
+    private Map<Integer, Integer> loadCharPairWidths() {
+        Map<Integer, Integer> charPairWidths = new HashMap<>();
+        for (Entry<String, Integer> entry : multiCharWidths.entrySet()) {
+            String[] chars = entry.getKey().split("\\+");
+            if (chars.length != 2) continue;
+            try {
+                charPairWidths.put(Integer.parseInt(chars[0]) << 16 | Integer.parseInt(chars[1]), entry.getValue());
+            } catch (NumberFormatException ignored) {
+                // Invalid key, it was never matched before either
+            }
+        }
+        return charPairWidths;
+    }
+
+    private String[] precomputeSpaces() {
+        String[] spaces = new String[MAX_PRECOMPUTED_SPACE + 1];
+        for (int i=12; i<=MAX_PRECOMPUTED_SPACE; i++) {
+            spaces[i] = buildSpaces(i);
+        }
+        return spaces;
+    }
+
+    /**
+     * Returns a combination of normal and bold spaces to build exactly the requested amount of pixels.
+     * Must be at least 12 as lower numbers cannot always be built using numbers 4 (normal space + 1 pixel) and 5 (bold space + 1 pixel)
+     * Returns the result string with normal then bold spaces, such as "   &amp;l   &amp;r"
+     *
+     * @param   pixelWidth
+     *          amount of pixels to be built
+     * @return  string consisting of spaces and &amp;l &amp;r
+     * @throws  IllegalArgumentException
+     *          if pixelWidth is &lt; 12
+     */
+    public String getSpaces(int pixelWidth) {
+        if (pixelWidth >= 12 && pixelWidth <= MAX_PRECOMPUTED_SPACE) return spaces[pixelWidth];
+        return buildSpaces(pixelWidth);
+    }
+
+    private String buildSpaces(int pixelWidth) {
+        if (pixelWidth < 12) throw new IllegalArgumentException("Cannot build space lower than 12 pixels wide");
+        int pixelsLeft = pixelWidth;
+        StringBuilder output = new StringBuilder();
+        while (pixelsLeft % 5 != 0) {
+            pixelsLeft -= 4;
+            output.append(' ');
+        }
+        output.append(EnumChatFormat.COLOR_CHAR);
+        output.append('l');
+        while (pixelsLeft > 0) {
+            pixelsLeft -= 5;
+            output.append(' ');
+        }
+        output.append(EnumChatFormat.COLOR_CHAR);
+        output.append('r');
+        return output.toString();
+    }
+
+    /**
+     * Returns width of given text with color codes. Widths of recently
+     * measured texts are remembered.
+     *
+     * @param   text
+     *          text to get width of
+     * @return  width of the text
+     */
+    public int getTextWidth(@NotNull String text) {
+        synchronized (textWidths) {
+            Integer width = textWidths.get(text);
+            if (width != null) return width;
+        }
+        int width = getTextWidth(IChatBaseComponent.fromColoredText(text));
+        synchronized (textWidths) {
+            textWidths.put(text, width);
+        }
+        return width;
+    }
+
+    /**
+     * Returns text width of characters in given component
+     *
+     * @param   component
+     *          component to get width of
+     * @return  text width of characters in given component
+     */
+    private int getTextWidth(@NotNull IChatBaseComponent component) {
+        int width = 0;
+        String text = component.getText();
+        if (text != null) {
+            boolean bold = component.getModifier().isBold();
+            int length = text.length();
+            for (int i=0; i<length; i++) {
+                if (bold) {
+                    width += 1;
+                }
+                char c = text.charAt(i);
+                if (i < length-1 && !charPairWidths.isEmpty()) {
+                    Integer pairWidth = charPairWidths.get(c << 16 | text.charAt(i + 1));
+                    if (pairWidth != null) {
+                        width += pairWidth + 1;
+                        i++; // Skip next character
+                        continue;
+                    }
+                }
+                width += widths[c] + 1;
+            }
+        }
+        for (IChatBaseComponent extra : component.getExtra()) {
+            width += getTextWidth(extra);
+        }
+        return width;
+    }
+
     @Override
     public void load() {
         for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
@@ -114,9 +256,9 @@ public class AlignedPlayerList extends PlayerList implements QuitListener {
             updateProperties(refreshed);
             refresh = true;
         } else {
-            boolean prefix = refreshed.getProperty(TabConstants.Property.TABPREFIX).update();
-            boolean name = refreshed.getProperty(TabConstants.Property.CUSTOMTABNAME).update();
-            boolean suffix = refreshed.getProperty(TabConstants.Property.TABSUFFIX).update();
+            boolean prefix = refreshed.getProperty(PropertyKey.TABPREFIX).update();
+            boolean name = refreshed.getProperty(PropertyKey.CUSTOMTABNAME).update();
+            boolean suffix = refreshed.getProperty(PropertyKey.TABSUFFIX).update();
             refresh = prefix || name || suffix;
         }
         if (refresh) {
@@ -4,23 +4,30 @@ import me.neznamy.tab.shared.Property;
 import me.neznamy.tab.shared.chat.EnumChatFormat;
 import me.neznamy.tab.shared.chat.IChatBaseComponent;
 import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.PropertyKey;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
+import java.util.HashMap;
 import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class PlayerView {
 
     @NotNull private final AlignedPlayerList feature;
     @NotNull private final TabPlayer viewer;
     private final boolean canSeeVanished;
-    private final Map<TabPlayer, Integer> playerWidths = new WeakHashMap<>();
+    private final Map<TabPlayer, Integer> playerWidths = new ConcurrentHashMap<>();
+
+    /** Widths of players counted into max width with amount of players having each width */
+    private final TreeMap<Integer, Integer> widthCounts = new TreeMap<>();
+
+    /** Width each player is currently counted with in {@link #widthCounts} */
+    private final Map<TabPlayer, Integer> countedWidths = new HashMap<>();
 
     private int maxWidth;
-    private TabPlayer maxPlayer;
 
     public PlayerView(@NotNull AlignedPlayerList feature, @NotNull TabPlayer viewer) {
         this.feature = feature;
@@ -30,20 +37,17 @@ public class PlayerView {
 
     public void load() {
         for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
-            playerWidths.put(all, getPlayerNameWidth(all));
+            setWidth(all, getPlayerNameWidth(all));
         }
-        recalculateMaxWidth(null);
+        updateMaxWidth();
         if (viewer.getVersion().getMinorVersion() < 8) return;
         updateAllPlayers();
     }
 
     public void playerJoin(@NotNull TabPlayer connectedPlayer) {
         if (viewer.getVersion().getMinorVersion() < 8) return;
-        int width = getPlayerNameWidth(connectedPlayer);
-        playerWidths.put(connectedPlayer, width);
-        if (width > maxWidth && (!connectedPlayer.isVanished() || canSeeVanished)) {
-            maxWidth = width;
-            maxPlayer = connectedPlayer;
+        setWidth(connectedPlayer, getPlayerNameWidth(connectedPlayer));
+        if (updateMaxWidth()) {
             updateAllPlayers();
         } else {
             viewer.getTabList().updateDisplayName(feature.getTablistUUID(connectedPlayer, viewer), formatName(connectedPlayer));
@@ -60,9 +64,9 @@ public class PlayerView {
     public synchronized IChatBaseComponent formatName(@NotNull TabPlayer target) {
         Integer width = playerWidths.get(target);
         if (width == null) return null; //in packet reader, not loaded yet, will send packet after loading player
-        Property prefixPr = target.getProperty(TabConstants.Property.TABPREFIX);
-        Property namePr = target.getProperty(TabConstants.Property.CUSTOMTABNAME);
-        Property suffixPr = target.getProperty(TabConstants.Property.TABSUFFIX);
+        Property prefixPr = target.getProperty(PropertyKey.TABPREFIX);
+        Property namePr = target.getProperty(PropertyKey.CUSTOMTABNAME);
+        Property suffixPr = target.getProperty(PropertyKey.TABSUFFIX);
         if (prefixPr == null || namePr == null || suffixPr == null) return null; // no idea why is another check needed
         String prefixAndName = prefixPr.getFormat(viewer) + namePr.getFormat(viewer);
         String suffix = suffixPr.getFormat(viewer);
@@ -74,46 +78,16 @@ public class PlayerView {
         StringBuilder newFormat = new StringBuilder(prefixAndName).append(EnumChatFormat.RESET.getFormat());
         int length = maxWidth + 12 - width;
         try {
-            newFormat.append(buildSpaces(length));
+            newFormat.append(feature.getSpaces(length));
         } catch (IllegalArgumentException e) {
             TAB.getInstance().getErrorManager().printError("Could not build space consisting of " + length + " pixels", e);
         }
         return IChatBaseComponent.optimizedComponent(newFormat.append(EnumChatFormat.getLastColors(prefixAndName)).append(suffix).toString());
     }
 
-    /**
-     * Returns a combination of normal and bold spaces to build exactly the requested amount of pixels.
-     * Must be at least 12 as lower numbers cannot always be built using numbers 4 (normal space + 1 pixel) and 5 (bold space + 1 pixel)
-     * Returns the result string with normal then bold spaces, such as "   &amp;l   &amp;r"
-     *
-     * @param   pixelWidth
-     *          amount of pixels to be built
-     * @return  string consisting of spaces and &amp;l &amp;r
-     * @throws  IllegalArgumentException
-     *          if pixelWidth is &lt; 12
-     */
-    private String buildSpaces(int pixelWidth) {
-        if (pixelWidth < 12) throw new IllegalArgumentException("Cannot build space lower than 12 pixels wide");
-        int pixelsLeft = pixelWidth;
-        StringBuilder output = new StringBuilder();
-        while (pixelsLeft % 5 != 0) {
-            pixelsLeft -= 4;
-            output.append(' ');
-        }
-        output.append(EnumChatFormat.COLOR_CHAR);
-        output.append('l');
-        while (pixelsLeft > 0) {
-            pixelsLeft -= 5;
-            output.append(' ');
-        }
-        output.append(EnumChatFormat.COLOR_CHAR);
-        output.append('r');
-        return output.toString();
-    }
-
     public void updatePlayer(@NotNull TabPlayer target) {
-        playerWidths.put(target, getPlayerNameWidth(target));
-        if (recalculateMaxWidth(null)) {
+        setWidth(target, getPlayerNameWidth(target));
+        if (updateMaxWidth()) {
             updateAllPlayers();
         } else {
             viewer.getTabList().updateDisplayName(feature.getTablistUUID(target, viewer), formatName(target));
@@ -121,8 +95,10 @@ public class PlayerView {
     }
 
     public void processPlayerQuit(@NotNull TabPlayer disconnectedPlayer) {
+        playerWidths.remove(disconnectedPlayer);
+        uncount(disconnectedPlayer);
         if (viewer.getVersion().getMinorVersion() < 8) return;
-        if (disconnectedPlayer == maxPlayer && recalculateMaxWidth(disconnectedPlayer)) {
+        if (updateMaxWidth()) {
             updateAllPlayers();
         }
     }
@@ -135,68 +111,44 @@ public class PlayerView {
      * @return  width of player's TabList name format
      */
     private int getPlayerNameWidth(@NotNull TabPlayer p) {
-        return getTextWidth(IChatBaseComponent.fromColoredText(
-                p.getProperty(TabConstants.Property.TABPREFIX).getFormat(viewer) +
-                p.getProperty(TabConstants.Property.CUSTOMTABNAME).getFormat(viewer) +
-                p.getProperty(TabConstants.Property.TABSUFFIX).getFormat(viewer)));
+        return feature.getTextWidth(
+                p.getProperty(PropertyKey.TABPREFIX).getFormat(viewer) +
+                p.getProperty(PropertyKey.CUSTOMTABNAME).getFormat(viewer) +
+                p.getProperty(PropertyKey.TABSUFFIX).getFormat(viewer));
     }
 
     /**
-     * Returns text width of characters in given component
+     * Sets width of player and counts it into max width if the player is visible
      *
-     * @param   component
-     *          component to get width of
-     * @return  text width of characters in given component
+     * @param   p
+     *          player to set width of
+     * @param   width
+     *          player's width
      */
-    private int getTextWidth(@NotNull IChatBaseComponent component) {
-        byte[] widths = feature.getWidths();
-        Map<String, Integer> multiCharWidths = feature.getMultiCharWidths();
-        int width = 0;
-        if (component.getText() != null) {
-            char[] chars = component.getText().toCharArray();
-            for (int i=0; i<chars.length; i++) {
-                if (component.getModifier().isBold()) {
-                    width += 1;
-                }
-                if (i < chars.length-1) {
-                    String key = (int)chars[i] + "+" + (int)chars[i + 1];
-                    if (multiCharWidths.containsKey(key)) {
-                        width += multiCharWidths.get(key) + 1;
-                        i++; // Skip next character
-                        continue;
-                    }
-                }
-                width += widths[chars[i]] + 1;
-            }
-        }
-        for (IChatBaseComponent extra : component.getExtra()) {
-            width += getTextWidth(extra);
-        }
-        return width;
+    private void setWidth(@NotNull TabPlayer p, int width) {
+        playerWidths.put(p, width);
+        uncount(p);
+        if (p.isVanished() && !canSeeVanished && p != viewer) return;
+        countedWidths.put(p, width);
+        widthCounts.merge(width, 1, Integer::sum);
+    }
+
+    private void uncount(@NotNull TabPlayer p) {
+        Integer width = countedWidths.remove(p);
+        if (width != null) widthCounts.computeIfPresent(width, (w, count) -> count == 1 ? null : count - 1);
     }
 
     // returns true if max changed, false if not
-    private boolean recalculateMaxWidth(@Nullable TabPlayer ignoredPlayer) {
-        int newMaxWidth = 0;
-        TabPlayer newMaxPlayer = null;
-        for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
-            if (all == ignoredPlayer || !playerWidths.containsKey(all)) continue;
-            if (all.isVanished() && !canSeeVanished && all != viewer) continue;
-            int localWidth = playerWidths.get(all);
-            if (localWidth > newMaxWidth) {
-                newMaxWidth = localWidth;
-                newMaxPlayer = all;
-            }
-        }
+    private boolean updateMaxWidth() {
+        int newMaxWidth = widthCounts.isEmpty() ? 0 : widthCounts.lastKey();
         boolean changed = newMaxWidth != maxWidth;
-        maxPlayer = newMaxPlayer;
         maxWidth = newMaxWidth;
         return changed;
     }
 
     public void onVanishChange(@NotNull TabPlayer changed) {
-        playerWidths.put(changed, getPlayerNameWidth(changed));
-        if (recalculateMaxWidth(null)) {
+        setWidth(changed, getPlayerNameWidth(changed));
+        if (updateMaxWidth()) {
             updateAllPlayers();
         } else if (!changed.isVanished()) {
             viewer.getTabList().updateDisplayName(changed.getTablistId(), feature.getTabFormat(changed, viewer));
@@ -5,6 +5,7 @@ import java.util.stream.Collectors;
 
 import lombok.Getter;
 import lombok.NonNull;
+import me.neznamy.tab.shared.PropertyKey;
 import me.neznamy.tab.shared.features.types.Refreshable;
 import me.neznamy.tab.shared.features.types.TabFeature;
 import me.neznamy.tab.api.bossbar.BarColor;
@@ -55,10 +56,10 @@ public class BossBarLine implements BossBar {
     private final StyleRefresher styleRefresher;
 
     //property names
-    private final String propertyTitle;
-    private final String propertyProgress;
-    private final String propertyColor;
-    private final String propertyStyle;
+    private final PropertyKey propertyTitle;
+    private final PropertyKey propertyProgress;
+    private final PropertyKey propertyColor;
+    private final PropertyKey propertyStyle;
 
     /**
      * Constructs new instance with given parameters
@@ -77,9 +78,15 @@ public class BossBarLine implements BossBar {
      *          BossBar title
      * @param   progress
      *          BossBar progress
+     * @param   announcementOnly
+     *          whether this BossBar is only displayed when announced
+     * @param   temporary
+     *          whether this BossBar was created via API, allocating property keys
+     *          which are released on unload instead of registering them
      */
     public BossBarLine(@NonNull BossBarManagerImpl manager, @NonNull String name, @Nullable String displayCondition,
-                       @NonNull String color, @NonNull String style, @NonNull String title, @NonNull String progress, boolean announcementOnly) {
+                       @NonNull String color, @NonNull String style, @NonNull String title, @NonNull String progress,
+                       boolean announcementOnly, boolean temporary) {
         this.name = name;
         this.displayCondition = Condition.getCondition(displayCondition);
         if (this.displayCondition != null) {
@@ -90,10 +97,10 @@ public class BossBarLine implements BossBar {
         this.title = title;
         this.progress = progress;
         this.announcementBar = announcementOnly;
-        propertyTitle = TabConstants.Property.bossbarTitle(name);
-        propertyProgress = TabConstants.Property.bossbarProgress(name);
-        propertyColor = TabConstants.Property.bossbarColor(name);
-        propertyStyle = TabConstants.Property.bossbarStyle(name);
+        propertyTitle = createKey(TabConstants.Property.bossbarTitle(name), temporary);
+        propertyProgress = createKey(TabConstants.Property.bossbarProgress(name), temporary);
+        propertyColor = createKey(TabConstants.Property.bossbarColor(name), temporary);
+        propertyStyle = createKey(TabConstants.Property.bossbarStyle(name), temporary);
         TAB.getInstance().getFeatureManager().registerFeature(TabConstants.Feature.bossBarTitle(name),
                 textRefresher = new TextRefresher());
         TAB.getInstance().getFeatureManager().registerFeature(TabConstants.Feature.bossBarProgress(name),
@@ -104,6 +111,27 @@ public class BossBarLine implements BossBar {
                 styleRefresher = new StyleRefresher());
     }
 
+    private @NotNull PropertyKey createKey(@NonNull String name, boolean temporary) {
+        return temporary ? PropertyKey.allocate(name) : PropertyKey.of(name);
+    }
+
+    /**
+     * Removes properties of this BossBar from all online players and releases
+     * their keys if they were allocated. Called on unload.
+     */
+    public void releaseProperties() {
+        for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
+            all.removeProperty(propertyTitle);
+            all.removeProperty(propertyProgress);
+            all.removeProperty(propertyColor);
+            all.removeProperty(propertyStyle);
+        }
+        PropertyKey.release(propertyTitle);
+        PropertyKey.release(propertyProgress);
+        PropertyKey.release(propertyColor);
+        PropertyKey.release(propertyStyle);
+    }
+
     /**
      * Returns true if condition is null or is met, false otherwise.
      *
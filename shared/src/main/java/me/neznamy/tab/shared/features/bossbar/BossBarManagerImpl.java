@@ -80,7 +80,7 @@ public class BossBarManagerImpl extends TabFeature implements BossBarManager, Jo
                 "Bossbar \"" + bar + "\" is missing progress!");
         String text = TAB.getInstance().getMisconfigurationHelper().fromMapOrElse(bossBar, "text", "<Text is not defined>",
                 "Bossbar \"" + bar + "\" is missing text!");
-        return new BossBarLine(this, bar, condition, color, style, text, progress, (boolean) bossBar.getOrDefault("announcement-bar", false));
+        return new BossBarLine(this, bar, condition, color, style, text, progress, (boolean) bossBar.getOrDefault("announcement-bar", false), false);
     }
 
     @Override
@@ -108,6 +108,9 @@ public class BossBarManagerImpl extends TabFeature implements BossBarManager, Jo
                 line.removePlayer(p);
             }
         }
+        for (BossBar line : lineValues) {
+            ((BossBarLine) line).releaseProperties();
+        }
     }
 
     @Override
@@ -161,7 +164,7 @@ public class BossBarManagerImpl extends TabFeature implements BossBarManager, Jo
     @Override
     public @NotNull BossBar createBossBar(@NonNull String title, @NonNull String progress, @NonNull String color, @NonNull String style) {
         UUID id = UUID.randomUUID();
-        BossBar bar = new BossBarLine(this, id.toString(), null, color, style, title, progress, true);
+        BossBar bar = new BossBarLine(this, id.toString(), null, color, style, title, progress, true, true);
         registeredBossBars.put(id.toString(), bar);
         lineValues = registeredBossBars.values().toArray(new BossBar[0]);
         return bar;
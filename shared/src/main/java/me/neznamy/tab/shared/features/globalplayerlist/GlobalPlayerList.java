@@ -1,6 +1,8 @@
 package me.neznamy.tab.shared.features.globalplayerlist;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 import lombok.Getter;
 import me.neznamy.tab.shared.chat.IChatBaseComponent;
@@ -13,7 +15,9 @@ import me.neznamy.tab.shared.features.types.*;
 import org.jetbrains.annotations.NotNull;
 
 /**
- * Feature handler for global PlayerList feature
+ * Feature handler for global PlayerList feature. Players are indexed by server
+ * group they are in, so visibility changes only need to look at players of the
+ * same group and players on spy servers instead of all online players.
  */
 public class GlobalPlayerList extends TabFeature implements JoinListener, QuitListener, VanishListener, GameModeListener,
         Loadable, UnLoadable, ServerSwitchListener {
@@ -29,19 +33,51 @@ public class GlobalPlayerList extends TabFeature implements JoinListener, QuitLi
     private final PlayerList playerlist = TAB.getInstance().getFeatureManager().getFeature(TabConstants.Feature.PLAYER_LIST);
     @Getter private final String featureName = "Global PlayerList";
 
+    /** Server group of each configured server, case-insensitive */
+    private final Map<String, String> configuredGroups = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    /** Configured spy servers, case-insensitive */
+    private final Set<String> spyServerSet = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    /** Resolved server group of each server name as received */
+    private final Map<String, String> serverGroups = new ConcurrentHashMap<>();
+
+    /** Players in each server group */
+    private final Map<String, Set<TabPlayer>> groupMembers = new ConcurrentHashMap<>();
+
+    /** Unmodifiable views of {@link #groupMembers} */
+    private final Map<String, Set<TabPlayer>> groupMemberViews = new ConcurrentHashMap<>();
+
+    /** Server group each player was last added to */
+    private final Map<TabPlayer, String> playerGroups = new ConcurrentHashMap<>();
+
+    /** Players currently on spy servers */
+    private final Set<TabPlayer> spies = ConcurrentHashMap.newKeySet();
+
+    /** Unmodifiable view of {@link #spies} */
+    @Getter private final Set<TabPlayer> spyPlayers = Collections.unmodifiableSet(spies);
+
     public GlobalPlayerList() {
         for (Map.Entry<String, List<String>> entry : sharedServers.entrySet()) {
+            for (String server : entry.getValue()) {
+                configuredGroups.putIfAbsent(server, entry.getKey());
+            }
+            Set<TabPlayer> members = getGroupMembers(entry.getKey());
             TAB.getInstance().getPlaceholderManager().registerServerPlaceholder(TabConstants.Placeholder.globalPlayerListGroup(entry.getKey()), 1000,
-                    () -> Arrays.stream(TAB.getInstance().getOnlinePlayers()).filter(p -> entry.getValue().contains(p.getServer()) && !p.isVanished()).count());
+                    () -> members.stream().filter(p -> !p.isVanished()).count());
         }
+        spyServerSet.addAll(spyServers);
     }
 
     @Override
     public void load() {
-        if (updateLatency) TAB.getInstance().getFeatureManager().registerFeature(TabConstants.Feature.GLOBAL_PLAYER_LIST_LATENCY, new LatencyRefresher());
+        if (updateLatency) TAB.getInstance().getFeatureManager().registerFeature(TabConstants.Feature.GLOBAL_PLAYER_LIST_LATENCY, new LatencyRefresher(this));
+        for (TabPlayer player : TAB.getInstance().getOnlinePlayers()) {
+            addToGroup(player);
+        }
         for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
             List<TabList.Entry> entries = new ArrayList<>();
-            for (TabPlayer displayed : TAB.getInstance().getOnlinePlayers()) {
+            for (TabPlayer displayed : getVisibleCandidates(viewer)) {
                 if (viewer.getServer().equals(displayed.getServer())) continue;
                 if (shouldSee(viewer, displayed)) entries.add(getAddInfoData(displayed, viewer));
             }
@@ -49,6 +85,97 @@ public class GlobalPlayerList extends TabFeature implements JoinListener, QuitLi
         }
     }
 
+    /**
+     * Adds player into set of players of their current server group
+     *
+     * @param   player
+     *          Player to add
+     */
+    private void addToGroup(@NotNull TabPlayer player) {
+        String group = getServerGroup(player.getServer());
+        playerGroups.put(player, group);
+        getGroupMembers(group).add(player);
+        if (isSpyServer(player.getServer())) spies.add(player);
+    }
+
+    /**
+     * Removes player from set of players of server group they were added to
+     *
+     * @param   player
+     *          Player to remove
+     */
+    private void removeFromGroup(@NotNull TabPlayer player) {
+        String group = playerGroups.remove(player);
+        if (group != null) getGroupMembers(group).remove(player);
+        spies.remove(player);
+    }
+
+    private @NotNull Set<TabPlayer> getGroupMembers(@NotNull String group) {
+        return groupMembers.computeIfAbsent(group, g -> ConcurrentHashMap.newKeySet());
+    }
+
+    /**
+     * Returns unmodifiable view of players in server group of specified server.
+     * Together with {@link #getSpyPlayers()} they are all players who may see
+     * a player on that server. Visibility of each player must still be checked
+     * using {@link #shouldSee(TabPlayer, TabPlayer)}.
+     *
+     * @param   server
+     *          Server to get players of server group of
+     * @return  Players in server group of the server, including players on the server
+     */
+    public @NotNull Set<TabPlayer> getGroupPlayers(@NotNull String server) {
+        return groupMemberViews.computeIfAbsent(getServerGroup(server), group -> Collections.unmodifiableSet(getGroupMembers(group)));
+    }
+
+    /**
+     * Returns {@code true} if spy was already returned by {@link #getGroupPlayers(String)}
+     * for specified server, {@code false} if not.
+     *
+     * @param   spy
+     *          Player on spy server
+     * @param   server
+     *          Server passed to {@link #getGroupPlayers(String)}
+     * @return  {@code true} if spy is in server group of the server, {@code false} if not
+     */
+    public boolean isInGroupOf(@NotNull TabPlayer spy, @NotNull String server) {
+        return getServerGroup(server).equals(playerGroups.get(spy));
+    }
+
+    /**
+     * Performs action for every player who may see the specified player, which are players
+     * in the same server group and players on spy servers, each of them once. Visibility
+     * of each player must still be checked using {@link #shouldSee(TabPlayer, TabPlayer)}.
+     *
+     * @param   displayed
+     *          Player to get potential viewers of
+     * @param   action
+     *          Action to perform for each potential viewer
+     */
+    private void forEachViewerCandidate(@NotNull TabPlayer displayed, @NotNull Consumer<TabPlayer> action) {
+        String server = displayed.getServer();
+        for (TabPlayer player : getGroupPlayers(server)) {
+            action.accept(player);
+        }
+        for (TabPlayer spy : spies) {
+            if (!isInGroupOf(spy, server)) action.accept(spy);
+        }
+    }
+
+    /**
+     * Returns players the specified player may see, which are players in the same
+     * server group or all players if player is on a spy server. Visibility of each
+     * player must still be checked using {@link #shouldSee(TabPlayer, TabPlayer)}.
+     *
+     * @param   viewer
+     *          Player to get potentially visible players of
+     * @return  Players the player may see
+     */
+    public @NotNull Collection<TabPlayer> getVisibleCandidates(@NotNull TabPlayer viewer) {
+        if (isSpyServer(viewer.getServer())) return Arrays.asList(TAB.getInstance().getOnlinePlayers());
+        return getGroupPlayers(viewer.getServer());
+    }
+
     public boolean shouldSee(@NotNull TabPlayer viewer, @NotNull TabPlayer displayed) {
         if (displayed == viewer) return true;
         if (displayed.isVanished() && !viewer.hasPermission(TabConstants.Permission.SEE_VANISHED)) return false;
@@ -57,28 +184,36 @@ public class GlobalPlayerList extends TabFeature implements JoinListener, QuitLi
     }
 
     public @NotNull String getServerGroup(@NotNull String serverName) {
-        for (Map.Entry<String, List<String>> group : sharedServers.entrySet()) {
-            if (group.getValue().stream().anyMatch(serverName::equalsIgnoreCase)) return group.getKey();
-        }
-        return isolateUnlistedServers ? "isolated:" + serverName : "DEFAULT";
+        return serverGroups.computeIfAbsent(serverName, server -> {
+            String group = configuredGroups.get(server);
+            if (group != null) return group;
+            return isolateUnlistedServers ? "isolated:" + server : "DEFAULT";
+        });
     }
 
     @Override
     public void unload() {
-        for (TabPlayer displayed : TAB.getInstance().getOnlinePlayers()) {
-            for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
+        for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
+            for (TabPlayer displayed : getVisibleCandidates(viewer)) {
                 if (!displayed.getServer().equals(viewer.getServer())) viewer.getTabList().removeEntry(displayed.getTablistId());
             }
         }
+        groupMembers.values().forEach(Set::clear);
+        playerGroups.clear();
+        spies.clear();
     }
 
     @Override
     public void onJoin(@NotNull TabPlayer connectedPlayer) {
-        for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
-            if (connectedPlayer.getServer().equals(all.getServer())) continue;
+        addToGroup(connectedPlayer);
+        forEachViewerCandidate(connectedPlayer, all -> {
+            if (connectedPlayer.getServer().equals(all.getServer())) return;
             if (shouldSee(all, connectedPlayer)) {
                 all.getTabList().addEntry(getAddInfoData(connectedPlayer, all));
             }
+        });
+        for (TabPlayer all : getVisibleCandidates(connectedPlayer)) {
+            if (connectedPlayer.getServer().equals(all.getServer())) continue;
             if (shouldSee(connectedPlayer, all)) {
                 connectedPlayer.getTabList().addEntry(getAddInfoData(all, connectedPlayer));
             }
@@ -87,7 +222,9 @@ public class GlobalPlayerList extends TabFeature implements JoinListener, QuitLi
 
     @Override
     public void onQuit(@NotNull TabPlayer disconnectedPlayer) {
-        for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
+        Collection<TabPlayer> viewers = copyViewerCandidates(disconnectedPlayer.getServer(), disconnectedPlayer);
+        removeFromGroup(disconnectedPlayer);
+        for (TabPlayer all : viewers) {
             if (all == disconnectedPlayer) continue;
             all.getTabList().removeEntry(disconnectedPlayer.getTablistId());
         }
@@ -95,8 +232,12 @@ public class GlobalPlayerList extends TabFeature implements JoinListener, QuitLi
 
     @Override
     public void onServerChange(@NotNull TabPlayer changed, @NotNull String from, @NotNull String to) {
+        Collection<TabPlayer> previousViewers = copyViewerCandidates(from, changed);
+        removeFromGroup(changed);
+        addToGroup(changed);
+
         // Event is fired after all entries are removed from switched player's tablist, ready to re-add immediately
-        for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
+        for (TabPlayer all : getVisibleCandidates(changed)) {
             // Ignore players on the same server, since the server already sends add packet
             if (!all.getServer().equals(changed.getServer()) && shouldSee(changed, all)) {
                 changed.getTabList().addEntry(getAddInfoData(all, changed));
@@ -105,7 +246,10 @@ public class GlobalPlayerList extends TabFeature implements JoinListener, QuitLi
 
         // Player who switched server is removed from tablist of other players in ~70-110ms (depending on online count), re-add with a delay
         TAB.getInstance().getCPUManager().runTaskLater(200, featureName, TabConstants.CpuUsageCategory.SERVER_SWITCH, () -> {
-            for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
+            Set<TabPlayer> viewers = new HashSet<>(previousViewers);
+            viewers.addAll(copyViewerCandidates(changed.getServer(), changed));
+            for (TabPlayer all : viewers) {
+                if (TAB.getInstance().getPlayer(all.getUniqueId()) != all) continue; // Disconnected in the meantime
                 // Remove for everyone and add back if visible, easy solution to display-others-as-spectators option
                 all.getTabList().removeEntry(changed.getTablistId());
                 if (shouldSee(all, changed)) {
@@ -115,6 +259,23 @@ public class GlobalPlayerList extends TabFeature implements JoinListener, QuitLi
         });
     }
 
+    /**
+     * Returns a copy of players who may have seen the specified player on given server,
+     * computed the same way as {@link #forEachViewerCandidate(TabPlayer, Consumer)}.
+     *
+     * @param   server
+     *          Server the player was on
+     * @param   displayed
+     *          Player to get potential viewers of
+     * @return  Players who may have seen the player
+     */
+    private @NotNull Collection<TabPlayer> copyViewerCandidates(@NotNull String server, @NotNull TabPlayer displayed) {
+        Set<TabPlayer> viewers = new HashSet<>(getGroupMembers(getServerGroup(server)));
+        viewers.addAll(spies);
+        viewers.remove(displayed);
+        return viewers;
+    }
+
     public @NotNull TabList.Entry getAddInfoData(@NotNull TabPlayer p, @NotNull TabPlayer viewer) {
         IChatBaseComponent format = null;
         if (playerlist != null) {
@@ -134,33 +295,33 @@ public class GlobalPlayerList extends TabFeature implements JoinListener, QuitLi
 
     @Override
     public void onGameModeChange(@NotNull TabPlayer player) {
-        for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
+        forEachViewerCandidate(player, viewer -> {
             if (!player.getServer().equals(viewer.getServer())) {
                 viewer.getTabList().updateGameMode(player.getTablistId(), othersAsSpectators ? 3 : player.getGamemode());
             }
-        }
+        });
     }
 
     @Override
     public void onVanishStatusChange(@NotNull TabPlayer p) {
         if (p.isVanished()) {
-            for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
-                if (all == p) continue;
+            forEachViewerCandidate(p, all -> {
+                if (all == p) return;
                 if (!shouldSee(all, p)) {
                     all.getTabList().removeEntry(p.getTablistId());
                 }
-            }
+            });
         } else {
-            for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
-                if (viewer == p) continue;
+            forEachViewerCandidate(p, viewer -> {
+                if (viewer == p) return;
                 if (shouldSee(viewer, p)) {
                     viewer.getTabList().addEntry(getAddInfoData(p, viewer));
                 }
-            }
+            });
         }
     }
 
     public boolean isSpyServer(@NotNull String server) {
-        return spyServers.stream().anyMatch(server::equalsIgnoreCase);
+        return spyServerSet.contains(server);
     }
 }
\ No newline at end of file
@@ -6,22 +6,40 @@ import me.neznamy.tab.shared.features.types.Refreshable;
 import me.neznamy.tab.shared.features.types.TabFeature;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.util.LatencyAggregator;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+
 public class LatencyRefresher extends TabFeature implements Refreshable {
 
     @Getter private final String featureName = "Global PlayerList";
     @Getter private final String refreshDisplayName = "Updating latency";
+    @NotNull private final GlobalPlayerList globalPlayerList;
+    @NotNull private final LatencyAggregator aggregator = new LatencyAggregator(featureName, this::sendLatency);
 
-    public LatencyRefresher() {
+    public LatencyRefresher(@NotNull GlobalPlayerList globalPlayerList) {
+        this.globalPlayerList = globalPlayerList;
         TAB.getInstance().getPlaceholderManager().addUsedPlaceholder(TabConstants.Placeholder.PING, this);
     }
 
     @Override
     public void refresh(@NotNull TabPlayer p, boolean force) {
+        aggregator.update(p);
+    }
+
+    private void sendLatency(@NotNull Collection<TabPlayer> players) {
         //player ping changed, must manually update latency for players on other servers
-        for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
-            if (!p.getServer().equals(all.getServer())) all.getTabList().updateLatency(p.getTablistId(), p.getPing());
+        for (TabPlayer p : players) {
+            String server = p.getServer();
+            for (TabPlayer all : globalPlayerList.getGroupPlayers(server)) {
+                if (!server.equals(all.getServer())) all.getTabList().updateLatency(p.getTablistId(), p.getPing());
+            }
+            for (TabPlayer spy : globalPlayerList.getSpyPlayers()) {
+                if (!server.equals(spy.getServer()) && !globalPlayerList.isInGroupOf(spy, server)) {
+                    spy.getTabList().updateLatency(p.getTablistId(), p.getPing());
+                }
+            }
         }
     }
 }
@@ -2,6 +2,7 @@ package me.neznamy.tab.shared.features.layout;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import me.neznamy.tab.shared.PropertyKey;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.platform.TabList;
@@ -25,7 +26,7 @@ public class FixedSlot extends TabFeature implements Refreshable {
     private final LayoutPattern pattern;
     private final UUID id;
     private final String text;
-    private final String propertyName;
+    private final PropertyKey propertyName;
     private final TabList.Skin skin;
     private final int ping;
 
@@ -47,6 +48,17 @@ public class FixedSlot extends TabFeature implements Refreshable {
         );
     }
 
+    /**
+     * Removes property of this slot from all online players and releases
+     * its key if it was allocated.
+     */
+    public void releaseProperty() {
+        for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
+            all.removeProperty(propertyName);
+        }
+        PropertyKey.release(propertyName);
+    }
+
     public static @Nullable FixedSlot fromLine(@NotNull String line, @NotNull LayoutPattern pattern, @NotNull LayoutManagerImpl manager) {
         String[] array = line.split("\\|");
         if (array.length < 2) {
@@ -69,7 +81,7 @@ public class FixedSlot extends TabFeature implements Refreshable {
                 pattern,
                 manager.getUUID(slot),
                 text,
-                "Layout-" + pattern.getName() + "-SLOT-" + slot,
+                PropertyKey.of("Layout-" + pattern.getName() + "-SLOT-" + slot),
                 manager.getSkinManager().getSkin(skin.length() == 0 ? manager.getDefaultSkin() : skin),
                 ping
         );
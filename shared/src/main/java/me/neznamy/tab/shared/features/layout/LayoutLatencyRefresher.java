@@ -6,13 +6,17 @@ import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.features.types.Refreshable;
 import me.neznamy.tab.shared.features.types.TabFeature;
 import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.util.LatencyAggregator;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+
 public class LayoutLatencyRefresher extends TabFeature implements Refreshable {
 
     @Getter private final String featureName = "Layout";
     @Getter private final String refreshDisplayName = "Updating latency";
     @NotNull private final LayoutManagerImpl manager;
+    @NotNull private final LatencyAggregator aggregator = new LatencyAggregator(featureName, this::sendLatency);
 
     public LayoutLatencyRefresher(@NotNull LayoutManagerImpl manager) {
         this.manager = manager;
@@ -21,13 +25,19 @@ public class LayoutLatencyRefresher extends TabFeature implements Refreshable {
 
     @Override
     public void refresh(@NotNull TabPlayer p, boolean force) {
+        aggregator.update(p);
+    }
+
+    private void sendLatency(@NotNull Collection<TabPlayer> players) {
         for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
             if (all.getVersion().getMinorVersion() < 8) continue;
             LayoutView layout = manager.getViews().get(all);
             if (layout == null) continue;
-            PlayerSlot slot = layout.getSlot(p);
-            if (slot == null) continue;
-            all.getTabList().updateLatency(slot.getUniqueId(), p.getPing());
+            for (TabPlayer p : players) {
+                PlayerSlot slot = layout.getSlot(p);
+                if (slot == null) continue;
+                all.getTabList().updateLatency(slot.getUniqueId(), p.getPing());
+            }
         }
     }
 }
@@ -48,6 +48,15 @@ public class LayoutManagerImpl extends TabFeature implements LayoutManager, Join
     private final WeakHashMap<TabPlayer, LayoutView> views = new WeakHashMap<>();
     private final WeakHashMap<me.neznamy.tab.api.TabPlayer, LayoutPattern> forcedLayouts = new WeakHashMap<>();
 
+    /** Layouts created via API, whose fixed slot property keys are released on unload */
+    private final List<LayoutPattern> apiLayouts = new ArrayList<>();
+
+    /** Slot assignments of displayed layouts for viewers who cannot see vanished players */
+    private final Map<LayoutPattern, SlotAssignment> assignments = new HashMap<>();
+
+    /** Slot assignments of displayed layouts for viewers who can see vanished players */
+    private final Map<LayoutPattern, SlotAssignment> vanishedAssignments = new HashMap<>();
+
     @Override
     public void load() {
         playerList = TAB.getInstance().getFeatureManager().getFeature(TabConstants.Feature.PLAYER_LIST);
@@ -76,17 +85,72 @@ public class LayoutManagerImpl extends TabFeature implements LayoutManager, Join
         return layoutMap;
     }
 
+    /**
+     * Returns slot assignment of layout for viewers with given vanished player
+     * visibility. If no view displays it yet, a new one is created.
+     *
+     * @param   pattern
+     *          Displayed layout
+     * @param   showVanished
+     *          Whether vanished players are displayed or not
+     * @return  Slot assignment of the layout
+     */
+    public @NotNull SlotAssignment getAssignment(@NotNull LayoutPattern pattern, boolean showVanished) {
+        return (showVanished ? vanishedAssignments : assignments).computeIfAbsent(pattern,
+                p -> new SlotAssignment(this, p, showVanished));
+    }
+
+    private void addView(@NotNull TabPlayer p, @NotNull LayoutView view) {
+        views.put(p, view);
+        view.getAssignment().getViews().add(view);
+    }
+
+    private void removeView(@NotNull TabPlayer p) {
+        LayoutView view = views.remove(p);
+        if (view == null) return;
+        SlotAssignment assignment = view.getAssignment();
+        assignment.getViews().remove(view);
+        if (assignment.getViews().isEmpty()) {
+            assignments.values().remove(assignment);
+            vanishedAssignments.values().remove(assignment);
+        }
+    }
+
+    private void updateAssignments(@NotNull TabPlayer p) {
+        for (SlotAssignment assignment : assignments.values()) {
+            assignment.update(p);
+        }
+        for (SlotAssignment assignment : vanishedAssignments.values()) {
+            assignment.update(p);
+        }
+    }
+
+    /**
+     * Updates group of player in all slot assignments of given layout
+     *
+     * @param   pattern
+     *          Layout to update assignments of
+     * @param   p
+     *          Player to update
+     */
+    public void updateAssignments(@NotNull LayoutPattern pattern, @NotNull TabPlayer p) {
+        SlotAssignment assignment = assignments.get(pattern);
+        if (assignment != null) assignment.update(p);
+        SlotAssignment vanishedAssignment = vanishedAssignments.get(pattern);
+        if (vanishedAssignment != null) vanishedAssignment.update(p);
+    }
+
     @Override
     public void onJoin(@NotNull TabPlayer p) {
         teamNames.put(p, sorting.getFullTeamName(p));
         sortedPlayers.put(p, sorting.getFullTeamName(p));
+        updateAssignments(p);
         LayoutPattern highest = getHighestLayout(p);
         if (highest != null) {
             LayoutView view = new LayoutView(this, highest, p);
+            addView(p, view);
             view.send();
-            views.put(p, view);
         }
-        views.values().forEach(LayoutView::tick);
 
         // Unformat original entries for players who can see a layout to avoid spaces due to unparsed placeholders and such
         if (highest == null) return;
@@ -98,9 +162,14 @@ public class LayoutManagerImpl extends TabFeature implements LayoutManager, Join
     @Override
     public void onQuit(@NotNull TabPlayer p) {
         sortedPlayers.remove(p);
+        removeView(p);
+        for (SlotAssignment assignment : assignments.values()) {
+            assignment.remove(p);
+        }
+        for (SlotAssignment assignment : vanishedAssignments.values()) {
+            assignment.remove(p);
+        }
         teamNames.remove(p);
-        views.remove(p);
-        views.values().forEach(LayoutView::tick);
     }
 
     @Override
@@ -111,11 +180,11 @@ public class LayoutManagerImpl extends TabFeature implements LayoutManager, Join
         String currentName = current == null ? null : current.getPattern().getName();
         if (!Objects.equals(highestName, currentName)) {
             if (current != null) current.destroy();
-            views.remove(p);
+            removeView(p);
             if (highest != null) {
                 LayoutView view = new LayoutView(this, highest, p);
+                addView(p, view);
                 view.send();
-                views.put(p, view);
             }
         }
     }
@@ -126,11 +195,14 @@ public class LayoutManagerImpl extends TabFeature implements LayoutManager, Join
             if (p.getVersion().getMinorVersion() < 8 || p.isBedrockPlayer()) continue;
             p.getTabList().removeEntries(uuids.values());
         }
+        for (LayoutPattern pattern : apiLayouts) {
+            pattern.releaseProperties();
+        }
     }
 
     @Override
     public void onVanishStatusChange(@NotNull TabPlayer p) {
-        views.values().forEach(LayoutView::tick);
+        updateAssignments(p);
     }
 
     private @Nullable LayoutPattern getHighestLayout(@NotNull TabPlayer p) {
@@ -149,7 +221,7 @@ public class LayoutManagerImpl extends TabFeature implements LayoutManager, Join
         sortedPlayers.remove(p);
         teamNames.put(p, teamName);
         sortedPlayers.put(p, teamName);
-        views.values().forEach(LayoutView::tick);
+        updateAssignments(p);
     }
 
     @Override
@@ -160,7 +232,9 @@ public class LayoutManagerImpl extends TabFeature implements LayoutManager, Join
 
     @Override
     public Layout createNewLayout(String name) {
-        return new LayoutPattern(this, name, Collections.emptyMap());
+        LayoutPattern pattern = new LayoutPattern(this, name, Collections.emptyMap());
+        apiLayouts.add(pattern);
+        return pattern;
     }
 
     @Override
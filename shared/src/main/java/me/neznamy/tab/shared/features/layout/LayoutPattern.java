@@ -3,6 +3,7 @@ package me.neznamy.tab.shared.features.layout;
 import lombok.Getter;
 import lombok.NonNull;
 import me.neznamy.tab.api.tablist.layout.Layout;
+import me.neznamy.tab.shared.PropertyKey;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.features.types.Refreshable;
@@ -72,7 +73,7 @@ public class LayoutPattern extends TabFeature implements Refreshable, Layout {
 
     @Override
     public void refresh(@NotNull TabPlayer refreshed, boolean force) {
-        manager.getViews().values().forEach(LayoutView::tick);
+        manager.updateAssignments(this, refreshed);
     }
 
     @Override
@@ -92,8 +93,18 @@ public class LayoutPattern extends TabFeature implements Refreshable, Layout {
 
     @Override
     public void addFixedSlot(int slot, @NonNull String text, @NonNull String skin, int ping) {
-        fixedSlots.put(slot, new FixedSlot(manager, slot, this, manager.getUUID(slot), text,
-                "Layout-" + text + "-SLOT-" + slot, manager.getSkinManager().getSkin(skin), ping));
+        FixedSlot previous = fixedSlots.put(slot, new FixedSlot(manager, slot, this, manager.getUUID(slot), text,
+                PropertyKey.allocate("Layout-" + text + "-SLOT-" + slot), manager.getSkinManager().getSkin(skin), ping));
+        if (previous != null) previous.releaseProperty();
+    }
+
+    /**
+     * Releases property keys of all fixed slots of this layout.
+     */
+    public void releaseProperties() {
+        for (FixedSlot slot : fixedSlots.values()) {
+            slot.releaseProperty();
+        }
     }
 
     @Override
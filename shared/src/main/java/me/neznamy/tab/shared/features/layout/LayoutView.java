@@ -9,13 +9,9 @@ import me.neznamy.tab.shared.platform.TabList;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 @Getter
 public class LayoutView {
@@ -27,6 +23,8 @@ public class LayoutView {
     private final List<Integer> emptySlots = IntStream.range(1, 81).boxed().collect(Collectors.toList());
     private final Collection<FixedSlot> fixedSlots;
     private final List<ParentGroup> groups = new ArrayList<>();
+    private final Map<Integer, PlayerSlot> playerSlots = new HashMap<>();
+    private final SlotAssignment assignment;
 
     public LayoutView(LayoutManagerImpl manager, LayoutPattern pattern, TabPlayer viewer) {
         this.manager = manager;
@@ -39,8 +37,11 @@ public class LayoutView {
         }
         for (GroupPattern group : pattern.getGroups()) {
             emptySlots.removeAll(Arrays.stream(group.getSlots()).boxed().collect(Collectors.toList()));
-            groups.add(new ParentGroup(this, group, viewer));
+            ParentGroup parentGroup = new ParentGroup(this, group, viewer);
+            groups.add(parentGroup);
+            playerSlots.putAll(parentGroup.getPlayerSlots());
         }
+        assignment = manager.getAssignment(pattern, viewer.hasPermission(TabConstants.Permission.SEE_VANISHED));
     }
 
     public void send() {
@@ -53,7 +54,7 @@ public class LayoutView {
             viewer.getTabList().addEntry(new TabList.Entry(manager.getUUID(slot), getEntryName(viewer, slot), manager.getSkinManager().getDefaultSkin(),
                     manager.getEmptySlotPing(), 0, new IChatBaseComponent("")));
         }
-        tick();
+        updateSlots(assignment.getSlots());
     }
 
     public String getEntryName(@NotNull TabPlayer viewer, long slot) {
@@ -65,23 +66,27 @@ public class LayoutView {
         viewer.getTabList().removeEntries(manager.getUuids().values());
     }
 
-    public void tick() {
-        Stream<TabPlayer> str = manager.getSortedPlayers().keySet().stream();
-        if (!viewer.hasPermission(TabConstants.Permission.SEE_VANISHED)) {
-            str = str.filter(player -> !player.isVanished());
-        }
-        List<TabPlayer> players = str.collect(Collectors.toList());
-        for (ParentGroup group : groups) {
-            group.tick(players);
+    /**
+     * Updates content of given slots to match the slot assignment
+     *
+     * @param   slots
+     *          Slots to update
+     */
+    public void updateSlots(@NotNull Collection<Integer> slots) {
+        for (int slot : slots) {
+            PlayerSlot playerSlot = playerSlots.get(slot);
+            if (playerSlot == null) continue;
+            TabPlayer player = assignment.getPlayer(slot);
+            if (player != null) {
+                playerSlot.setPlayer(player);
+            } else {
+                playerSlot.setText(assignment.getText(slot));
+            }
         }
     }
 
     public PlayerSlot getSlot(@NotNull TabPlayer target) {
-        for (ParentGroup group : groups) {
-            if (group.getPlayers().containsKey(target)) {
-                return group.getPlayers().get(target);
-            }
-        }
-        return null;
+        Integer slot = assignment.getSlot(target);
+        return slot == null ? null : playerSlots.get(slot);
     }
 }
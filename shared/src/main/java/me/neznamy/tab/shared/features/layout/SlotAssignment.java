@@ -0,0 +1,221 @@
+package me.neznamy.tab.shared.features.layout;
+
+import lombok.Data;
+import lombok.Getter;
+import me.neznamy.tab.shared.platform.TabPlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assignment of players into group slots of a layout, shared by all views
+ * displaying the same layout with the same vanished player visibility.
+ * Players are kept sorted in the group they belong to and every change
+ * of a player only recalculates slots of groups the player left or joined.
+ * Views then only receive slots which actually changed.
+ */
+public class SlotAssignment {
+
+    @NotNull private final LayoutManagerImpl manager;
+    @NotNull private final LayoutPattern pattern;
+    private final boolean showVanished;
+
+    /** Views displaying this assignment */
+    @Getter private final Set<LayoutView> views = new HashSet<>();
+
+    /** Players in each group sorted by their team name */
+    private final List<TreeMap<String, TabPlayer>> groupMembers = new ArrayList<>();
+
+    /** Group index and sorting key of each player in a group */
+    private final Map<TabPlayer, Membership> memberships = new HashMap<>();
+
+    /** Player displayed in each slot */
+    private final TabPlayer[] slotPlayers = new TabPlayer[81];
+
+    /** Text displayed in each slot without a player */
+    private final String[] slotTexts = new String[81];
+
+    /** Slot of each displayed player */
+    private final Map<TabPlayer, Integer> playerSlots = new ConcurrentHashMap<>();
+
+    /** All slots belonging to groups */
+    @Getter private final List<Integer> slots = new ArrayList<>();
+
+    /**
+     * Constructs new instance and assigns all currently sorted players
+     *
+     * @param   manager
+     *          Layout manager
+     * @param   pattern
+     *          Layout to assign players of
+     * @param   showVanished
+     *          Whether vanished players should be displayed or not
+     */
+    public SlotAssignment(@NotNull LayoutManagerImpl manager, @NotNull LayoutPattern pattern, boolean showVanished) {
+        this.manager = manager;
+        this.pattern = pattern;
+        this.showVanished = showVanished;
+        for (GroupPattern group : pattern.getGroups()) {
+            groupMembers.add(new TreeMap<>());
+            for (int slot : group.getSlots()) {
+                slots.add(slot);
+                slotTexts[slot] = "";
+            }
+        }
+        List<TabPlayer> players;
+        synchronized (manager.getSortedPlayers()) {
+            players = new ArrayList<>(manager.getSortedPlayers().keySet());
+        }
+        for (TabPlayer player : players) {
+            Membership membership = createMembership(player);
+            if (membership == null) continue;
+            memberships.put(player, membership);
+            groupMembers.get(membership.group).put(membership.key, player);
+        }
+        for (int group = 0; group < groupMembers.size(); group++) {
+            recalculateGroup(group, new ArrayList<>());
+        }
+    }
+
+    /**
+     * Moves player into group the player currently belongs to if it changed
+     * and sends changed slots to all views.
+     *
+     * @param   player
+     *          Player to update
+     */
+    public void update(@NotNull TabPlayer player) {
+        Membership current = memberships.get(player);
+        Membership updated = createMembership(player);
+        if (Objects.equals(current, updated)) return;
+        if (current != null) {
+            memberships.remove(player);
+            groupMembers.get(current.group).remove(current.key);
+        }
+        if (updated != null) {
+            memberships.put(player, updated);
+            groupMembers.get(updated.group).put(updated.key, player);
+        }
+        List<Integer> changed = new ArrayList<>();
+        if (current != null) recalculateGroup(current.group, changed);
+        if (updated != null && (current == null || current.group != updated.group)) recalculateGroup(updated.group, changed);
+        if (changed.isEmpty()) return;
+        for (LayoutView view : views) {
+            view.updateSlots(changed);
+        }
+    }
+
+    /**
+     * Removes player from this assignment and sends changed slots to all views.
+     *
+     * @param   player
+     *          Player to remove
+     */
+    public void remove(@NotNull TabPlayer player) {
+        Membership current = memberships.remove(player);
+        if (current == null) return;
+        groupMembers.get(current.group).remove(current.key);
+        List<Integer> changed = new ArrayList<>();
+        recalculateGroup(current.group, changed);
+        if (changed.isEmpty()) return;
+        for (LayoutView view : views) {
+            view.updateSlots(changed);
+        }
+    }
+
+    /**
+     * Returns group membership of player based on current state or {@code null}
+     * if the player should not be displayed in any group
+     *
+     * @param   player
+     *          Player to get membership of
+     * @return  Membership of the player or {@code null} if not displayed
+     */
+    private @Nullable Membership createMembership(@NotNull TabPlayer player) {
+        String key = manager.getTeamNames().get(player);
+        if (key == null || !manager.getSortedPlayers().containsKey(player)) return null;
+        if (!showVanished && player.isVanished()) return null;
+        List<GroupPattern> groups = pattern.getGroups();
+        for (int i = 0; i < groupMembers.size(); i++) {
+            if (groups.get(i).getCondition() == null || groups.get(i).getCondition().isMet(player)) return new Membership(i, key);
+        }
+        return null;
+    }
+
+    /**
+     * Assigns sorted members of group into its slots and adds slots with
+     * different content than before into provided list.
+     *
+     * @param   group
+     *          Index of group to recalculate
+     * @param   changed
+     *          List to add changed slots to
+     */
+    private void recalculateGroup(int group, @NotNull List<Integer> changed) {
+        int[] groupSlots = pattern.getGroups().get(group).getSlots();
+        TreeMap<String, TabPlayer> members = groupMembers.get(group);
+        Iterator<TabPlayer> iterator = members.values().iterator();
+        for (int index = 0; index < groupSlots.length; index++) {
+            int slot = groupSlots[index];
+            TabPlayer player = null;
+            String text = "";
+            if (manager.isRemainingPlayersTextEnabled() && index == groupSlots.length - 1 && groupSlots.length < members.size()) {
+                text = String.format(manager.getRemainingPlayersText(), members.size() - groupSlots.length + 1);
+            } else if (iterator.hasNext()) {
+                player = iterator.next();
+            }
+            if (slotPlayers[slot] == player && (player != null || slotTexts[slot].equals(text))) continue;
+            TabPlayer previous = slotPlayers[slot];
+            if (previous != null) playerSlots.remove(previous, slot);
+            slotPlayers[slot] = player;
+            slotTexts[slot] = text;
+            if (player != null) playerSlots.put(player, slot);
+            changed.add(slot);
+        }
+    }
+
+    /**
+     * Returns player displayed in slot or {@code null} if slot displays text
+     *
+     * @param   slot
+     *          Slot to get player of
+     * @return  Player in the slot or {@code null} if slot displays text
+     */
+    public @Nullable TabPlayer getPlayer(int slot) {
+        return slotPlayers[slot];
+    }
+
+    /**
+     * Returns text displayed in slot without a player
+     *
+     * @param   slot
+     *          Slot to get text of
+     * @return  Text of the slot
+     */
+    public @NotNull String getText(int slot) {
+        return slotTexts[slot];
+    }
+
+    /**
+     * Returns slot player is displayed in or {@code null} if not displayed
+     *
+     * @param   player
+     *          Player to get slot of
+     * @return  Slot of the player or {@code null} if not displayed
+     */
+    public @Nullable Integer getSlot(@NotNull TabPlayer player) {
+        return playerSlots.get(player);
+    }
+
+    /**
+     * Group index and sorting key of a player
+     */
+    @Data
+    private static class Membership {
+
+        private final int group;
+        @NotNull private final String key;
+    }
+}
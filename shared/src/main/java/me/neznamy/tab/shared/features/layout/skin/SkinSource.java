@@ -31,7 +31,9 @@ public abstract class SkinSource {
         }
         List<String> properties = download(skin);
         if (!properties.isEmpty()) {
-            cache.put(skin, properties);
+            synchronized (file) {
+                cache.put(skin, properties);
+            }
             file.set(path, cache);
             return properties;
         }
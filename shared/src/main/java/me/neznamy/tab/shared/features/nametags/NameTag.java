@@ -9,6 +9,7 @@ import me.neznamy.tab.shared.platform.Scoreboard.CollisionRule;
 import me.neznamy.tab.shared.platform.Scoreboard.NameVisibility;
 import me.neznamy.tab.shared.util.Preconditions;
 import me.neznamy.tab.shared.platform.TabPlayer;
+import me.neznamy.tab.shared.PropertyKey;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.features.redis.RedisSupport;
@@ -89,8 +90,8 @@ public class NameTag extends TabFeature implements NameTagManager, JoinListener,
             updateProperties(refreshed);
             refresh = true;
         } else {
-            boolean prefix = refreshed.getProperty(TabConstants.Property.TAGPREFIX).update();
-            boolean suffix = refreshed.getProperty(TabConstants.Property.TAGSUFFIX).update();
+            boolean prefix = refreshed.getProperty(PropertyKey.TAGPREFIX).update();
+            boolean suffix = refreshed.getProperty(PropertyKey.TAGSUFFIX).update();
             refresh = prefix || suffix;
         }
         if (refresh) updateTeamData(refreshed);
@@ -223,15 +224,15 @@ public class NameTag extends TabFeature implements NameTagManager, JoinListener,
             updateTeamData(p, viewer);
         }
         if (redis != null) redis.updateTeam(p, sorting.getShortTeamName(p),
-                p.getProperty(TabConstants.Property.TAGPREFIX).get(),
-                p.getProperty(TabConstants.Property.TAGSUFFIX).get(),
+                p.getProperty(PropertyKey.TAGPREFIX).get(),
+                p.getProperty(PropertyKey.TAGSUFFIX).get(),
                 getTeamVisibility(p, p) ? NameVisibility.ALWAYS : NameVisibility.NEVER);
     }
 
     public void updateTeamData(@NonNull TabPlayer p, @NonNull TabPlayer viewer) {
         boolean visible = getTeamVisibility(p, viewer);
-        String currentPrefix = p.getProperty(TabConstants.Property.TAGPREFIX).getFormat(viewer);
-        String currentSuffix = p.getProperty(TabConstants.Property.TAGSUFFIX).getFormat(viewer);
+        String currentPrefix = p.getProperty(PropertyKey.TAGPREFIX).getFormat(viewer);
+        String currentSuffix = p.getProperty(PropertyKey.TAGSUFFIX).getFormat(viewer);
         viewer.getScoreboard().updateTeam(
                 sorting.getShortTeamName(p),
                 currentPrefix,
@@ -257,8 +258,8 @@ public class NameTag extends TabFeature implements NameTagManager, JoinListener,
 
     private void registerTeam(@NonNull TabPlayer p, @NonNull TabPlayer viewer) {
         if (hasTeamHandlingPaused(p)) return;
-        String replacedPrefix = p.getProperty(TabConstants.Property.TAGPREFIX).getFormat(viewer);
-        String replacedSuffix = p.getProperty(TabConstants.Property.TAGSUFFIX).getFormat(viewer);
+        String replacedPrefix = p.getProperty(PropertyKey.TAGPREFIX).getFormat(viewer);
+        String replacedSuffix = p.getProperty(PropertyKey.TAGSUFFIX).getFormat(viewer);
         viewer.getScoreboard().registerTeam(
                 sorting.getShortTeamName(p),
                 replacedPrefix,
@@ -271,8 +272,8 @@ public class NameTag extends TabFeature implements NameTagManager, JoinListener,
     }
 
     protected boolean updateProperties(@NonNull TabPlayer p) {
-        boolean changed = p.loadPropertyFromConfig(this, TabConstants.Property.TAGPREFIX);
-        if (p.loadPropertyFromConfig(this, TabConstants.Property.TAGSUFFIX)) changed = true;
+        boolean changed = p.loadPropertyFromConfig(this, PropertyKey.TAGPREFIX);
+        if (p.loadPropertyFromConfig(this, PropertyKey.TAGSUFFIX)) changed = true;
         return changed;
     }
 
@@ -284,39 +285,39 @@ public class NameTag extends TabFeature implements NameTagManager, JoinListener,
     @Override
     public void setPrefix(@NonNull me.neznamy.tab.api.TabPlayer player, @Nullable String prefix) {
         Preconditions.checkLoaded(player);
-        ((TabPlayer)player).getProperty(TabConstants.Property.TAGPREFIX).setTemporaryValue(prefix);
+        ((TabPlayer)player).getProperty(PropertyKey.TAGPREFIX).setTemporaryValue(prefix);
         updateTeamData((TabPlayer) player);
     }
 
     @Override
     public void setSuffix(@NonNull me.neznamy.tab.api.TabPlayer player, @Nullable String suffix) {
         Preconditions.checkLoaded(player);
-        ((TabPlayer)player).getProperty(TabConstants.Property.TAGSUFFIX).setTemporaryValue(suffix);
+        ((TabPlayer)player).getProperty(PropertyKey.TAGSUFFIX).setTemporaryValue(suffix);
         updateTeamData((TabPlayer) player);
     }
 
     @Override
     public String getCustomPrefix(@NonNull me.neznamy.tab.api.TabPlayer player) {
         Preconditions.checkLoaded(player);
-        return ((TabPlayer)player).getProperty(TabConstants.Property.TAGPREFIX).getTemporaryValue();
+        return ((TabPlayer)player).getProperty(PropertyKey.TAGPREFIX).getTemporaryValue();
     }
 
     @Override
     public String getCustomSuffix(@NonNull me.neznamy.tab.api.TabPlayer player) {
         Preconditions.checkLoaded(player);
-        return ((TabPlayer)player).getProperty(TabConstants.Property.TAGSUFFIX).getTemporaryValue();
+        return ((TabPlayer)player).getProperty(PropertyKey.TAGSUFFIX).getTemporaryValue();
     }
 
     @Override
     public @NonNull String getOriginalPrefix(@NonNull me.neznamy.tab.api.TabPlayer player) {
         Preconditions.checkLoaded(player);
-        return ((TabPlayer)player).getProperty(TabConstants.Property.TAGPREFIX).getOriginalRawValue();
+        return ((TabPlayer)player).getProperty(PropertyKey.TAGPREFIX).getOriginalRawValue();
     }
 
     @Override
     public @NonNull String getOriginalSuffix(@NonNull me.neznamy.tab.api.TabPlayer player) {
         Preconditions.checkLoaded(player);
-        return ((TabPlayer)player).getProperty(TabConstants.Property.TAGSUFFIX).getOriginalRawValue();
+        return ((TabPlayer)player).getProperty(PropertyKey.TAGSUFFIX).getOriginalRawValue();
     }
 
     @Override
@@ -7,6 +7,7 @@ import me.neznamy.tab.shared.features.types.DisableChecker;
 import me.neznamy.tab.shared.placeholders.conditions.Condition;
 import me.neznamy.tab.shared.util.Preconditions;
 import me.neznamy.tab.shared.platform.TabPlayer;
+import me.neznamy.tab.shared.PropertyKey;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.features.nametags.NameTag;
@@ -31,9 +32,15 @@ public abstract class NameTagX extends NameTag implements UnlimitedNameTagManage
     private final BiFunction<NameTagX, TabPlayer, ArmorStandManager> armorStandFunction;
     @Getter private final DisableChecker unlimitedDisableChecker;
 
+    /** Keys of configured lines loaded from config, excluding nametag line, which is built from prefix, name and suffix */
+    private final List<PropertyKey> lineProperties = new ArrayList<>();
+
     public NameTagX(@NonNull BiFunction<NameTagX, TabPlayer, ArmorStandManager> armorStandFunction) {
         this.armorStandFunction = armorStandFunction;
         Collections.reverse(dynamicLines);
+        for (String line : getDefinedLines()) {
+            if (!line.equals(TabConstants.Property.NAMETAG)) lineProperties.add(PropertyKey.of(line));
+        }
         Condition disableCondition = Condition.getCondition(TAB.getInstance().getConfig().getString("scoreboard-teams.unlimited-nametag-mode.disable-condition"));
         unlimitedDisableChecker = new DisableChecker(featureName, disableCondition, this::onUnlimitedDisableConditionChange);
         TAB.getInstance().getFeatureManager().registerFeature(TabConstants.Feature.UNLIMITED_NAME_TAGS + "-Condition", unlimitedDisableChecker);
@@ -118,14 +125,11 @@ public abstract class NameTagX extends NameTag implements UnlimitedNameTagManage
     @Override
     public boolean updateProperties(@NonNull TabPlayer p) {
         boolean changed = super.updateProperties(p);
-        if (p.loadPropertyFromConfig(this, TabConstants.Property.CUSTOMTAGNAME, p.getName())) changed = true;
-        if (p.setProperty(this, TabConstants.Property.NAMETAG, p.getProperty(TabConstants.Property.TAGPREFIX).getCurrentRawValue() +
-                p.getProperty(TabConstants.Property.CUSTOMTAGNAME).getCurrentRawValue() + p.getProperty(TabConstants.Property.TAGSUFFIX).getCurrentRawValue())) changed = true;
-        for (String property : dynamicLines) {
-            if (!property.equals(TabConstants.Property.NAMETAG) && p.loadPropertyFromConfig(this, property)) changed = true;
-        }
-        for (String property : staticLines.keySet()) {
-            if (!property.equals(TabConstants.Property.NAMETAG) && p.loadPropertyFromConfig(this, property)) changed = true;
+        if (p.loadPropertyFromConfig(this, PropertyKey.CUSTOMTAGNAME, p.getName())) changed = true;
+        if (p.setProperty(this, PropertyKey.NAMETAG, p.getProperty(PropertyKey.TAGPREFIX).getCurrentRawValue() +
+                p.getProperty(PropertyKey.CUSTOMTAGNAME).getCurrentRawValue() + p.getProperty(PropertyKey.TAGSUFFIX).getCurrentRawValue())) changed = true;
+        for (PropertyKey property : lineProperties) {
+            if (p.loadPropertyFromConfig(this, property)) changed = true;
         }
         return changed;
     }
@@ -193,7 +197,7 @@ public abstract class NameTagX extends NameTag implements UnlimitedNameTagManage
     @Override
     public void setName(@NonNull me.neznamy.tab.api.TabPlayer player, @Nullable String customName) {
         Preconditions.checkLoaded(player);
-        ((TabPlayer)player).getProperty(TabConstants.Property.CUSTOMTAGNAME).setTemporaryValue(customName);
+        ((TabPlayer)player).getProperty(PropertyKey.CUSTOMTAGNAME).setTemporaryValue(customName);
         rebuildNameTagLine((TabPlayer) player);
         getArmorStandManager((TabPlayer) player).refresh(true);
     }
@@ -209,7 +213,7 @@ public abstract class NameTagX extends NameTag implements UnlimitedNameTagManage
     @Override
     public String getCustomName(me.neznamy.tab.api.@NonNull TabPlayer player) {
         Preconditions.checkLoaded(player);
-        return ((TabPlayer)player).getProperty(TabConstants.Property.CUSTOMTAGNAME).getTemporaryValue();
+        return ((TabPlayer)player).getProperty(PropertyKey.CUSTOMTAGNAME).getTemporaryValue();
     }
 
     @Override
@@ -221,7 +225,7 @@ public abstract class NameTagX extends NameTag implements UnlimitedNameTagManage
     @Override
     public @NotNull String getOriginalName(me.neznamy.tab.api.@NonNull TabPlayer player) {
         Preconditions.checkLoaded(player);
-        return ((TabPlayer)player).getProperty(TabConstants.Property.CUSTOMTAGNAME).getOriginalRawValue();
+        return ((TabPlayer)player).getProperty(PropertyKey.CUSTOMTAGNAME).getOriginalRawValue();
     }
 
     @Override
@@ -238,8 +242,8 @@ public abstract class NameTagX extends NameTag implements UnlimitedNameTagManage
     }
 
     private void rebuildNameTagLine(@NonNull TabPlayer player) {
-        player.setProperty(this, TabConstants.Property.NAMETAG, player.getProperty(TabConstants.Property.TAGPREFIX).getCurrentRawValue() +
-                player.getProperty(TabConstants.Property.CUSTOMTAGNAME).getCurrentRawValue() + player.getProperty(TabConstants.Property.TAGSUFFIX).getCurrentRawValue());
+        player.setProperty(this, PropertyKey.NAMETAG, player.getProperty(PropertyKey.TAGPREFIX).getCurrentRawValue() +
+                player.getProperty(PropertyKey.CUSTOMTAGNAME).getCurrentRawValue() + player.getProperty(PropertyKey.TAGSUFFIX).getCurrentRawValue());
     }
 
     /* TeamManager override */
@@ -3,6 +3,8 @@ package me.neznamy.tab.shared.features.redis;
 import com.google.common.io.ByteArrayDataInput;
 import com.google.common.io.ByteArrayDataOutput;
 import com.google.common.io.ByteStreams;
+import lombok.AccessLevel;
+import lombok.Data;
 import lombok.Getter;
 import me.neznamy.tab.api.event.EventHandler;
 import me.neznamy.tab.shared.TAB;
@@ -31,6 +33,12 @@ import java.util.function.Supplier;
 public abstract class RedisSupport extends TabFeature implements JoinListener, QuitListener,
         DisplayNameListener, Loadable, UnLoadable, ServerSwitchListener {
 
+    /** Version of message framing, messages with different version are ignored */
+    private static final byte FRAME_VERSION = 3;
+
+    /** Delay in milliseconds between first queued message and sending the batch */
+    private static final int FLUSH_DELAY_MILLIS = 50;
+
     @NotNull private final String featureName = "RedisSupport";
 
     /** Redis players on other proxies by their UUID */
@@ -38,6 +46,8 @@ public abstract class RedisSupport extends TabFeature implements JoinListener, Q
 
     /** UUID of this proxy to ignore messages coming from the same proxy */
     @NotNull private final UUID proxy = UUID.randomUUID();
+    @Getter(AccessLevel.NONE) private final long proxyMost = proxy.getMostSignificantBits();
+    @Getter(AccessLevel.NONE) private final long proxyLeast = proxy.getLeastSignificantBits();
 
     /** Features this one hooks into */
     @NotNull private final List<RedisFeature> features = new ArrayList<>();
@@ -50,6 +60,12 @@ public abstract class RedisSupport extends TabFeature implements JoinListener, Q
     @NotNull private final Map<String, Supplier<RedisMessage>> messages = new HashMap<>();
     @NotNull private final Map<Class<? extends RedisMessage>, String> classStringMap = new HashMap<>();
 
+    /** Messages waiting to be sent, coalesced messages are keyed by {@link CoalesceKey} */
+    @Getter(AccessLevel.NONE) private final Map<Object, RedisMessage> pendingMessages = new LinkedHashMap<>();
+
+    /** Flag tracking whether a flush task is already scheduled */
+    @Getter(AccessLevel.NONE) private boolean flushScheduled;
+
     public RedisSupport() {
         registerMessage("load", Load.class, Load::new);
         registerMessage("loadrequest", LoadRequest.class, LoadRequest::new);
@@ -80,20 +96,29 @@ public abstract class RedisSupport extends TabFeature implements JoinListener, Q
     }
 
     /**
-     * Processes incoming redis message
+     * Processes incoming redis message. Every message in the batch is prefixed
+     * with its length, so messages of features disabled on this proxy are skipped.
      *
      * @param   msg
-     *          json message to process
+     *          encoded batch of messages to process
      */
     public void processMessage(@NotNull String msg) {
         TAB.getInstance().getCPUManager().runMeasuredTask(featureName, TabConstants.CpuUsageCategory.REDIS_BUNGEE_MESSAGE, () -> {
             ByteArrayDataInput in = ByteStreams.newDataInput(Base64.getDecoder().decode(msg));
-            String proxy = in.readUTF();
-            if (proxy.equals(this.proxy.toString())) return; // Message coming from current proxy
-            String action = in.readUTF();
-            RedisMessage redisMessage = messages.get(action).get();
-            redisMessage.read(in);
-            redisMessage.process(this);
+            if (in.readByte() != FRAME_VERSION) return; // Message from a proxy running a different version
+            long most = in.readLong();
+            long least = in.readLong();
+            if (most == proxyMost && least == proxyLeast) return; // Message coming from current proxy
+            int count = in.readInt();
+            for (int i=0; i<count; i++) {
+                Supplier<RedisMessage> supplier = messages.get(in.readUTF());
+                byte[] content = new byte[in.readInt()];
+                in.readFully(content);
+                if (supplier == null) continue; // Feature disabled on this proxy
+                RedisMessage redisMessage = supplier.get();
+                redisMessage.read(ByteStreams.newDataInput(content));
+                redisMessage.process(this);
+            }
         });
     }
 
@@ -164,6 +189,7 @@ public abstract class RedisSupport extends TabFeature implements JoinListener, Q
     public void unload() {
         for (TabPlayer p : TAB.getInstance().getOnlinePlayers()) onQuit(p);
         TAB.getInstance().getEventBus().unregister(eventHandler);
+        flush();
         unregister();
     }
 
@@ -195,11 +221,52 @@ public abstract class RedisSupport extends TabFeature implements JoinListener, Q
         return null;
     }
 
+    /**
+     * Queues message to be sent to all proxies. Messages queued shortly after each
+     * other are sent together in a single batch. If a message carrying a value of the
+     * same player is already queued, it is replaced by the new one.
+     *
+     * @param   message
+     *          message to send
+     */
     public void sendMessage(@NotNull RedisMessage message) {
+        UUID coalesceKey = message.getCoalesceKey();
+        Object key = coalesceKey == null ? message : new CoalesceKey(message.getClass(), coalesceKey);
+        synchronized (pendingMessages) {
+            // Remove first to move the message to the end and keep order with other messages
+            pendingMessages.remove(key);
+            pendingMessages.put(key, message);
+            if (flushScheduled) return;
+            flushScheduled = true;
+        }
+        TAB.getInstance().getCPUManager().runTaskLater(FLUSH_DELAY_MILLIS, featureName,
+                TabConstants.CpuUsageCategory.REDIS_BUNGEE_FLUSH, this::flush);
+    }
+
+    /**
+     * Sends all queued messages to other proxies in a single batch
+     */
+    public void flush() {
+        List<RedisMessage> batch;
+        synchronized (pendingMessages) {
+            flushScheduled = false;
+            if (pendingMessages.isEmpty()) return;
+            batch = new ArrayList<>(pendingMessages.values());
+            pendingMessages.clear();
+        }
         ByteArrayDataOutput out = ByteStreams.newDataOutput();
-        out.writeUTF(proxy.toString());
-        out.writeUTF(classStringMap.get(message.getClass()));
-        message.write(out);
+        out.writeByte(FRAME_VERSION);
+        out.writeLong(proxyMost);
+        out.writeLong(proxyLeast);
+        out.writeInt(batch.size());
+        for (RedisMessage message : batch) {
+            ByteArrayDataOutput content = ByteStreams.newDataOutput();
+            message.write(content);
+            byte[] bytes = content.toByteArray();
+            out.writeUTF(classStringMap.get(message.getClass()));
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
         sendMessage(Base64.getEncoder().encodeToString(out.toByteArray()));
     }
 
@@ -207,4 +274,14 @@ public abstract class RedisSupport extends TabFeature implements JoinListener, Q
         messages.put(name, supplier);
         classStringMap.put(clazz, name);
     }
-}
\ No newline at end of file
+
+    /**
+     * Key of a queued message which is replaced by newer messages of the same type for the same player
+     */
+    @Data
+    private static class CoalesceKey {
+
+        @NotNull private final Class<? extends RedisMessage> type;
+        @NotNull private final UUID playerId;
+    }
+}
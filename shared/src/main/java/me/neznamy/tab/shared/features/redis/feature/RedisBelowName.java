@@ -6,7 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import me.neznamy.tab.shared.TAB;
-import me.neznamy.tab.shared.TabConstants;
+import me.neznamy.tab.shared.PropertyKey;
 import me.neznamy.tab.shared.features.BelowName;
 import me.neznamy.tab.shared.features.redis.RedisPlayer;
 import me.neznamy.tab.shared.features.redis.RedisSupport;
@@ -60,7 +60,7 @@ public class RedisBelowName extends RedisFeature {
     @Override
     public void write(@NotNull ByteArrayDataOutput out, @NotNull TabPlayer player) {
         out.writeInt(TAB.getInstance().getErrorManager().parseInteger(
-                player.getProperty(TabConstants.Property.BELOWNAME_NUMBER).get(), 0));
+                player.getProperty(PropertyKey.BELOWNAME_NUMBER).get(), 0));
     }
 
     @Override
@@ -75,6 +75,11 @@ public class RedisBelowName extends RedisFeature {
         private UUID playerId;
         private int value;
 
+        @Override
+        public @NotNull UUID getCoalesceKey() {
+            return playerId;
+        }
+
         @Override
         public void write(@NotNull ByteArrayDataOutput out) {
             writeUUID(out, playerId);
@@ -6,7 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import me.neznamy.tab.shared.TAB;
-import me.neznamy.tab.shared.TabConstants;
+import me.neznamy.tab.shared.PropertyKey;
 import me.neznamy.tab.shared.chat.IChatBaseComponent;
 import me.neznamy.tab.shared.features.PlayerList;
 import me.neznamy.tab.shared.features.redis.RedisPlayer;
@@ -62,9 +62,9 @@ public class RedisPlayerList extends RedisFeature {
 
     @Override
     public void write(@NotNull ByteArrayDataOutput out, @NotNull TabPlayer player) {
-        out.writeUTF(player.getProperty(TabConstants.Property.TABPREFIX).get() +
-                player.getProperty(TabConstants.Property.CUSTOMTABNAME).get() +
-                player.getProperty(TabConstants.Property.TABSUFFIX).get());
+        out.writeUTF(player.getProperty(PropertyKey.TABPREFIX).get() +
+                player.getProperty(PropertyKey.CUSTOMTABNAME).get() +
+                player.getProperty(PropertyKey.TABSUFFIX).get());
     }
 
     @Override
@@ -83,6 +83,11 @@ public class RedisPlayerList extends RedisFeature {
         private UUID playerId;
         private String format;
 
+        @Override
+        public @NotNull UUID getCoalesceKey() {
+            return playerId;
+        }
+
         @Override
         public void write(@NotNull ByteArrayDataOutput out) {
             writeUUID(out, playerId);
@@ -6,7 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import me.neznamy.tab.shared.TAB;
-import me.neznamy.tab.shared.TabConstants;
+import me.neznamy.tab.shared.PropertyKey;
 import me.neznamy.tab.shared.features.nametags.NameTag;
 import me.neznamy.tab.shared.features.redis.RedisPlayer;
 import me.neznamy.tab.shared.features.redis.RedisSupport;
@@ -71,8 +71,8 @@ public class RedisTeams extends RedisFeature {
     @Override
     public void write(@NotNull ByteArrayDataOutput out, @NotNull TabPlayer player) {
         out.writeUTF(nameTags.getSorting().getShortTeamName(player));
-        out.writeUTF(player.getProperty(TabConstants.Property.TAGPREFIX).get());
-        out.writeUTF(player.getProperty(TabConstants.Property.TAGSUFFIX).get());
+        out.writeUTF(player.getProperty(PropertyKey.TAGPREFIX).get());
+        out.writeUTF(player.getProperty(PropertyKey.TAGSUFFIX).get());
         out.writeUTF((nameTags.getTeamVisibility(player, player) ? NameVisibility.ALWAYS : NameVisibility.NEVER).toString());
     }
 
@@ -112,6 +112,11 @@ public class RedisTeams extends RedisFeature {
         private String suffix;
         private NameVisibility nameVisibility;
 
+        @Override
+        public @NotNull UUID getCoalesceKey() {
+            return playerId;
+        }
+
         @Override
         public void write(@NotNull ByteArrayDataOutput out) {
             writeUUID(out, playerId);
@@ -5,7 +5,7 @@ import com.google.common.io.ByteArrayDataOutput;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import me.neznamy.tab.shared.TAB;
-import me.neznamy.tab.shared.TabConstants;
+import me.neznamy.tab.shared.PropertyKey;
 import me.neznamy.tab.shared.features.YellowNumber;
 import me.neznamy.tab.shared.features.redis.RedisPlayer;
 import me.neznamy.tab.shared.features.redis.RedisSupport;
@@ -59,7 +59,7 @@ public class RedisYellowNumber extends RedisFeature {
     @Override
     public void write(@NotNull ByteArrayDataOutput out, @NotNull TabPlayer player) {
         out.writeInt(TAB.getInstance().getErrorManager().parseInteger(
-                player.getProperty(TabConstants.Property.YELLOW_NUMBER).get(), 0));
+                player.getProperty(PropertyKey.YELLOW_NUMBER).get(), 0));
     }
 
     @Override
@@ -74,6 +74,11 @@ public class RedisYellowNumber extends RedisFeature {
         private UUID playerId;
         private int value;
 
+        @Override
+        public @NotNull UUID getCoalesceKey() {
+            return playerId;
+        }
+
         @Override
         public void write(@NotNull ByteArrayDataOutput out) {
             writeUUID(out, playerId);
@@ -4,6 +4,7 @@ import com.google.common.io.ByteArrayDataInput;
 import com.google.common.io.ByteArrayDataOutput;
 import me.neznamy.tab.shared.features.redis.RedisSupport;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.UUID;
 
@@ -18,6 +19,17 @@ public abstract class RedisMessage {
         return new UUID(in.readLong(), in.readLong());
     }
 
+    /**
+     * Returns ID of player whose value this message carries. Queued messages of the
+     * same type with the same ID are coalesced and only the latest one is sent.
+     * Returns {@code null} for messages which must always be sent.
+     *
+     * @return  ID of player to coalesce messages by or {@code null} if not coalesced
+     */
+    public @Nullable UUID getCoalesceKey() {
+        return null;
+    }
+
     public abstract void write(@NotNull ByteArrayDataOutput out);
 
     public abstract void read(@NotNull ByteArrayDataInput in);
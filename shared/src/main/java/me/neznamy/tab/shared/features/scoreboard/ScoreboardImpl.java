@@ -2,6 +2,7 @@ package me.neznamy.tab.shared.features.scoreboard;
 
 import lombok.Getter;
 import lombok.NonNull;
+import me.neznamy.tab.shared.PropertyKey;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.features.types.Refreshable;
 import me.neznamy.tab.shared.features.types.TabFeature;
@@ -42,7 +43,10 @@ public class ScoreboardImpl extends TabFeature implements me.neznamy.tab.api.sco
     //players currently seeing this scoreboard
     @Getter private final Set<TabPlayer> players = Collections.newSetFromMap(new WeakHashMap<>());
 
-    private final String titleProperty;
+    private final PropertyKey titleProperty;
+
+    //whether property keys are allocated and released on unregister instead of registered permanently (scoreboards created via API)
+    private final boolean temporary;
 
     /**
      * Constructs new instance with given parameters and registers lines to feature manager
@@ -84,7 +88,8 @@ public class ScoreboardImpl extends TabFeature implements me.neznamy.tab.api.sco
         this.manager = manager;
         this.name = name;
         this.title = title;
-        this.titleProperty = getName() + "-" + TabConstants.Property.SCOREBOARD_TITLE;
+        temporary = dynamicLinesOnly;
+        titleProperty = createPropertyKey(getName() + "-" + TabConstants.Property.SCOREBOARD_TITLE);
         for (int i=0; i<lines.size(); i++) {
             ScoreboardLine score;
             if (dynamicLinesOnly) {
@@ -152,6 +157,41 @@ public class ScoreboardImpl extends TabFeature implements me.neznamy.tab.api.sco
             removePlayer(all);
         }
         players.clear();
+        releasePropertyKeys(Collections.singletonList(titleProperty));
+        for (Line line : lines) {
+            ((ScoreboardLine)line).releaseProperties();
+        }
+    }
+
+    /**
+     * Creates property key with given name. Scoreboards created via API allocate
+     * the key, which is released once no longer used, others register it.
+     *
+     * @param   name
+     *          property name
+     * @return  property key with given name
+     */
+    public @NotNull PropertyKey createPropertyKey(@NonNull String name) {
+        return temporary ? PropertyKey.allocate(name) : PropertyKey.of(name);
+    }
+
+    /**
+     * Removes given properties from all online players and releases their keys
+     * if they were allocated.
+     *
+     * @param   keys
+     *          property keys to release
+     */
+    public void releasePropertyKeys(@NonNull Collection<PropertyKey> keys) {
+        if (!temporary) return;
+        for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
+            for (PropertyKey key : keys) {
+                all.removeProperty(key);
+            }
+        }
+        for (PropertyKey key : keys) {
+            PropertyKey.release(key);
+        }
     }
 
     public void removePlayer(@NonNull TabPlayer p) {
@@ -202,6 +242,7 @@ public class ScoreboardImpl extends TabFeature implements me.neznamy.tab.api.sco
             recalculateScores(p);
         }
         TAB.getInstance().getFeatureManager().unregisterFeature(TabConstants.Feature.scoreboardLine(name, index));
+        line.releaseProperties();
     }
 
     public void recalculateScores(@NonNull TabPlayer p) {
@@ -214,7 +255,8 @@ public class ScoreboardImpl extends TabFeature implements me.neznamy.tab.api.sco
                 score++;
                 continue;
             }
-            if (line instanceof StaticLine || p.getProperty(getName() + "-" + ((ScoreboardLine)line).getTeamName()).get().length() > 0) {
+            PropertyKey textProperty = ((ScoreboardLine)line).getTextProperty();
+            if (textProperty == null || p.getProperty(textProperty).get().length() > 0) {
                 p.getScoreboard().setScore(ScoreboardManagerImpl.OBJECTIVE_NAME, ((ScoreboardLine)line).getPlayerName(p), score++);
             }
         }
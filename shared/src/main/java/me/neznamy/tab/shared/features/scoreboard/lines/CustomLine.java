@@ -4,6 +4,7 @@ import lombok.Getter;
 import lombok.NonNull;
 import me.neznamy.tab.shared.platform.Scoreboard;
 import me.neznamy.tab.shared.platform.TabPlayer;
+import me.neznamy.tab.shared.PropertyKey;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.features.types.Refreshable;
 import me.neznamy.tab.shared.features.scoreboard.ScoreboardImpl;
@@ -31,6 +32,11 @@ public class CustomLine extends ScoreboardLine implements Refreshable {
     //configured score
     private final int score;
 
+    //properties storing prefix, name and suffix of this line for each player
+    private final PropertyKey prefixProperty;
+    private final PropertyKey nameProperty;
+    private final PropertyKey suffixProperty;
+
     /**
      * Constructs new instance with given parameters
      *
@@ -54,27 +60,30 @@ public class CustomLine extends ScoreboardLine implements Refreshable {
         this.name = name;
         this.suffix = suffix;
         this.score = score;
+        prefixProperty = createPropertyKey(TabConstants.Property.scoreboardPrefix(parent.getName(), lineNumber));
+        nameProperty = createPropertyKey(TabConstants.Property.scoreboardName(parent.getName(), lineNumber));
+        suffixProperty = createPropertyKey(TabConstants.Property.scoreboardSuffix(parent.getName(), lineNumber));
     }
 
     @Override
     public void refresh(@NotNull TabPlayer refreshed, boolean force) {
         if (!parent.getPlayers().contains(refreshed)) return; //player has different scoreboard displayed
-        String oldName = refreshed.getProperty(TabConstants.Property.scoreboardName(parent.getName(), lineNumber)).get();
-        boolean prefixUpdate = refreshed.getProperty(TabConstants.Property.scoreboardPrefix(parent.getName(), lineNumber)).update();
-        boolean nameUpdate = refreshed.getProperty(TabConstants.Property.scoreboardName(parent.getName(), lineNumber)).update();
-        boolean suffixUpdate = refreshed.getProperty(TabConstants.Property.scoreboardSuffix(parent.getName(), lineNumber)).update();
+        String oldName = refreshed.getProperty(nameProperty).get();
+        boolean prefixUpdate = refreshed.getProperty(prefixProperty).update();
+        boolean nameUpdate = refreshed.getProperty(nameProperty).update();
+        boolean suffixUpdate = refreshed.getProperty(suffixProperty).update();
         if (prefixUpdate || nameUpdate || suffixUpdate) {
             if (nameUpdate) {
                 //name changed as well
                 removeLine(refreshed, oldName);
-                addLine(refreshed, refreshed.getProperty(TabConstants.Property.scoreboardName(parent.getName(), lineNumber)).get(),
-                        refreshed.getProperty(TabConstants.Property.scoreboardPrefix(parent.getName(), lineNumber)).get(), refreshed.getProperty(TabConstants.Property.scoreboardSuffix(parent.getName(), lineNumber)).get());
+                addLine(refreshed, refreshed.getProperty(nameProperty).get(),
+                        refreshed.getProperty(prefixProperty).get(), refreshed.getProperty(suffixProperty).get());
             } else {
                 //only prefix/suffix changed
                 refreshed.getScoreboard().updateTeam(
                         teamName,
-                        refreshed.getProperty(TabConstants.Property.scoreboardPrefix(parent.getName(), lineNumber)).get(),
-                        refreshed.getProperty(TabConstants.Property.scoreboardSuffix(parent.getName(), lineNumber)).get(),
+                        refreshed.getProperty(prefixProperty).get(),
+                        refreshed.getProperty(suffixProperty).get(),
                         Scoreboard.NameVisibility.ALWAYS,
                         Scoreboard.CollisionRule.ALWAYS,
                         0
@@ -85,17 +94,17 @@ public class CustomLine extends ScoreboardLine implements Refreshable {
 
     @Override
     public void register(@NonNull TabPlayer p) {
-        p.setProperty(this, TabConstants.Property.scoreboardPrefix(parent.getName(), lineNumber), prefix);
-        p.setProperty(this, TabConstants.Property.scoreboardName(parent.getName(), lineNumber), name);
-        p.setProperty(this, TabConstants.Property.scoreboardSuffix(parent.getName(), lineNumber), suffix);
-        addLine(p, p.getProperty(TabConstants.Property.scoreboardName(parent.getName(), lineNumber)).get(), p.getProperty(TabConstants.Property.scoreboardPrefix(parent.getName(), lineNumber)).get(),
-                p.getProperty(TabConstants.Property.scoreboardSuffix(parent.getName(), lineNumber)).get());
+        p.setProperty(this, prefixProperty, prefix);
+        p.setProperty(this, nameProperty, name);
+        p.setProperty(this, suffixProperty, suffix);
+        addLine(p, p.getProperty(nameProperty).get(), p.getProperty(prefixProperty).get(),
+                p.getProperty(suffixProperty).get());
     }
 
     @Override
     public void unregister(@NonNull TabPlayer p) {
         if (parent.getPlayers().contains(p)) {
-            removeLine(p, p.getProperty(TabConstants.Property.scoreboardName(parent.getName(), lineNumber)).get());
+            removeLine(p, p.getProperty(nameProperty).get());
         }
     }
 
@@ -2,6 +2,7 @@ package me.neznamy.tab.shared.features.scoreboard.lines;
 
 import lombok.Getter;
 import lombok.NonNull;
+import me.neznamy.tab.shared.PropertyKey;
 import me.neznamy.tab.shared.chat.rgb.RGBUtils;
 import me.neznamy.tab.shared.platform.Scoreboard;
 import me.neznamy.tab.shared.platform.TabPlayer;
@@ -17,8 +18,8 @@ public class LongLine extends ScoreboardLine implements Refreshable {
 
     @Getter private final String featureName = "Scoreboard";
     @Getter private final String refreshDisplayName = "Updating Scoreboard lines";
-    private final String textProperty;
-    private final String nameProperty;
+    @Getter private final PropertyKey textProperty;
+    private final PropertyKey nameProperty;
 
     /**
      * Constructs new instance with given parameters
@@ -33,8 +34,8 @@ public class LongLine extends ScoreboardLine implements Refreshable {
     public LongLine(@NonNull ScoreboardImpl parent, int lineNumber, @NonNull String text) {
         super(parent, lineNumber);
         this.text = text;
-        nameProperty = TabConstants.Property.scoreboardName(parent.getName(), lineNumber);
-        textProperty = parent.getName() + "-" + teamName;
+        textProperty = createPropertyKey(parent.getName() + "-" + teamName);
+        nameProperty = createPropertyKey(TabConstants.Property.scoreboardName(parent.getName(), lineNumber));
     }
 
     @Override
@@ -2,6 +2,7 @@ package me.neznamy.tab.shared.features.scoreboard.lines;
 
 import lombok.Getter;
 import lombok.NonNull;
+import me.neznamy.tab.shared.PropertyKey;
 import me.neznamy.tab.shared.chat.EnumChatFormat;
 import me.neznamy.tab.api.scoreboard.Line;
 import me.neznamy.tab.shared.features.types.TabFeature;
@@ -10,7 +11,12 @@ import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.features.scoreboard.ScoreboardImpl;
 import me.neznamy.tab.shared.features.scoreboard.ScoreboardManagerImpl;
 
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.WeakHashMap;
 
@@ -36,6 +42,9 @@ public abstract class ScoreboardLine extends TabFeature implements Line {
     //forced player name start to make lines unique & sort them by names
     @Getter protected final String playerName;
 
+    //property keys created by this line, released when the line is removed
+    private final List<PropertyKey> propertyKeys = new ArrayList<>();
+
     private final Set<TabPlayer> shownPlayers = Collections.newSetFromMap(new WeakHashMap<>());
     
     /**
@@ -52,6 +61,38 @@ public abstract class ScoreboardLine extends TabFeature implements Line {
         teamName = "TAB-SB-TM-" + lineNumber;
         playerName = getPlayerName(lineNumber);
     }
+
+    /**
+     * Creates property key with given name using the parent scoreboard and
+     * remembers it, so it can be released once this line is removed.
+     *
+     * @param   name
+     *          property name
+     * @return  property key with given name
+     */
+    protected @NotNull PropertyKey createPropertyKey(@NonNull String name) {
+        PropertyKey key = parent.createPropertyKey(name);
+        propertyKeys.add(key);
+        return key;
+    }
+
+    /**
+     * Returns property storing text of this line for each player or {@code null}
+     * if this line type does not use one.
+     *
+     * @return  property storing text of this line or {@code null}
+     */
+    public @Nullable PropertyKey getTextProperty() {
+        return null;
+    }
+
+    /**
+     * Removes properties of this line from all online players and releases
+     * their keys if they were allocated.
+     */
+    public void releaseProperties() {
+        parent.releasePropertyKeys(propertyKeys);
+    }
     
     /**
      * Registers this line to the player
@@ -3,6 +3,7 @@ package me.neznamy.tab.shared.features.scoreboard.lines;
 import lombok.Getter;
 import lombok.NonNull;
 import me.neznamy.tab.shared.Property;
+import me.neznamy.tab.shared.PropertyKey;
 import me.neznamy.tab.shared.chat.EnumChatFormat;
 import me.neznamy.tab.shared.chat.rgb.RGBUtils;
 import me.neznamy.tab.shared.features.types.Refreshable;
@@ -22,6 +23,7 @@ public class StableDynamicLine extends ScoreboardLine implements Refreshable {
     private final String[] EMPTY_ARRAY = new String[0];
     @Getter private final String featureName = "Scoreboard";
     @Getter private final String refreshDisplayName = "Updating Scoreboard lines";
+    @Getter private final PropertyKey textProperty;
 
     /**
      * Constructs new instance with given parameters
@@ -36,6 +38,7 @@ public class StableDynamicLine extends ScoreboardLine implements Refreshable {
     public StableDynamicLine(@NonNull ScoreboardImpl parent, int lineNumber, @NonNull String text) {
         super(parent, lineNumber);
         this.text = text;
+        textProperty = createPropertyKey(parent.getName() + "-" + teamName);
     }
 
     @Override
@@ -49,7 +52,7 @@ public class StableDynamicLine extends ScoreboardLine implements Refreshable {
 
     @Override
     public void register(@NonNull TabPlayer p) {
-        p.setProperty(this, parent.getName() + "-" + teamName, text);
+        p.setProperty(this, textProperty, text);
         String[] prefixSuffix = replaceText(p, true, true);
         if (prefixSuffix.length == 0) return;
         addLine(p, getPlayerName(), prefixSuffix[0], prefixSuffix[1]);
@@ -57,7 +60,7 @@ public class StableDynamicLine extends ScoreboardLine implements Refreshable {
 
     @Override
     public void unregister(@NonNull TabPlayer p) {
-        if (parent.getPlayers().contains(p) && p.getProperty(parent.getName() + "-" + teamName).get().length() > 0) {
+        if (parent.getPlayers().contains(p) && p.getProperty(textProperty).get().length() > 0) {
             removeLine(p, getPlayerName());
         }
     }
@@ -75,7 +78,7 @@ public class StableDynamicLine extends ScoreboardLine implements Refreshable {
      * @return  list of 2 elements for prefix/suffix
      */
     private String[] replaceText(TabPlayer p, boolean force, boolean suppressToggle) {
-        Property scoreProperty = p.getProperty(parent.getName() + "-" + teamName);
+        Property scoreProperty = p.getProperty(textProperty);
         if (scoreProperty == null) return EMPTY_ARRAY; //not actually loaded yet (force refresh called from placeholder manager register method)
         boolean emptyBefore = scoreProperty.get().length() == 0;
         if (!scoreProperty.update() && !force) return EMPTY_ARRAY;
@@ -135,7 +138,7 @@ public class StableDynamicLine extends ScoreboardLine implements Refreshable {
     public void setText(@NonNull String text) {
         this.text = text;
         for (TabPlayer p : parent.getPlayers()) {
-            p.setProperty(this, parent.getName() + "-" + teamName, text);
+            p.setProperty(this, textProperty, text);
             refresh(p, true);
         }
     }
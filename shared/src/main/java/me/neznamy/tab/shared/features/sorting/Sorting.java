@@ -14,6 +14,7 @@ import me.neznamy.tab.shared.features.types.TabFeature;
 import me.neznamy.tab.shared.platform.Scoreboard;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.PropertyKey;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.features.layout.LayoutManagerImpl;
 import me.neznamy.tab.shared.features.nametags.NameTag;
@@ -214,8 +215,8 @@ public class Sorting extends TabFeature implements SortingManager, JoinListener,
         if (nametag != null) nametag.registerTeam((TabPlayer) player);
         if (layout != null) layout.updateTeamName((TabPlayer) player, fullTeamNames.get(player));
         if (redis != null && nametag != null) redis.updateTeam((TabPlayer) player, getShortTeamName((TabPlayer) player),
-                ((TabPlayer) player).getProperty(TabConstants.Property.TAGPREFIX).get(),
-                ((TabPlayer) player).getProperty(TabConstants.Property.TAGSUFFIX).get(),
+                ((TabPlayer) player).getProperty(PropertyKey.TAGPREFIX).get(),
+                ((TabPlayer) player).getProperty(PropertyKey.TAGSUFFIX).get(),
                 (nametag.getTeamVisibility((TabPlayer) player, (TabPlayer) player) ? Scoreboard.NameVisibility.ALWAYS : Scoreboard.NameVisibility.NEVER));
     }
 
@@ -54,7 +54,21 @@ public class PlayerPlaceholderImpl extends TabPlaceholder implements PlayerPlace
      * @return  {@code true} if value changed since last time, {@code false} if not
      */
     public boolean update(@NonNull TabPlayer p) {
-        Object output = request(p);
+        return update(p, request(p));
+    }
+
+    /**
+     * Saves output previously returned by {@link #request(TabPlayer)} and returns true
+     * if value changed, false if not. Allows requesting values outside of the processing
+     * thread while keeping all state changes on it.
+     *
+     * @param   p
+     *          player to update placeholder for
+     * @param   output
+     *          output of the placeholder function for the player
+     * @return  {@code true} if value changed since last time, {@code false} if not
+     */
+    public boolean update(@NonNull TabPlayer p, @Nullable Object output) {
         if (output == null) return false; //bridge placeholders, they are updated using updateValue method
         String obj = getReplacements().findReplacement(String.valueOf(output));
         String newValue = setPlaceholders(obj, p);
@@ -1,7 +1,7 @@
 package me.neznamy.tab.shared.placeholders;
 
+import java.util.Arrays;
 import java.util.Set;
-import java.util.WeakHashMap;
 import java.util.function.BiFunction;
 
 import lombok.NonNull;
@@ -22,8 +22,17 @@ public class RelationalPlaceholderImpl extends TabPlaceholder implements Relatio
     /** Placeholder function returning fresh output on request */
     @NonNull private final BiFunction<me.neznamy.tab.api.TabPlayer, me.neznamy.tab.api.TabPlayer, Object> function;
 
-    /** Last known values for each online player duo after applying replacements and nested placeholders */
-    @NonNull private final WeakHashMap<me.neznamy.tab.api.TabPlayer, WeakHashMap<me.neznamy.tab.api.TabPlayer, String>> lastValues = new WeakHashMap<>();
+    /**
+     * Last known values for each online player duo after applying replacements and nested placeholders.
+     * Indexed by {@link TabPlayer#getSlot()} of viewer, then of target. Rows are created on first use.
+     */
+    private PairValue[][] lastValues = new PairValue[0][];
+
+    /** Player whose values are stored under each slot, used to detect slots reused by another player */
+    private TabPlayer[] slotOwners = new TabPlayer[0];
+
+    /** Counter increased every time a value for any player duo changes, used to version values of duos */
+    private int valueVersion;
 
     /**
      * Constructs new instance with given parameters
@@ -56,8 +65,7 @@ public class RelationalPlaceholderImpl extends TabPlaceholder implements Relatio
         Object output = request(viewer, target);
         if (output == null) return false; //bridge placeholders, they are updated using updateValue method
         String newValue = getReplacements().findReplacement(String.valueOf(output));
-        if (!lastValues.computeIfAbsent(viewer, v -> new WeakHashMap<>()).containsKey(target) || !lastValues.get(viewer).get(target).equals(newValue)) {
-            lastValues.get(viewer).put(target, newValue);
+        if (setLastValue(viewer, target, newValue, false)) {
             updateParents(viewer);
             updateParents(target);
             return true;
@@ -81,8 +89,7 @@ public class RelationalPlaceholderImpl extends TabPlaceholder implements Relatio
      */
     private void updateValue(@NonNull TabPlayer viewer, @NonNull TabPlayer target, @Nullable Object value, boolean force) {
         String s = getReplacements().findReplacement(String.valueOf(value));
-        if (lastValues.computeIfAbsent(viewer, v -> new WeakHashMap<>()).containsKey(target) && lastValues.get(viewer).get(target).equals(s) && !force) return;
-        lastValues.get(viewer).put(target, s);
+        if (!setLastValue(viewer, target, s, force)) return;
         Set<Refreshable> usage = TAB.getInstance().getPlaceholderManager().getPlaceholderUsage().get(identifier);
         if (usage == null) return;
         for (Refreshable f : usage) {
@@ -116,8 +123,122 @@ public class RelationalPlaceholderImpl extends TabPlaceholder implements Relatio
      * @return  last known value for entered player duo
      */
     public String getLastValue(@NonNull TabPlayer viewer, @NonNull TabPlayer target) {
-        if (!lastValues.computeIfAbsent(viewer, v -> new WeakHashMap<>()).containsKey(target)) update(viewer, target);
-        return setPlaceholders(replacements.findReplacement(EnumChatFormat.color(lastValues.computeIfAbsent(viewer, v -> new WeakHashMap<>()).get(target))), target);
+        PairValue value = getPairValue(viewer, target);
+        if (value == null) {
+            update(viewer, target);
+            value = getPairValue(viewer, target);
+        }
+        return setPlaceholders(replacements.findReplacement(EnumChatFormat.color(value == null ? identifier : value.value)), target);
+    }
+
+    /**
+     * Returns version of last known value for given players, which changes every time
+     * the value changes, or {@code 0} if there is no value yet.
+     *
+     * @param   viewer
+     *          viewer of the placeholder
+     * @param   target
+     *          target who is the text displayed on
+     * @return  version of last known value for entered player duo
+     */
+    public int getValueVersion(@NonNull TabPlayer viewer, @NonNull TabPlayer target) {
+        PairValue value = getPairValue(viewer, target);
+        return value == null ? 0 : value.version;
+    }
+
+    /**
+     * Sets last known value for given players if it is different or {@code force} is set
+     * and assigns it a new version. Values of players who are not online are not stored.
+     *
+     * @param   viewer
+     *          viewer of the placeholder
+     * @param   target
+     *          target who is the text displayed on
+     * @param   newValue
+     *          new value
+     * @param   force
+     *          whether value should be set even if it did not change
+     * @return  {@code true} if value was set, {@code false} if not
+     */
+    private boolean setLastValue(@NonNull TabPlayer viewer, @NonNull TabPlayer target, @NonNull String newValue, boolean force) {
+        int viewerSlot = viewer.getSlot();
+        int targetSlot = target.getSlot();
+        if (viewerSlot < 0 || targetSlot < 0) return true; // Not online
+        claimSlot(viewerSlot, viewer);
+        claimSlot(targetSlot, target);
+        PairValue[] row = lastValues[viewerSlot];
+        if (row == null || targetSlot >= row.length) {
+            int length = Math.max(targetSlot + 1, slotOwners.length);
+            row = row == null ? new PairValue[length] : Arrays.copyOf(row, length);
+            lastValues[viewerSlot] = row;
+        }
+        PairValue value = row[targetSlot];
+        if (value == null) {
+            value = new PairValue();
+            row[targetSlot] = value;
+        } else if (newValue.equals(value.value) && !force) {
+            return false;
+        }
+        value.value = newValue;
+        value.version = ++valueVersion;
+        return true;
+    }
+
+    /**
+     * Returns last known value of given players or {@code null} if there is none.
+     *
+     * @param   viewer
+     *          viewer of the placeholder
+     * @param   target
+     *          target who is the text displayed on
+     * @return  last known value of given players or {@code null} if there is none
+     */
+    private @Nullable PairValue getPairValue(@NonNull TabPlayer viewer, @NonNull TabPlayer target) {
+        int viewerSlot = viewer.getSlot();
+        int targetSlot = target.getSlot();
+        if (!isSlotOwner(viewerSlot, viewer) || !isSlotOwner(targetSlot, target)) return null;
+        PairValue[] row = lastValues[viewerSlot];
+        return row == null || targetSlot >= row.length ? null : row[targetSlot];
+    }
+
+    private boolean isSlotOwner(int slot, @NonNull TabPlayer player) {
+        return slot >= 0 && slot < slotOwners.length && slotOwners[slot] == player;
+    }
+
+    /**
+     * Marks given slot as used by given player. If it was used by another
+     * player before, values of that player are cleared.
+     *
+     * @param   slot
+     *          slot of the player
+     * @param   player
+     *          player using the slot
+     */
+    private void claimSlot(int slot, @NonNull TabPlayer player) {
+        if (slot >= slotOwners.length) {
+            int length = Math.max(slot + 1, TAB.getInstance().getPlayerRegistry().getSlotCapacity());
+            slotOwners = Arrays.copyOf(slotOwners, length);
+            lastValues = Arrays.copyOf(lastValues, length);
+        }
+        if (slotOwners[slot] == player) return;
+        clearSlot(slot);
+        slotOwners[slot] = player;
+    }
+
+    /**
+     * Clears values of all player duos containing player in given slot.
+     * Called when a player quits, so the slot can be reused by another player.
+     *
+     * @param   slot
+     *          slot of the player
+     */
+    public void clearSlot(int slot) {
+        if (slot < 0 || slot >= slotOwners.length) return;
+        slotOwners[slot] = null;
+        lastValues[slot] = null;
+        for (PairValue[] row : lastValues) {
+            if (row != null && slot < row.length) row[slot] = null;
+        }
     }
 
     @Override
@@ -151,4 +272,16 @@ public class RelationalPlaceholderImpl extends TabPlaceholder implements Relatio
             return "ERROR";
         }
     }
+
+    /**
+     * Last known value of a player duo with version of the value
+     */
+    private static class PairValue {
+
+        /** Last known value */
+        private String value;
+
+        /** Value of {@link #valueVersion} when the value last changed */
+        private int version;
+    }
 }
\ No newline at end of file
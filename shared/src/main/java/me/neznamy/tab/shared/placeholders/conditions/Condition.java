@@ -23,26 +23,26 @@ public class Condition {
     private static Map<String, Condition> registeredConditions = new HashMap<>();
 
     /** All supported sub-condition types */
-    @Getter private static final Map<String, Function<String, Function<TabPlayer, Boolean>>> conditionTypes =
-            new LinkedHashMap<String, Function<String, Function<TabPlayer, Boolean>>>() {{
-
-        put(">=", line -> new NumericCondition(line.split(">="), (left, right) -> left >= right)::isMet);
-        put(">", line -> new NumericCondition(line.split(">"), (left, right) -> left > right)::isMet);
-        put("<=", line -> new NumericCondition(line.split("<="), (left, right) -> left <= right)::isMet);
-        put("<-", line -> new StringCondition(line.split("<-"), String::contains)::isMet);
-        put("<", line -> new NumericCondition(line.split("<"), (left, right) -> left < right)::isMet);
-        put("|-", line -> new StringCondition(line.split("\\|-"), String::startsWith)::isMet);
-        put("-|", line -> new StringCondition(line.split("-\\|"), String::endsWith)::isMet);
-        put("!=", line -> new StringCondition(line.split("!="), (left, right) -> !left.equals(right))::isMet);
-        put("=", line -> new StringCondition(line.split("="), String::equals)::isMet);
-        put("permission:", line -> p -> p.hasPermission(line.split(":")[1]));
+    @Getter private static final Map<String, Function<String, SimpleCondition>> conditionTypes =
+            new LinkedHashMap<String, Function<String, SimpleCondition>>() {{
+
+        put(">=", line -> new NumericCondition(line.split(">="), (left, right) -> left >= right));
+        put(">", line -> new NumericCondition(line.split(">"), (left, right) -> left > right));
+        put("<=", line -> new NumericCondition(line.split("<="), (left, right) -> left <= right));
+        put("<-", line -> new StringCondition(line.split("<-"), String::contains));
+        put("<", line -> new NumericCondition(line.split("<"), (left, right) -> left < right));
+        put("|-", line -> new StringCondition(line.split("\\|-"), String::startsWith));
+        put("-|", line -> new StringCondition(line.split("-\\|"), String::endsWith));
+        put("!=", line -> new StringCondition(line.split("!="), (left, right) -> !left.equals(right)));
+        put("=", line -> new StringCondition(line.split("="), String::equals));
+        put("permission:", line -> new PermissionCondition(line.split(":")));
     }};
 
     /** Name of this condition defined in configuration */
     @Getter private final String name;
 
     /** All defined sub-conditions inside this conditions */
-    protected final List<Function<TabPlayer, Boolean>> subConditions = new ArrayList<>();
+    protected final SimpleCondition[] subConditions;
 
     /** Condition type, {@code true} for AND type and {@code false} for OR type */
     private final boolean type;
@@ -82,14 +82,16 @@ public class Condition {
         this.name = name;
         this.yes = yes;
         this.no = no;
+        List<SimpleCondition> compiled = new ArrayList<>();
         for (String line : conditions) {
-            Function<TabPlayer, Boolean> condition = compile(line);
+            SimpleCondition condition = compile(line);
             if (condition != null) {
-                subConditions.add(condition);
+                compiled.add(condition);
             } else {
                 TAB.getInstance().getMisconfigurationHelper().invalidConditionPattern(name, line);
             }
         }
+        subConditions = compiled.toArray(new SimpleCondition[0]);
         PlaceholderManagerImpl pm = TAB.getInstance().getPlaceholderManager();
         for (String subCondition : conditions) {
             if (subCondition.startsWith("permission:")) {
@@ -137,13 +139,13 @@ public class Condition {
      */
     public boolean isMet(TabPlayer p) {
         if (type) {
-            for (Function<TabPlayer, Boolean> condition : subConditions) {
-                if (!condition.apply(p)) return false;
+            for (SimpleCondition condition : subConditions) {
+                if (!condition.isMet(p)) return false;
             }
             return true;
         } else {
-            for (Function<TabPlayer, Boolean> condition : subConditions) {
-                if (condition.apply(p)) return true;
+            for (SimpleCondition condition : subConditions) {
+                if (condition.isMet(p)) return true;
             }
             return false;
         }
@@ -160,8 +162,10 @@ public class Condition {
      */
     public static Condition getCondition(String string) {
         if (string == null || string.isEmpty()) return null;
-        if (registeredConditions.containsKey(string)) {
-            return registeredConditions.get(string);
+        Condition registered = registeredConditions.get(string);
+        if (registered == null) registered = registeredConditions.get(anonymousName(string));
+        if (registered != null) {
+            return registered;
         } else {
             boolean type;
             List<String> conditions;
@@ -185,7 +189,7 @@ public class Condition {
                 }
                 conditions = fixedConditions;
             }
-            Condition c = new Condition(type, "AnonymousCondition[" + string + "]", conditions, "true", "false");
+            Condition c = new Condition(type, anonymousName(string), conditions, "true", "false");
             c.finishSetup();
             TAB.getInstance().getPlaceholderManager().registerPlayerPlaceholder(TabConstants.Placeholder.condition(c.getName()), c.getRefresh(),
                     p -> c.getText((TabPlayer) p));
@@ -193,6 +197,17 @@ public class Condition {
         }
     }
 
+    /**
+     * Returns name of anonymous condition created from given condition pattern
+     *
+     * @param   pattern
+     *          condition pattern
+     * @return  name of anonymous condition
+     */
+    private static String anonymousName(String pattern) {
+        return "AnonymousCondition[" + pattern + "]";
+    }
+
     /**
      * Clears registered condition map on plugin reload
      */
@@ -217,8 +232,8 @@ public class Condition {
      *          condition line
      * @return  compiled condition or null if no valid pattern was found
      */
-    private static Function<TabPlayer, Boolean> compile(String line) {
-        for (Map.Entry<String, Function<String, Function<TabPlayer, Boolean>>> entry : Condition.getConditionTypes().entrySet()) {
+    private static SimpleCondition compile(String line) {
+        for (Map.Entry<String, Function<String, SimpleCondition>> entry : Condition.getConditionTypes().entrySet()) {
             if (line.contains(entry.getKey())) {
                 return entry.getValue().apply(line);
             }
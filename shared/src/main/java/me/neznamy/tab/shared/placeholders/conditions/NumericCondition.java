@@ -4,8 +4,6 @@ import lombok.NonNull;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.TAB;
 
-import java.util.function.BiFunction;
-
 /**
  * A class handling numeric conditions to avoid
  * repeated number parsing for static numbers and therefore
@@ -26,9 +24,9 @@ public class NumericCondition extends SimpleCondition {
     private float rightSideValue;
 
     /** Function that determines whether condition is met or not */
-    private final BiFunction<Double, Double, Boolean> function;
+    private final Operator function;
 
-    public NumericCondition(@NonNull String[] arr, @NonNull BiFunction<Double, Double, Boolean> function) {
+    public NumericCondition(@NonNull String[] arr, @NonNull Operator function) {
         super(arr);
         this.function = function;
         try {
@@ -76,7 +74,25 @@ public class NumericCondition extends SimpleCondition {
     }
 
     @Override
-    public boolean isMet(@NonNull TabPlayer p) {
-        return function.apply(getLeftSide(p), getRightSide(p));
+    protected boolean evaluate(@NonNull TabPlayer p) {
+        return function.test(getLeftSide(p), getRightSide(p));
+    }
+
+    /**
+     * Comparison of two numbers without boxing them
+     */
+    @FunctionalInterface
+    public interface Operator {
+
+        /**
+         * Compares the two numbers
+         *
+         * @param   left
+         *          left side of the condition
+         * @param   right
+         *          right side of the condition
+         * @return  {@code true} if condition is met, {@code false} if not
+         */
+        boolean test(double left, double right);
     }
 }
\ No newline at end of file
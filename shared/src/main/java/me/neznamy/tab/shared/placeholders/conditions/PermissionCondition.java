@@ -0,0 +1,25 @@
+package me.neznamy.tab.shared.placeholders.conditions;
+
+import lombok.NonNull;
+import me.neznamy.tab.shared.platform.TabPlayer;
+
+/**
+ * Condition checking for a permission. Permissions may change at any
+ * time, therefore the result is never remembered.
+ */
+public class PermissionCondition extends SimpleCondition {
+
+    public PermissionCondition(@NonNull String[] arr) {
+        super(arr);
+    }
+
+    @Override
+    public boolean isMet(@NonNull TabPlayer p) {
+        return evaluate(p);
+    }
+
+    @Override
+    protected boolean evaluate(@NonNull TabPlayer p) {
+        return p.hasPermission(rightSide);
+    }
+}
@@ -1,19 +1,28 @@
 package me.neznamy.tab.shared.placeholders.conditions;
 
+import lombok.AllArgsConstructor;
 import lombok.NonNull;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.chat.EnumChatFormat;
+import me.neznamy.tab.shared.features.PlaceholderManagerImpl;
+import me.neznamy.tab.shared.placeholders.TabPlaceholder;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
 /**
- * An abstract class representing a simple condition
+ * An abstract class representing a simple condition. Results are remembered
+ * for each player and only evaluated again once a placeholder used in the
+ * condition changes value.
  */
 public abstract class SimpleCondition {
 
     /** Text on the left side of condition */
     @NonNull protected final String leftSide;
-    
+
     /** Placeholders used on the left side */
     @NonNull private final String[] leftSidePlaceholders;
 
@@ -23,6 +32,18 @@ public abstract class SimpleCondition {
     /** Placeholders used on the right side */
     @NonNull private final String[] rightSidePlaceholders;
 
+    /** Placeholder instances used on the left side, resolved on first use */
+    private TabPlaceholder[] resolvedLeftSide;
+
+    /** Placeholder instances used on the right side, resolved on first use */
+    private TabPlaceholder[] resolvedRightSide;
+
+    /** Placeholder registry version placeholders were resolved in */
+    private int resolvedVersion = -1;
+
+    /** Last results of this condition for each player */
+    private final Map<TabPlayer, Result> results = Collections.synchronizedMap(new WeakHashMap<>());
+
     public SimpleCondition(@NonNull String[] arr) {
         leftSide = arr.length < 1 ? "" : arr[0];
         leftSidePlaceholders = TAB.getInstance().getPlaceholderManager().detectPlaceholders(leftSide).toArray(new String[0]);
@@ -30,6 +51,27 @@ public abstract class SimpleCondition {
         rightSidePlaceholders = TAB.getInstance().getPlaceholderManager().detectPlaceholders(rightSide).toArray(new String[0]);
     }
 
+    /**
+     * Resolves placeholder instances of both sides if placeholder
+     * registry changed since they were last resolved.
+     */
+    private void resolvePlaceholders() {
+        PlaceholderManagerImpl manager = TAB.getInstance().getPlaceholderManager();
+        if (resolvedVersion == manager.getRegistryVersion()) return;
+        resolvedVersion = manager.getRegistryVersion();
+        TabPlaceholder[] left = new TabPlaceholder[leftSidePlaceholders.length];
+        for (int i=0; i<left.length; i++) {
+            left[i] = manager.getPlaceholder(leftSidePlaceholders[i]);
+        }
+        TabPlaceholder[] right = new TabPlaceholder[rightSidePlaceholders.length];
+        for (int i=0; i<right.length; i++) {
+            right[i] = manager.getPlaceholder(rightSidePlaceholders[i]);
+        }
+        resolvedLeftSide = left;
+        resolvedRightSide = right;
+        results.clear();
+    }
+
     /**
      * Replaces placeholders on the left side and return result
      *
@@ -38,9 +80,9 @@ public abstract class SimpleCondition {
      * @return  replaced left side
      */
     public @NotNull String parseLeftSide(@NonNull TabPlayer p) {
-        return parseSide(p, leftSide, leftSidePlaceholders);
+        return parseSide(p, leftSide, resolvedLeftSide);
     }
-    
+
     /**
      * Replaces placeholders on the right side and return result
      *
@@ -49,9 +91,9 @@ public abstract class SimpleCondition {
      * @return   replaced right side
      */
     public @NotNull String parseRightSide(@NonNull TabPlayer p) {
-        return parseSide(p, rightSide, rightSidePlaceholders);
+        return parseSide(p, rightSide, resolvedRightSide);
     }
-    
+
     /**
      * Replaces placeholders in provided value
      *
@@ -63,20 +105,103 @@ public abstract class SimpleCondition {
      *          used placeholders
      * @return  replaced string
      */
-    public String parseSide(@NonNull TabPlayer p, @NonNull String value, @NonNull String[] placeholders) {
+    public String parseSide(@NonNull TabPlayer p, @NonNull String value, @NonNull TabPlaceholder[] placeholders) {
         String result = value;
-        for (String identifier : placeholders) {
-            result = TAB.getInstance().getPlaceholderManager().getPlaceholder(identifier).set(result, p);
+        for (TabPlaceholder placeholder : placeholders) {
+            result = placeholder.set(result, p);
         }
         return result == null ? "null" : EnumChatFormat.color(result);
     }
-    
+
     /**
-     * Returns {@code true} if condition is met for player, {@code false} if not
+     * Returns {@code true} if condition is met for player, {@code false} if not.
+     * Result is taken from previous evaluation if no placeholder used in the
+     * condition changed value since then.
      *
      * @param   p
      *          player to check condition for
      * @return  {@code true} if met, {@code false} if not
      */
-    public abstract boolean isMet(@NonNull TabPlayer p);
-}
\ No newline at end of file
+    public boolean isMet(@NonNull TabPlayer p) {
+        resolvePlaceholders();
+        TabPlaceholder[] left = resolvedLeftSide;
+        TabPlaceholder[] right = resolvedRightSide;
+        Result result = results.get(p);
+        if (result != null && result.isValid(p, left, right)) return result.value;
+        String[] inputs = new String[left.length + right.length];
+        for (int i=0; i<left.length; i++) {
+            inputs[i] = left[i].getLastValue(p);
+        }
+        for (int i=0; i<right.length; i++) {
+            inputs[left.length + i] = right[i].getLastValue(p);
+        }
+        boolean value = evaluate(p);
+        if (isCacheable(inputs)) {
+            results.put(p, new Result(inputs, value));
+        } else {
+            results.remove(p);
+        }
+        return value;
+    }
+
+    /**
+     * Returns {@code true} if result computed from given placeholder values
+     * can be remembered. Values containing nested placeholders cannot be,
+     * because nested placeholders may change without parent's value changing.
+     *
+     * @param   inputs
+     *          Placeholder values the result was computed from
+     * @return  {@code true} if result can be remembered, {@code false} if not
+     */
+    private boolean isCacheable(@NotNull String[] inputs) {
+        for (String input : inputs) {
+            if (input.indexOf('%') != -1) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Evaluates this condition for player
+     *
+     * @param   p
+     *          player to evaluate condition for
+     * @return  {@code true} if met, {@code false} if not
+     */
+    protected abstract boolean evaluate(@NonNull TabPlayer p);
+
+    /**
+     * Result of condition for a player with placeholder values it was computed from
+     */
+    @AllArgsConstructor
+    private static class Result {
+
+        /** Last values of used placeholders when the result was computed */
+        @NotNull private final String[] inputs;
+
+        /** Result of the condition */
+        private final boolean value;
+
+        /**
+         * Returns {@code true} if all placeholders still have the same
+         * values this result was computed from, {@code false} if not.
+         *
+         * @param   p
+         *          player the result belongs to
+         * @param   left
+         *          placeholders used on the left side
+         * @param   right
+         *          placeholders used on the right side
+         * @return  {@code true} if the result is still valid, {@code false} if not
+         */
+        private boolean isValid(@NotNull TabPlayer p, @NotNull TabPlaceholder[] left, @NotNull TabPlaceholder[] right) {
+            if (inputs.length != left.length + right.length) return false;
+            for (int i=0; i<left.length; i++) {
+                if (left[i].getLastValue(p) != inputs[i]) return false;
+            }
+            for (int i=0; i<right.length; i++) {
+                if (right[i].getLastValue(p) != inputs[left.length + i]) return false;
+            }
+            return true;
+        }
+    }
+}
@@ -3,19 +3,19 @@ package me.neznamy.tab.shared.placeholders.conditions;
 import lombok.NonNull;
 import me.neznamy.tab.shared.platform.TabPlayer;
 
-import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
 
 public class StringCondition extends SimpleCondition {
 
-    @NonNull private final BiFunction<String, String, Boolean> function;
+    @NonNull private final BiPredicate<String, String> function;
 
-    public StringCondition(@NonNull String[] arr, @NonNull BiFunction<String, String, Boolean> function) {
+    public StringCondition(@NonNull String[] arr, @NonNull BiPredicate<String, String> function) {
         super(arr);
         this.function = function;
     }
 
     @Override
-    public boolean isMet(@NonNull TabPlayer p) {
-        return function.apply(parseLeftSide(p), parseRightSide(p));
+    protected boolean evaluate(@NonNull TabPlayer p) {
+        return function.test(parseLeftSide(p), parseRightSide(p));
     }
 }
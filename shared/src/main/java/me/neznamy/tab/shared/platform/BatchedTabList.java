@@ -0,0 +1,180 @@
+package me.neznamy.tab.shared.platform;
+
+import lombok.RequiredArgsConstructor;
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.chat.IChatBaseComponent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * TabList which buffers all changes and sends them once the current task
+ * on the processing thread finishes. Changes of the same type are sent
+ * together, allowing implementations to send a single packet with all
+ * entries instead of one packet per entry.
+ * <p>
+ * Buffered changes are sent in this order: removals, additions, display names,
+ * latency and game modes. Removing an entry discards all buffered changes of
+ * that entry and adding an entry discards its buffered updates, so the
+ * final state is the same as if changes were sent one by one.
+ *
+ * @param   <T>
+ *          Platform's TabPlayer class
+ */
+@RequiredArgsConstructor
+public abstract class BatchedTabList<T extends TabPlayer> implements TabList {
+
+    /** Player this TabList belongs to */
+    protected final T player;
+
+    /** Entries waiting to be removed */
+    private final Set<UUID> removals = new LinkedHashSet<>();
+
+    /** Entries waiting to be added */
+    private final Map<UUID, Entry> additions = new LinkedHashMap<>();
+
+    /** Display names waiting to be sent */
+    private final Map<UUID, IChatBaseComponent> displayNames = new LinkedHashMap<>();
+
+    /** Latency values waiting to be sent */
+    private final Map<UUID, Integer> latencies = new LinkedHashMap<>();
+
+    /** Game modes waiting to be sent */
+    private final Map<UUID, Integer> gameModes = new LinkedHashMap<>();
+
+    /** Flag tracking whether a flush task is already scheduled */
+    private boolean flushScheduled;
+
+    @Override
+    public synchronized void removeEntries(@NotNull Collection<UUID> entries) {
+        for (UUID entry : entries) {
+            discardChanges(entry);
+            removals.add(entry);
+        }
+        scheduleFlush();
+    }
+
+    @Override
+    public synchronized void addEntries(@NotNull Collection<Entry> entries) {
+        for (Entry entry : entries) {
+            discardUpdates(entry.getUniqueId());
+            additions.put(entry.getUniqueId(), entry);
+        }
+        scheduleFlush();
+    }
+
+    @Override
+    public synchronized void removeEntry(@NotNull UUID entry) {
+        discardChanges(entry);
+        removals.add(entry);
+        scheduleFlush();
+    }
+
+    @Override
+    public synchronized void updateDisplayName(@NotNull UUID entry, @Nullable IChatBaseComponent displayName) {
+        displayNames.put(entry, displayName);
+        scheduleFlush();
+    }
+
+    @Override
+    public synchronized void updateLatency(@NotNull UUID entry, int latency) {
+        latencies.put(entry, latency);
+        scheduleFlush();
+    }
+
+    @Override
+    public synchronized void updateGameMode(@NotNull UUID entry, int gameMode) {
+        gameModes.put(entry, gameMode);
+        scheduleFlush();
+    }
+
+    @Override
+    public synchronized void addEntry(@NotNull Entry entry) {
+        discardUpdates(entry.getUniqueId());
+        additions.put(entry.getUniqueId(), entry);
+        scheduleFlush();
+    }
+
+    private void discardChanges(@NotNull UUID entry) {
+        additions.remove(entry);
+        discardUpdates(entry);
+    }
+
+    private void discardUpdates(@NotNull UUID entry) {
+        displayNames.remove(entry);
+        latencies.remove(entry);
+        gameModes.remove(entry);
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled) return;
+        flushScheduled = true;
+        TAB.getInstance().getCPUManager().runTask(this::flush);
+    }
+
+    @Override
+    public synchronized void flush() {
+        flushScheduled = false;
+        if (!removals.isEmpty()) {
+            removeEntries0(new ArrayList<>(removals));
+            removals.clear();
+        }
+        if (!additions.isEmpty()) {
+            addEntries0(new ArrayList<>(additions.values()));
+            additions.clear();
+        }
+        if (!displayNames.isEmpty()) {
+            updateDisplayNames0(new LinkedHashMap<>(displayNames));
+            displayNames.clear();
+        }
+        if (!latencies.isEmpty()) {
+            updateLatencies0(new LinkedHashMap<>(latencies));
+            latencies.clear();
+        }
+        if (!gameModes.isEmpty()) {
+            updateGameModes0(new LinkedHashMap<>(gameModes));
+            gameModes.clear();
+        }
+    }
+
+    /**
+     * Removes given entries from the TabList
+     *
+     * @param   entries
+     *          Entries to remove
+     */
+    public abstract void removeEntries0(@NotNull Collection<UUID> entries);
+
+    /**
+     * Adds given entries into the TabList
+     *
+     * @param   entries
+     *          Entries to add
+     */
+    public abstract void addEntries0(@NotNull Collection<Entry> entries);
+
+    /**
+     * Changes display names of given entries
+     *
+     * @param   displayNames
+     *          New display names by entry UUID, value may be {@code null}
+     */
+    public abstract void updateDisplayNames0(@NotNull Map<UUID, IChatBaseComponent> displayNames);
+
+    /**
+     * Changes latency of given entries
+     *
+     * @param   latencies
+     *          New latency by entry UUID
+     */
+    public abstract void updateLatencies0(@NotNull Map<UUID, Integer> latencies);
+
+    /**
+     * Changes game mode of given entries
+     *
+     * @param   gameModes
+     *          New game mode by entry UUID
+     */
+    public abstract void updateGameModes0(@NotNull Map<UUID, Integer> gameModes);
+}
@@ -0,0 +1,150 @@
+package me.neznamy.tab.shared.platform;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of online players indexed by unique id, tablist id and
+ * lowercase name for constant time lookups. Every player is also assigned
+ * a dense integer slot, which is reused once the player quits, so features
+ * can store per-player data in arrays indexed by {@link TabPlayer#getSlot()}
+ * instead of maps. Array of online players is a copy-on-write snapshot
+ * which is only replaced when a player joins or quits.
+ */
+public class PlayerRegistry {
+
+    /** Players by their unique id */
+    private final Map<UUID, TabPlayer> byUniqueId = new ConcurrentHashMap<>();
+
+    /** Players by their TabList UUID */
+    private final Map<UUID, TabPlayer> byTabListId = new ConcurrentHashMap<>();
+
+    /** Players by their name in lowercase */
+    private final Map<String, TabPlayer> byName = new ConcurrentHashMap<>();
+
+    /** Player in each slot or {@code null} if slot is free */
+    private TabPlayer[] slots = new TabPlayer[16];
+
+    /** Snapshot of online players to avoid memory allocation when iterating */
+    @Getter private volatile TabPlayer[] onlinePlayers = new TabPlayer[0];
+
+    /**
+     * Highest slot ever assigned plus one. Arrays indexed by slot of this
+     * size can hold data of all currently online players.
+     */
+    @Getter private volatile int slotCapacity;
+
+    /**
+     * Adds player to the registry and assigns it the lowest free slot.
+     * If a player with the same unique id is already registered, it is
+     * removed first.
+     *
+     * @param   player
+     *          Player to add
+     */
+    public synchronized void add(@NotNull TabPlayer player) {
+        TabPlayer previous = byUniqueId.get(player.getUniqueId());
+        if (previous != null) remove(previous);
+        int slot = 0;
+        while (slot < slots.length && slots[slot] != null) slot++;
+        if (slot == slots.length) slots = Arrays.copyOf(slots, slots.length * 2);
+        slots[slot] = player;
+        player.setSlot(slot);
+        if (slot >= slotCapacity) slotCapacity = slot + 1;
+        byUniqueId.put(player.getUniqueId(), player);
+        byTabListId.put(player.getTablistId(), player);
+        byName.put(player.getName().toLowerCase(Locale.ROOT), player);
+        TabPlayer[] players = Arrays.copyOf(onlinePlayers, onlinePlayers.length + 1);
+        players[players.length - 1] = player;
+        onlinePlayers = players;
+    }
+
+    /**
+     * Removes player from the registry and frees its slot. If player is not
+     * registered, nothing happens.
+     *
+     * @param   player
+     *          Player to remove
+     */
+    public synchronized void remove(@NotNull TabPlayer player) {
+        if (!byUniqueId.remove(player.getUniqueId(), player)) return;
+        byTabListId.remove(player.getTablistId(), player);
+        byName.remove(player.getName().toLowerCase(Locale.ROOT), player);
+        if (player.getSlot() >= 0 && player.getSlot() < slots.length && slots[player.getSlot()] == player) {
+            slots[player.getSlot()] = null;
+        }
+        player.setSlot(-1);
+        TabPlayer[] current = onlinePlayers;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] != player) continue;
+            TabPlayer[] players = new TabPlayer[current.length - 1];
+            System.arraycopy(current, 0, players, 0, i);
+            System.arraycopy(current, i + 1, players, i, current.length - i - 1);
+            onlinePlayers = players;
+            return;
+        }
+    }
+
+    /**
+     * Removes all players from the registry and frees all slots.
+     */
+    public synchronized void clear() {
+        for (TabPlayer player : onlinePlayers) {
+            player.setSlot(-1);
+        }
+        byUniqueId.clear();
+        byTabListId.clear();
+        byName.clear();
+        slots = new TabPlayer[16];
+        slotCapacity = 0;
+        onlinePlayers = new TabPlayer[0];
+    }
+
+    /**
+     * Returns online player with given name (case-insensitive)
+     *
+     * @param   name
+     *          Name of player
+     * @return  Player with given name or {@code null} if not online
+     */
+    public @Nullable TabPlayer getByName(@NotNull String name) {
+        return byName.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Returns online player with given unique id
+     *
+     * @param   uniqueId
+     *          Unique id of player
+     * @return  Player with given id or {@code null} if not online
+     */
+    public @Nullable TabPlayer getByUniqueId(@NotNull UUID uniqueId) {
+        return byUniqueId.get(uniqueId);
+    }
+
+    /**
+     * Returns online player with given TabList UUID
+     *
+     * @param   tabListId
+     *          TabList id of player
+     * @return  Player with given id or {@code null} if not online
+     */
+    public @Nullable TabPlayer getByTabListId(@NotNull UUID tabListId) {
+        return byTabListId.get(tabListId);
+    }
+
+    /**
+     * Returns online player occupying given slot
+     *
+     * @param   slot
+     *          Slot of player
+     * @return  Player in given slot or {@code null} if slot is free
+     */
+    public synchronized @Nullable TabPlayer getBySlot(int slot) {
+        return slot >= 0 && slot < slots.length ? slots[slot] : null;
+    }
+}
@@ -42,6 +42,12 @@ public interface TabList {
      */
     void setPlayerListHeaderFooter(@NotNull IChatBaseComponent header, @NotNull IChatBaseComponent footer);
 
+    /**
+     * Sends all buffered changes to the player. Implementations
+     * sending changes immediately do not need to do anything.
+     */
+    default void flush() {}
+
     enum Action {
         ADD_PLAYER, REMOVE_PLAYER, UPDATE_DISPLAY_NAME, UPDATE_LATENCY, UPDATE_GAME_MODE
     }
@@ -1,5 +1,6 @@
 package me.neznamy.tab.shared.platform;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import me.neznamy.tab.shared.chat.IChatBaseComponent;
@@ -50,8 +51,8 @@ public abstract class TabPlayer implements me.neznamy.tab.api.TabPlayer {
     /** Player's game type, {@code true} for Bedrock, {@code false} for Java */
     @Getter private final boolean bedrockPlayer;
 
-    /** Player's property map where key is unique identifier and value is property object */
-    private final Map<String, Property> properties = new HashMap<>();
+    /** Player's properties indexed by {@link PropertyKey#getIndex()}, {@code null} where not set */
+    private Property[] properties = new Property[16];
 
     /** Player's game version */
     @Getter protected final ProtocolVersion version;
@@ -62,6 +63,12 @@ public abstract class TabPlayer implements me.neznamy.tab.api.TabPlayer {
      */
     @Getter private boolean loaded;
 
+    /**
+     * Dense index of this player assigned by {@link PlayerRegistry} while online,
+     * {@code -1} if not registered
+     */
+    @Getter @Setter(AccessLevel.PACKAGE) private int slot = -1;
+
     /**
      * Constructs new instance with given parameters
      *
@@ -100,7 +107,7 @@ public abstract class TabPlayer implements me.neznamy.tab.api.TabPlayer {
      *
      * @param   feature
      *          Feature creating the property
-     * @param   identifier
+     * @param   key
      *          Property's unique identifier
      * @param   rawValue
      *          Raw value with raw placeholders
@@ -109,11 +116,14 @@ public abstract class TabPlayer implements me.neznamy.tab.api.TabPlayer {
      * @return  {@code true} if property did not exist or existed with different raw value,
      *          {@code false} if property existed with the same raw value already.
      */
-    private boolean setProperty(@Nullable Refreshable feature, @NotNull String identifier, @NotNull String rawValue,
+    private boolean setProperty(@Nullable Refreshable feature, @NotNull PropertyKey key, @NotNull String rawValue,
                                 @Nullable String source, boolean exposeInExpansion) {
-        Property p = getProperty(identifier);
+        Property p = getProperty(key);
         if (p == null) {
-            properties.put(identifier, new Property(exposeInExpansion ? identifier : null, feature, this, rawValue, source));
+            if (key.getIndex() >= properties.length) {
+                properties = Arrays.copyOf(properties, Math.max(key.getIndex() + 1, properties.length * 2));
+            }
+            properties[key.getIndex()] = new Property(exposeInExpansion ? key.getName() : null, feature, this, rawValue, source);
             return true;
         } else {
             if (!p.getOriginalRawValue().equals(rawValue)) {
@@ -125,20 +135,20 @@ public abstract class TabPlayer implements me.neznamy.tab.api.TabPlayer {
     }
 
     /**
-     * Sets property with specified name to new value. If property did not exist before, it is
+     * Sets property with specified key to new value. If property did not exist before, it is
      * created and {@code true} is returned. If it existed, it is overridden and {@code true} is returned.
      * {@code false} is returned otherwise.
      *
      * @param   feature
      *          feature using this property to get placeholders registered
-     * @param   identifier
-     *          property name
+     * @param   key
+     *          property key
      * @param   rawValue
      *          new raw value
      * @return  {@code true} if value changed / did not exist, {@code false} if value did not change
      */
-    public boolean setProperty(@Nullable Refreshable feature, @NotNull String identifier, @NotNull String rawValue) {
-        return setProperty(feature, identifier, rawValue, null, false);
+    public boolean setProperty(@Nullable Refreshable feature, @NotNull PropertyKey key, @NotNull String rawValue) {
+        return setProperty(feature, key, rawValue, null, false);
     }
 
     /**
@@ -201,7 +211,29 @@ public abstract class TabPlayer implements me.neznamy.tab.api.TabPlayer {
     }
 
     public Property getProperty(@NotNull String name) {
-        return properties.get(name);
+        PropertyKey key = PropertyKey.get(name);
+        return key == null ? null : getProperty(key);
+    }
+
+    /**
+     * Returns property with given key or {@code null} if it is not set
+     *
+     * @param   key
+     *          property key
+     * @return  property with given key or {@code null} if not set
+     */
+    public Property getProperty(@NotNull PropertyKey key) {
+        return key.getIndex() < properties.length ? properties[key.getIndex()] : null;
+    }
+
+    /**
+     * Removes property with given key if it is set
+     *
+     * @param   key
+     *          property key
+     */
+    public void removeProperty(@NotNull PropertyKey key) {
+        if (key.getIndex() < properties.length) properties[key.getIndex()] = null;
     }
 
     @Override
@@ -213,10 +245,10 @@ public abstract class TabPlayer implements me.neznamy.tab.api.TabPlayer {
      * Loads property from config using standard property loading algorithm
      *
      * @param   property
-     *          property name to load
+     *          property key to load
      * @return  {@code true} if value did not exist or changed, {@code false} otherwise
      */
-    public boolean loadPropertyFromConfig(@Nullable Refreshable feature, @NotNull String property) {
+    public boolean loadPropertyFromConfig(@Nullable Refreshable feature, @NotNull PropertyKey property) {
         return loadPropertyFromConfig(feature, property, "");
     }
 
@@ -225,18 +257,19 @@ public abstract class TabPlayer implements me.neznamy.tab.api.TabPlayer {
      * not set in config, {@code ifNotSet} value is used.
      *
      * @param   property
-     *          property name to load
+     *          property key to load
      * @param   ifNotSet
      *          value to use if property is not defined in config
      * @return  {@code true} if value did not exist or changed, {@code false} otherwise
      */
-    public boolean loadPropertyFromConfig(@Nullable Refreshable feature, @NotNull String property, @NotNull String ifNotSet) {
-        String[] value = TAB.getInstance().getConfiguration().getUsers().getProperty(getName(), property, server, world);
+    public boolean loadPropertyFromConfig(@Nullable Refreshable feature, @NotNull PropertyKey property, @NotNull String ifNotSet) {
+        String name = property.getName();
+        String[] value = TAB.getInstance().getConfiguration().getUsers().getProperty(getName(), name, server, world);
         if (value.length == 0) {
-            value = TAB.getInstance().getConfiguration().getUsers().getProperty(getUniqueId().toString(), property, server, world);
+            value = TAB.getInstance().getConfiguration().getUsers().getProperty(getUniqueId().toString(), name, server, world);
         }
         if (value.length == 0) {
-            value = TAB.getInstance().getConfiguration().getGroups().getProperty(getGroup(), property, server, world);
+            value = TAB.getInstance().getConfiguration().getGroups().getProperty(getGroup(), name, server, world);
         }
         if (value.length > 0) {
             return setProperty(feature, property, value[0], value[1], true);
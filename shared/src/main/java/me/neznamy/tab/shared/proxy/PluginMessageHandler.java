@@ -1,6 +1,7 @@
 package me.neznamy.tab.shared.proxy;
 
 import com.google.common.io.ByteArrayDataInput;
+import com.google.common.io.ByteArrayDataOutput;
 import com.google.common.io.ByteStreams;
 import me.neznamy.tab.api.placeholder.Placeholder;
 import me.neznamy.tab.api.placeholder.PlayerPlaceholder;
@@ -9,31 +10,125 @@ import me.neznamy.tab.api.placeholder.ServerPlaceholder;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.placeholders.PlayerPlaceholderImpl;
+import me.neznamy.tab.shared.platform.TabPlayer;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.function.BiConsumer;
 
 /**
- * Universal interface for proxy to manage plugin messages
+ * Universal interface for proxy to manage plugin messages.
+ * <p>
+ * Besides actions identified by their name, bridge supporting binary protocol
+ * may send {@code Batch} messages containing multiple actions. Proxy sends
+ * the same messages to such bridge. Every action in a batch is written as its
+ * numeric id, length of its data and the data itself, allowing the receiver
+ * to skip actions it does not know. Ids of actions are fixed for each direction,
+ * ids of placeholders are assigned by proxy and sent in {@code PlayerJoin}
+ * message, ids of players are defined by bridge using {@code PlayerId} action
+ * before their first use on the current server.
  */
 public class PluginMessageHandler {
 
+    /** Version of binary protocol used in batch messages */
+    public static final int PROTOCOL_VERSION = 2;
+
+    /** Numeric ids of actions sent from proxy to bridge, never change or reuse an id */
+    private static final Map<String, Integer> outgoingActionIds = new HashMap<>();
+
+    static {
+        outgoingActionIds.put("PlayerJoin", 0);
+        outgoingActionIds.put("Placeholder", 1);
+        outgoingActionIds.put("Permission", 2);
+        outgoingActionIds.put("Expansion", 3);
+        outgoingActionIds.put("NameTagX", 4);
+        outgoingActionIds.put("PacketPlayOutScoreboardDisplayObjective", 5);
+        outgoingActionIds.put("PacketPlayOutScoreboardObjective", 6);
+        outgoingActionIds.put("PacketPlayOutScoreboardScore", 7);
+        outgoingActionIds.put("PacketPlayOutScoreboardTeam", 8);
+        outgoingActionIds.put("Unload", 9);
+    }
+
+    /** Message handlers by their name */
     private final Map<String, BiConsumer<ProxyTabPlayer, ByteArrayDataInput>> messages = new HashMap<>();
 
+    /** Message handlers by their numeric id used in batches */
+    private final Map<Integer, BiConsumer<ProxyTabPlayer, ByteArrayDataInput>> actions = new HashMap<>();
+
+    /** Identifiers of bridge placeholders by their numeric id */
+    private final List<String> placeholderIdentifiers = new ArrayList<>();
+
+    /** Numeric ids of bridge placeholders */
+    private final Map<String, Integer> placeholderIds = new HashMap<>();
+
     public PluginMessageHandler() {
-        messages.put("Placeholder", this::placeholder);
-        messages.put("Vanished", this::vanished);
-        messages.put("Disguised", this::disguised);
-        messages.put("Invisible", this::invisible);
-        messages.put("World", this::world);
-        messages.put("Group", this::group);
-        messages.put("Boat", this::boat);
-        messages.put("Permission", this::permission);
-        messages.put("PlayerJoinResponse", this::playerJoinResponse);
-        messages.put("RegisterPlaceholder", this::registerPlaceholder);
-        messages.put("PlaceholderError", this::placeholderError);
-        messages.put("UpdateGameMode", this::updateGameMode);
+        register(0, "Placeholder", this::placeholder);
+        register(1, "Vanished", this::vanished);
+        register(2, "Disguised", this::disguised);
+        register(3, "Invisible", this::invisible);
+        register(4, "World", this::world);
+        register(5, "Group", this::group);
+        register(6, "Boat", this::boat);
+        register(7, "Permission", this::permission);
+        register(8, "PlayerJoinResponse", this::playerJoinResponse);
+        register(9, "RegisterPlaceholder", this::registerPlaceholder);
+        register(10, "PlaceholderError", this::placeholderError);
+        register(11, "UpdateGameMode", this::updateGameMode);
+        register(12, "PlayerId", this::playerId);
+        register(13, "PlaceholderValue", this::placeholderValue);
+        register(14, "RelationalPlaceholderValue", this::relationalPlaceholderValue);
+        messages.put("Batch", this::batch);
+    }
+
+    /**
+     * Registers handler of incoming message
+     *
+     * @param   id
+     *          Numeric id of the message in batches, never change or reuse an id
+     * @param   name
+     *          Name of the message when sent standalone
+     * @param   handler
+     *          Message handler
+     */
+    private void register(int id, @NotNull String name, @NotNull BiConsumer<ProxyTabPlayer, ByteArrayDataInput> handler) {
+        messages.put(name, handler);
+        actions.put(id, handler);
+    }
+
+    /**
+     * Returns numeric id of message sent from proxy to bridge with given name
+     * used in batches, or {@code null} if message has no id.
+     *
+     * @param   name
+     *          Name of the message
+     * @return  Numeric id of the message or {@code null} if it has none
+     */
+    public static @Nullable Integer getOutgoingActionId(@NotNull String name) {
+        return outgoingActionIds.get(name);
+    }
+
+    /**
+     * Returns numeric id of bridge placeholder with given identifier.
+     * If it does not have an id yet, a new one is assigned.
+     *
+     * @param   identifier
+     *          Placeholder identifier
+     * @return  Numeric id of the placeholder
+     */
+    public synchronized int getPlaceholderId(@NotNull String identifier) {
+        Integer id = placeholderIds.get(identifier);
+        if (id == null) {
+            id = placeholderIdentifiers.size();
+            placeholderIdentifiers.add(identifier);
+            placeholderIds.put(identifier, id);
+        }
+        return id;
+    }
+
+    private synchronized @Nullable Placeholder getBridgePlaceholder(int id) {
+        if (id < 0 || id >= placeholderIdentifiers.size()) return null;
+        return TAB.getInstance().getPlaceholderManager().getRegisteredPlaceholders().get(placeholderIdentifiers.get(id));
     }
 
     /**
@@ -140,4 +235,88 @@ public class PluginMessageHandler {
     public void updateGameMode(ProxyTabPlayer player, ByteArrayDataInput in) {
         player.setGamemode(in.readInt());
     }
+
+    /**
+     * Processes all actions in a batch in the order they were written. Each action
+     * is identified by its numeric id followed by length of its data and the data
+     * itself, which is the same as if it was sent as a standalone message.
+     * Actions with unknown id are skipped.
+     *
+     * @param   player
+     *          Player who received the message
+     * @param   in
+     *          Message input
+     */
+    public void batch(@NotNull ProxyTabPlayer player, @NotNull ByteArrayDataInput in) {
+        int version = in.readUnsignedByte();
+        if (version > PROTOCOL_VERSION) return; // Bridge must use version sent in PlayerJoin
+        player.setBridgeProtocolVersion(version);
+        int count = readVarInt(in);
+        for (int i=0; i<count; i++) {
+            BiConsumer<ProxyTabPlayer, ByteArrayDataInput> action = actions.get(readVarInt(in));
+            byte[] data = new byte[readVarInt(in)];
+            in.readFully(data);
+            if (action == null) continue; // Unknown action, sent by a newer bridge
+            action.accept(player, ByteStreams.newDataInput(data));
+        }
+    }
+
+    public void playerId(@NotNull ProxyTabPlayer player, @NotNull ByteArrayDataInput in) {
+        player.getBridgePlayerNames().put(readVarInt(in), in.readUTF());
+    }
+
+    public void placeholderValue(@NotNull ProxyTabPlayer player, @NotNull ByteArrayDataInput in) {
+        Placeholder placeholder = getBridgePlaceholder(readVarInt(in));
+        String value = in.readUTF();
+        if (placeholder instanceof PlayerPlaceholder) {
+            ((PlayerPlaceholder) placeholder).updateValue(player, value);
+        } else if (placeholder instanceof ServerPlaceholder) {
+            ((ServerPlaceholder) placeholder).updateValue(value);
+        }
+    }
+
+    public void relationalPlaceholderValue(@NotNull ProxyTabPlayer player, @NotNull ByteArrayDataInput in) {
+        Placeholder placeholder = getBridgePlaceholder(readVarInt(in));
+        String targetName = player.getBridgePlayerNames().get(readVarInt(in));
+        String value = in.readUTF();
+        if (!(placeholder instanceof RelationalPlaceholder) || targetName == null) return;
+        TabPlayer target = TAB.getInstance().getPlayer(targetName);
+        if (target != null) ((RelationalPlaceholder) placeholder).updateValue(player, target, value);
+    }
+
+    /**
+     * Reads variable-length int written by {@link #writeVarInt(ByteArrayDataOutput, int)}
+     *
+     * @param   in
+     *          Input to read from
+     * @return  Read int
+     */
+    public static int readVarInt(@NotNull ByteArrayDataInput in) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift > 28) throw new IllegalArgumentException("VarInt is too big");
+            b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * Writes int using 1 to 5 bytes, smaller values taking less bytes
+     *
+     * @param   out
+     *          Output to write to
+     * @param   value
+     *          Value to write
+     */
+    public static void writeVarInt(@NotNull ByteArrayDataOutput out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
 }
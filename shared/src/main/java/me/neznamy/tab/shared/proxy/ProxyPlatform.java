@@ -59,8 +59,9 @@ public abstract class ProxyPlatform implements Platform {
             placeholder = pl.registerPlayerPlaceholder(identifier, -1, player -> null);
         }
         bridgePlaceholders.put(placeholder.getIdentifier(), refresh);
+        int id = pluginMessageHandler.getPlaceholderId(placeholder.getIdentifier());
         for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
-            ((ProxyTabPlayer)all).sendPluginMessage("Placeholder", placeholder.getIdentifier(), refresh);
+            ((ProxyTabPlayer)all).sendPluginMessage("Placeholder", placeholder.getIdentifier(), refresh, id);
         }
     }
 
@@ -3,6 +3,7 @@ package me.neznamy.tab.shared.proxy;
 import com.google.common.collect.Lists;
 import com.google.common.io.ByteArrayDataOutput;
 import com.google.common.io.ByteStreams;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import me.neznamy.tab.shared.chat.EnumChatFormat;
@@ -14,10 +15,8 @@ import me.neznamy.tab.shared.placeholders.expansion.EmptyTabExpansion;
 import me.neznamy.tab.shared.placeholders.expansion.TabExpansion;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Abstract class for player on proxy containing variables and methods
@@ -47,6 +46,16 @@ public abstract class ProxyTabPlayer extends TabPlayer {
     /** Map of player's requested permissions */
     private final Map<String, Boolean> permissions = new HashMap<>();
 
+    /** Binary protocol version of bridge on current server, 0 if it was not used */
+    private volatile int bridgeProtocolVersion;
+
+    /** Names of players by their numeric id defined by bridge on current server */
+    private final Map<Integer, String> bridgePlayerNames = new ConcurrentHashMap<>();
+
+    /** Encoded actions waiting to be sent to bridge in a single batch */
+    @Getter(AccessLevel.NONE)
+    private final List<byte[]> pendingMessages = new ArrayList<>();
+
     /**
      * Constructs new instance with given parameters and sends a message
      * to bridge about this player joining with join data
@@ -73,6 +82,11 @@ public abstract class ProxyTabPlayer extends TabPlayer {
      */
     public void sendJoinPluginMessage() {
         bridgeConnected = false; // Reset on server switch
+        bridgeProtocolVersion = 0; // New server may run a bridge without binary protocol support
+        bridgePlayerNames.clear();
+        synchronized (pendingMessages) {
+            pendingMessages.clear(); // Messages were meant for previous server
+        }
         TabExpansion expansion = TAB.getInstance().getPlaceholderManager().getTabExpansion();
         List<Object> args = Lists.newArrayList(
                 "PlayerJoin",
@@ -81,9 +95,9 @@ public abstract class ProxyTabPlayer extends TabPlayer {
                         !TAB.getInstance().getGroupManager().isGroupsByPermissions(),
                 !(expansion instanceof EmptyTabExpansion));
         ProxyPlatform platform = (ProxyPlatform) TAB.getInstance().getPlatform();
-        Map<String, Integer> placeholders = platform.getBridgePlaceholders();
+        List<Map.Entry<String, Integer>> placeholders = new ArrayList<>(platform.getBridgePlaceholders().entrySet());
         args.add(placeholders.size());
-        for (Map.Entry<String, Integer> entry : placeholders.entrySet()) {
+        for (Map.Entry<String, Integer> entry : placeholders) {
             args.add(entry.getKey());
             args.add(entry.getValue());
         }
@@ -112,6 +126,12 @@ public abstract class ProxyTabPlayer extends TabPlayer {
                 args.add(EnumChatFormat.color(String.valueOf(rule.getValue())));
             }
         }
+        // Binary protocol data, bridges without support do not read it
+        PluginMessageHandler handler = platform.getPluginMessageHandler();
+        args.add(PluginMessageHandler.PROTOCOL_VERSION);
+        for (Map.Entry<String, Integer> entry : placeholders) {
+            args.add(handler.getPlaceholderId(entry.getKey()));
+        }
         sendPluginMessage(args.toArray());
         if (expansion instanceof ProxyTabExpansion) ((ProxyTabExpansion) expansion).resendAllValues(this);
     }
@@ -160,16 +180,59 @@ public abstract class ProxyTabPlayer extends TabPlayer {
     }
 
     /**
-     * Sends plugin message
+     * Sends plugin message. If bridge supports binary protocol, the message
+     * is sent in a {@code Batch} message together with all other messages
+     * sent in the same task, using the same framing as batches sent by bridge.
      *
      * @param   args
-     *          Messages to encode
+     *          Messages to encode, first argument being name of the message
      */
     @SuppressWarnings("UnstableApiUsage")
     public void sendPluginMessage(@NotNull Object... args) {
+        Integer id = bridgeProtocolVersion == 0 ? null : PluginMessageHandler.getOutgoingActionId((String) args[0]);
+        if (id == null) {
+            ByteArrayDataOutput out = ByteStreams.newDataOutput();
+            for (Object arg : args) {
+                writeObject(out, arg);
+            }
+            if (bridgeProtocolVersion != 0) flushPluginMessages(); // Keep message order
+            sendPluginMessage(out.toByteArray());
+            return;
+        }
+        ByteArrayDataOutput data = ByteStreams.newDataOutput();
+        for (int i=1; i<args.length; i++) {
+            writeObject(data, args[i]);
+        }
+        byte[] bytes = data.toByteArray();
+        ByteArrayDataOutput action = ByteStreams.newDataOutput(bytes.length + 10);
+        PluginMessageHandler.writeVarInt(action, id);
+        PluginMessageHandler.writeVarInt(action, bytes.length);
+        action.write(bytes);
+        synchronized (pendingMessages) {
+            pendingMessages.add(action.toByteArray());
+            if (pendingMessages.size() > 1) return; // Flush already scheduled
+        }
+        TAB.getInstance().getCPUManager().runTask(this::flushPluginMessages);
+    }
+
+    /**
+     * Sends all pending actions to bridge in a single {@code Batch} message.
+     * Called from scheduled task and on unload, when scheduled tasks are cancelled.
+     */
+    @SuppressWarnings("UnstableApiUsage")
+    public void flushPluginMessages() {
+        List<byte[]> actions;
+        synchronized (pendingMessages) {
+            if (pendingMessages.isEmpty()) return;
+            actions = new ArrayList<>(pendingMessages);
+            pendingMessages.clear();
+        }
         ByteArrayDataOutput out = ByteStreams.newDataOutput();
-        for (Object arg : args) {
-            writeObject(out, arg);
+        out.writeUTF("Batch");
+        out.writeByte(bridgeProtocolVersion);
+        PluginMessageHandler.writeVarInt(out, actions.size());
+        for (byte[] action : actions) {
+            out.write(action);
         }
         sendPluginMessage(out.toByteArray());
     }
@@ -2,7 +2,7 @@ package me.neznamy.tab.shared.proxy.features.unlimitedtags;
 
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.features.nametags.unlimited.ArmorStandManager;
-import me.neznamy.tab.shared.TabConstants;
+import me.neznamy.tab.shared.PropertyKey;
 import me.neznamy.tab.shared.chat.IChatBaseComponent;
 import me.neznamy.tab.shared.features.nametags.unlimited.NameTagX;
 import me.neznamy.tab.shared.proxy.ProxyTabPlayer;
@@ -16,9 +16,9 @@ public class ProxyArmorStandManager implements ArmorStandManager {
     public ProxyArmorStandManager(@NotNull NameTagX nameTagX, @NotNull TabPlayer owner) {
         this.nameTagX = nameTagX;
         this.owner = (ProxyTabPlayer) owner;
-        owner.setProperty(nameTagX, TabConstants.Property.NAMETAG, owner.getProperty(TabConstants.Property.TAGPREFIX).getCurrentRawValue()
-                + owner.getProperty(TabConstants.Property.CUSTOMTAGNAME).getCurrentRawValue()
-                + owner.getProperty(TabConstants.Property.TAGSUFFIX).getCurrentRawValue());
+        owner.setProperty(nameTagX, PropertyKey.NAMETAG, owner.getProperty(PropertyKey.TAGPREFIX).getCurrentRawValue()
+                + owner.getProperty(PropertyKey.CUSTOMTAGNAME).getCurrentRawValue()
+                + owner.getProperty(PropertyKey.TAGSUFFIX).getCurrentRawValue());
         for (String line : nameTagX.getDefinedLines()) {
             String text = owner.getProperty(line).get();
             this.owner.sendPluginMessage("NameTagX", "SetText", line, text, IChatBaseComponent.fromColoredText(text).toString(owner.getVersion())); //rel placeholder support in the future
@@ -0,0 +1,194 @@
+package me.neznamy.tab.shared.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.*;
+
+/**
+ * Utility class binding reflective members into functional interfaces backed
+ * by method handles. Binding is done once when loading, after which calls do
+ * not go through reflection access checks and do not need varargs arrays
+ * or boxing of primitive values. Public methods of public classes are bound
+ * using {@link LambdaMetafactory}, allowing the JIT to inline them.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class Accessors {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * Binds method with one parameter and any return type into a consumer
+     * accepting method's target and parameter.
+     *
+     * @param   method
+     *          Method to bind
+     * @return  Consumer calling the method
+     * @throws  IllegalAccessException
+     *          If method cannot be accessed
+     */
+    @SuppressWarnings("unchecked")
+    public static @NotNull BiConsumer<Object, Object> methodCaller(@NotNull Method method) throws IllegalAccessException {
+        MethodHandle handle = LOOKUP.unreflect(ReflectionUtils.setAccessible(method));
+        if (isPublic(method) && method.getReturnType() == void.class) {
+            try {
+                return (BiConsumer<Object, Object>) LambdaMetafactory.metafactory(LOOKUP, "accept",
+                        MethodType.methodType(BiConsumer.class),
+                        MethodType.methodType(void.class, Object.class, Object.class),
+                        handle, handle.type()).getTarget().invoke();
+            } catch (Throwable ignored) {
+                // Fall back to method handle below
+            }
+        }
+        MethodHandle exact = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return (target, arg) -> {
+            try {
+                exact.invokeExact(target, arg);
+            } catch (Throwable t) {
+                throw sneakyThrow(t);
+            }
+        };
+    }
+
+    /**
+     * Binds constructor with no parameters into a supplier
+     *
+     * @param   constructor
+     *          Constructor to bind
+     * @return  Supplier creating new instances
+     * @throws  IllegalAccessException
+     *          If constructor cannot be accessed
+     */
+    public static @NotNull Supplier<Object> constructor0(@NotNull Constructor<?> constructor) throws IllegalAccessException {
+        MethodHandle exact = LOOKUP.unreflectConstructor(ReflectionUtils.setAccessible(constructor))
+                .asType(MethodType.methodType(Object.class));
+        return () -> {
+            try {
+                return exact.invokeExact();
+            } catch (Throwable t) {
+                throw sneakyThrow(t);
+            }
+        };
+    }
+
+    /**
+     * Binds constructor with one parameter into a function
+     *
+     * @param   constructor
+     *          Constructor to bind
+     * @return  Function creating new instances
+     * @throws  IllegalAccessException
+     *          If constructor cannot be accessed
+     */
+    public static @NotNull Function<Object, Object> constructor1(@NotNull Constructor<?> constructor) throws IllegalAccessException {
+        MethodHandle exact = LOOKUP.unreflectConstructor(ReflectionUtils.setAccessible(constructor))
+                .asType(MethodType.methodType(Object.class, Object.class));
+        return arg -> {
+            try {
+                return exact.invokeExact(arg);
+            } catch (Throwable t) {
+                throw sneakyThrow(t);
+            }
+        };
+    }
+
+    /**
+     * Binds constructor with two parameters into a function
+     *
+     * @param   constructor
+     *          Constructor to bind
+     * @return  Function creating new instances
+     * @throws  IllegalAccessException
+     *          If constructor cannot be accessed
+     */
+    public static @NotNull BiFunction<Object, Object, Object> constructor2(@NotNull Constructor<?> constructor) throws IllegalAccessException {
+        MethodHandle exact = LOOKUP.unreflectConstructor(ReflectionUtils.setAccessible(constructor))
+                .asType(MethodType.methodType(Object.class, Object.class, Object.class));
+        return (arg1, arg2) -> {
+            try {
+                return exact.invokeExact(arg1, arg2);
+            } catch (Throwable t) {
+                throw sneakyThrow(t);
+            }
+        };
+    }
+
+    /**
+     * Binds field into a setter accepting target object and new value
+     *
+     * @param   field
+     *          Field to bind
+     * @return  Setter of the field
+     * @throws  IllegalAccessException
+     *          If field cannot be accessed
+     */
+    public static @NotNull BiConsumer<Object, Object> setter(@NotNull Field field) throws IllegalAccessException {
+        MethodHandle exact = LOOKUP.unreflectSetter(ReflectionUtils.setAccessible(field))
+                .asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return (target, value) -> {
+            try {
+                exact.invokeExact(target, value);
+            } catch (Throwable t) {
+                throw sneakyThrow(t);
+            }
+        };
+    }
+
+    /**
+     * Binds field of type {@code int}, {@code short} or {@code byte} into
+     * a setter accepting an {@code int}, narrowing it to field's type.
+     *
+     * @param   field
+     *          Field to bind
+     * @return  Setter of the field
+     * @throws  IllegalAccessException
+     *          If field cannot be accessed
+     */
+    public static @NotNull ObjIntConsumer<Object> intSetter(@NotNull Field field) throws IllegalAccessException {
+        MethodHandle exact = MethodHandles.explicitCastArguments(LOOKUP.unreflectSetter(ReflectionUtils.setAccessible(field)),
+                MethodType.methodType(void.class, Object.class, int.class));
+        return (target, value) -> {
+            try {
+                exact.invokeExact(target, value);
+            } catch (Throwable t) {
+                throw sneakyThrow(t);
+            }
+        };
+    }
+
+    /**
+     * Binds field of type {@code double} into a setter
+     *
+     * @param   field
+     *          Field to bind
+     * @return  Setter of the field
+     * @throws  IllegalAccessException
+     *          If field cannot be accessed
+     */
+    public static @NotNull ObjDoubleConsumer<Object> doubleSetter(@NotNull Field field) throws IllegalAccessException {
+        MethodHandle exact = LOOKUP.unreflectSetter(ReflectionUtils.setAccessible(field))
+                .asType(MethodType.methodType(void.class, Object.class, double.class));
+        return (target, value) -> {
+            try {
+                exact.invokeExact(target, value);
+            } catch (Throwable t) {
+                throw sneakyThrow(t);
+            }
+        };
+    }
+
+    private static boolean isPublic(@NotNull Method method) {
+        return Modifier.isPublic(method.getModifiers()) && Modifier.isPublic(method.getDeclaringClass().getModifiers());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Throwable> RuntimeException sneakyThrow(@NotNull Throwable t) throws T {
+        throw (T) t;
+    }
+}
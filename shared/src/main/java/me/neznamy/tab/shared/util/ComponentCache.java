@@ -1,29 +1,168 @@
 package me.neznamy.tab.shared.util;
 
-import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.SneakyThrows;
 import me.neznamy.tab.shared.ProtocolVersion;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
 
-@AllArgsConstructor
+/**
+ * Thread-safe size-bounded cache for component conversions. Entries are split
+ * into segments by key hash, each segment evicting its least recently used entry
+ * once full, so a full cache never needs to be wiped at once.
+ *
+ * @param   <K>
+ *          Cache key
+ * @param   <V>
+ *          Cached value
+ */
 public class ComponentCache<K, V> {
 
-    private final int cacheSize;
+    /** Amount of segments, must be a power of 2 */
+    private static final int SEGMENTS = 16;
+
+    /** All created caches for displaying statistics */
+    @Getter private static final List<ComponentCache<?, ?>> caches = new CopyOnWriteArrayList<>();
+
+    /** Name of this cache displayed in statistics */
+    @Getter private final String name;
+
+    /** Maximum amount of entries per client type */
+    @Getter private final int cacheSize;
+
+    /** Function computing values which are not cached */
     private final BiFunctionWithException<K, ProtocolVersion, V> function;
-    private final Map<K, V> cacheModern = new HashMap<>();
-    private final Map<K, V> cacheLegacy = new HashMap<>();
+
+    /** Segments for 1.16+ clients */
+    private final Segment<K, V>[] cacheModern;
+
+    /** Segments for 1.15- clients */
+    private final Segment<K, V>[] cacheLegacy;
+
+    /** Amount of requests which were found in cache */
+    private final LongAdder hits = new LongAdder();
+
+    /** Amount of requests which had to be computed */
+    private final LongAdder misses = new LongAdder();
+
+    /** Amount of entries evicted due to cache being full */
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructs new instance with given parameters and registers it into list of caches.
+     *
+     * @param   name
+     *          Name of this cache displayed in statistics
+     * @param   cacheSize
+     *          Maximum amount of entries per client type
+     * @param   function
+     *          Function computing values which are not cached
+     */
+    public ComponentCache(@NotNull String name, int cacheSize, @NotNull BiFunctionWithException<K, ProtocolVersion, V> function) {
+        this.name = name;
+        this.cacheSize = cacheSize;
+        this.function = function;
+        cacheModern = createSegments();
+        cacheLegacy = createSegments();
+        caches.add(this);
+    }
+
+    @SuppressWarnings("unchecked")
+    private @NotNull Segment<K, V>[] createSegments() {
+        int segmentSize = Math.max(1, (cacheSize + SEGMENTS - 1) / SEGMENTS);
+        Segment<K, V>[] segments = new Segment[SEGMENTS];
+        for (int i=0; i<SEGMENTS; i++) {
+            segments[i] = new Segment<>(segmentSize, evictions);
+        }
+        return segments;
+    }
 
     @SneakyThrows
     public @NotNull V get(@NotNull K key, @Nullable ProtocolVersion clientVersion) {
-        Map<K, V> cache = clientVersion == null || clientVersion.getMinorVersion() >= 16 ? cacheModern : cacheLegacy;
-        if (cache.containsKey(key)) return cache.get(key);
-        V value = function.apply(key, clientVersion);
-        if (cache.size() > cacheSize) cache.clear();
-        cache.put(key, value);
+        Segment<K, V>[] segments = clientVersion == null || clientVersion.getMinorVersion() >= 16 ? cacheModern : cacheLegacy;
+        int hash = key.hashCode();
+        Segment<K, V> segment = segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+        V value;
+        synchronized (segment) {
+            value = segment.get(key);
+        }
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+        misses.increment();
+        value = function.apply(key, clientVersion);
+        synchronized (segment) {
+            segment.put(key, value);
+        }
         return value;
     }
+
+    /**
+     * Returns amount of currently cached entries of all client types
+     *
+     * @return  amount of currently cached entries
+     */
+    public int getSize() {
+        int size = 0;
+        for (Segment<K, V> segment : cacheModern) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        for (Segment<K, V> segment : cacheLegacy) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Access-ordered map evicting its least recently used entry once full
+     *
+     * @param   <K>
+     *          Cache key
+     * @param   <V>
+     *          Cached value
+     */
+    private static class Segment<K, V> extends LinkedHashMap<K, V> {
+
+        /** Maximum amount of entries in this segment */
+        private final int capacity;
+
+        /** Eviction counter of the cache */
+        private final LongAdder evictions;
+
+        private Segment(int capacity, @NotNull LongAdder evictions) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(@NotNull Map.Entry<K, V> eldest) {
+            if (size() <= capacity) return false;
+            evictions.increment();
+            return true;
+        }
+    }
 }
@@ -0,0 +1,98 @@
+package me.neznamy.tab.shared.util;
+
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.TabConstants;
+import me.neznamy.tab.shared.platform.TabPlayer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Collects latency changes of players over a configurable time window and
+ * passes all of them to the sender at once, allowing each viewer to receive
+ * a single update containing all changed entries. Changes smaller than the
+ * configured threshold compared to the last sent value are ignored.
+ * Both are disabled by default, sending every change immediately.
+ */
+public class LatencyAggregator {
+
+    /** Name of feature using this aggregator for CPU usage tracking */
+    @NotNull private final String featureName;
+
+    /** Function sending latency of all players in collection to their viewers */
+    @NotNull private final Consumer<Collection<TabPlayer>> sender;
+
+    /** Time in milliseconds latency changes are collected for before being sent, 0 to send them immediately */
+    private final int interval = TAB.getInstance().getConfiguration().getSecretOption("latency-updates.interval", 0);
+
+    /** Minimum difference from last sent latency for the change to be sent, 0 to send every change */
+    private final int threshold = TAB.getInstance().getConfiguration().getSecretOption("latency-updates.min-change", 0);
+
+    /** Last latency sent for each player */
+    private final Map<TabPlayer, Integer> lastSent = new WeakHashMap<>();
+
+    /** Players whose latency changed since last flush */
+    private final Set<TabPlayer> pending = new LinkedHashSet<>();
+
+    /** Flag tracking whether a flush task is already scheduled */
+    private boolean flushScheduled;
+
+    /**
+     * Constructs new instance with given parameters
+     *
+     * @param   featureName
+     *          Name of feature using this aggregator for CPU usage tracking
+     * @param   sender
+     *          Function sending latency of all players in collection to their viewers
+     */
+    public LatencyAggregator(@NotNull String featureName, @NotNull Consumer<Collection<TabPlayer>> sender) {
+        this.featureName = featureName;
+        this.sender = sender;
+    }
+
+    /**
+     * Marks latency of player as changed. If the difference from last sent
+     * value is at least the configured threshold, it will be sent with the
+     * next flush, or immediately if no interval is configured.
+     *
+     * @param   player
+     *          Player whose latency changed
+     */
+    public void update(@NotNull TabPlayer player) {
+        synchronized (this) {
+            if (threshold > 0) {
+                Integer last = lastSent.get(player);
+                if (last != null && Math.abs(player.getPing() - last) < threshold) {
+                    pending.remove(player);
+                    return;
+                }
+            }
+            if (interval > 0) {
+                pending.add(player);
+                if (flushScheduled) return;
+                flushScheduled = true;
+                TAB.getInstance().getCPUManager().runTaskLater(interval, featureName,
+                        TabConstants.CpuUsageCategory.LATENCY_UPDATE, this::flush);
+                return;
+            }
+            if (threshold > 0) lastSent.put(player, player.getPing());
+        }
+        sender.accept(Collections.singletonList(player));
+    }
+
+    private void flush() {
+        List<TabPlayer> players;
+        synchronized (this) {
+            flushScheduled = false;
+            players = new ArrayList<>(pending.size());
+            for (TabPlayer player : pending) {
+                if (TAB.getInstance().getPlayer(player.getUniqueId()) != player) continue; // Disconnected in the meantime
+                lastSent.put(player, player.getPing());
+                players.add(player);
+            }
+            pending.clear();
+        }
+        if (!players.isEmpty()) sender.accept(players);
+    }
+}
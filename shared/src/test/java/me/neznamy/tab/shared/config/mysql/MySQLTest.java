@@ -0,0 +1,140 @@
+package me.neznamy.tab.shared.config.mysql;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.rowset.CachedRowSet;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests ordering of loads, queued row changes and removals of {@link MySQL}
+ * against an in-memory H2 database in MySQL mode.
+ */
+class MySQLTest {
+
+    private static final AtomicInteger DATABASE_ID = new AtomicInteger();
+
+    private static final String INSERT = "insert into `tab_users` (`user`, `property`, `value`, `world`, `server`) values (?, ?, ?, ?, ?)";
+    private static final String DELETE = "delete from `tab_users` where `user` = ? and `property` = ? and world is null and server is null";
+    private static final String REMOVE = "delete from `tab_users` where `user` = ?";
+    private static final String LOAD = "select * from `tab_users` where `user` = ? or `user` = ?";
+
+    private String url;
+    private MySQL mysql;
+
+    @BeforeEach
+    void open() throws SQLException {
+        url = "jdbc:h2:mem:tab" + DATABASE_ID.incrementAndGet() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        mysql = new MySQL("localhost", 3306, "tab", "user", "password", 2) {
+
+            @Override
+            @NotNull Connection createConnection() throws SQLException {
+                return DriverManager.getConnection(url);
+            }
+        };
+        mysql.openConnection();
+        mysql.execute("create table if not exists tab_users (`user` varchar(64), `property` varchar(16), `value` varchar(1024), world varchar(64), server varchar(64))");
+    }
+
+    @AfterEach
+    void close() throws SQLException {
+        mysql.closeConnection();
+    }
+
+    @Test
+    void repeatedSetKeepsLastValue() throws Exception {
+        set("player", "tabprefix", "first");
+        set("player", "tabprefix", "second");
+        set("player", "tabprefix", "third");
+        assertEquals(Collections.singletonMap("tabprefix", "third"), load("player"));
+    }
+
+    @Test
+    void setAfterFlushReplacesStoredValue() throws Exception {
+        set("player", "tabprefix", "first");
+        assertEquals(Collections.singletonMap("tabprefix", "first"), load("player"));
+        set("player", "tabprefix", "second");
+        assertEquals(Collections.singletonMap("tabprefix", "second"), load("player"));
+        assertEquals(1, countRows());
+    }
+
+    @Test
+    void unsetDiscardsQueuedInsert() throws Exception {
+        set("player", "tabprefix", "first");
+        set("player", "tabsuffix", "suffix");
+        unset("player", "tabprefix");
+        assertEquals(Collections.singletonMap("tabsuffix", "suffix"), load("player"));
+    }
+
+    @Test
+    void removeOnlyAffectsEarlierChanges() throws Exception {
+        set("player", "tabprefix", "before");
+        set("player", "tabsuffix", "before");
+        mysql.queueUpdate(REMOVE, "player");
+        set("player", "tabprefix", "after");
+        assertEquals(Collections.singletonMap("tabprefix", "after"), load("player"));
+    }
+
+    @Test
+    void loadSeesChangesQueuedBeforeIt() throws Exception {
+        set("player", "tabprefix", "value");
+        CachedRowSet crs = mysql.getCRSAsync(LOAD, "player", "uuid").get(10, TimeUnit.SECONDS);
+        assertEquals(1, crs.size());
+    }
+
+    @Test
+    void changesAreFlushedOnClose() throws Exception {
+        set("player", "tabprefix", "value");
+        mysql.queueUpdate(REMOVE, "other");
+        mysql.closeConnection();
+        assertEquals(1, countRows());
+    }
+
+    @Test
+    void loadAfterCloseCompletesExceptionally() throws Exception {
+        mysql.closeConnection();
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> mysql.getCRSAsync(LOAD, "player", "uuid").get(10, TimeUnit.SECONDS));
+        assertInstanceOf(SQLException.class, e.getCause());
+    }
+
+    private void set(@NotNull String user, @NotNull String property, @NotNull String value) {
+        List<Object> row = Arrays.asList("tab_users", user, property, null, null);
+        mysql.queueRowDelete(row, DELETE, user, property);
+        mysql.queueRowInsert(row, INSERT, user, property, value, null, null);
+    }
+
+    private void unset(@NotNull String user, @NotNull String property) {
+        mysql.queueRowDelete(Arrays.asList("tab_users", user, property, null, null), DELETE, user, property);
+    }
+
+    private @NotNull Map<String, String> load(@NotNull String user) throws Exception {
+        CachedRowSet crs = mysql.getCRSAsync(LOAD, user, "uuid").get(10, TimeUnit.SECONDS);
+        Map<String, String> values = new HashMap<>();
+        while (crs.next()) {
+            assertNull(values.put(crs.getString("property"), crs.getString("value")), "Duplicate row");
+        }
+        return values;
+    }
+
+    private int countRows() throws SQLException {
+        try (Connection con = DriverManager.getConnection(url);
+             Statement statement = con.createStatement();
+             ResultSet rs = statement.executeQuery("select count(*) from `tab_users`")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
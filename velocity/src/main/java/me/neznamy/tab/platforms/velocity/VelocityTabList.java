@@ -3,27 +3,26 @@ package me.neznamy.tab.platforms.velocity;
 import com.velocitypowered.api.proxy.player.ChatSession;
 import com.velocitypowered.api.proxy.player.TabListEntry;
 import com.velocitypowered.api.util.GameProfile;
-import lombok.RequiredArgsConstructor;
 import me.neznamy.tab.shared.chat.IChatBaseComponent;
-import me.neznamy.tab.shared.platform.TabList;
+import me.neznamy.tab.shared.platform.BatchedTabList;
 import net.kyori.adventure.text.Component;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Collections;
-import java.util.Objects;
-import java.util.UUID;
+import java.util.*;
 
 @SuppressWarnings("deprecation")
-@RequiredArgsConstructor
-public class VelocityTabList implements TabList {
+public class VelocityTabList extends BatchedTabList<VelocityTabPlayer> {
 
-    /** Player this TabList belongs to */
-    private final VelocityTabPlayer player;
+    public VelocityTabList(@NotNull VelocityTabPlayer player) {
+        super(player);
+    }
 
     @Override
-    public void removeEntry(@NotNull UUID entry) {
-        player.getPlayer().getTabList().removeEntry(entry);
+    public void removeEntries0(@NotNull Collection<UUID> entries) {
+        for (UUID entry : entries) {
+            player.getPlayer().getTabList().removeEntry(entry);
+        }
     }
 
     /**
@@ -35,28 +34,59 @@ public class VelocityTabList implements TabList {
      * entry and adding it again to avoid this bug.
      */
     @Override
-    public void updateDisplayName(@NotNull UUID entry, @Nullable IChatBaseComponent displayName) {
-        if (player.getVersion().getMinorVersion() >= 8) {
-            getEntry(entry).setDisplayName(displayName == null ? null : displayName.toAdventureComponent(player.getVersion()));
-        } else {
-            String username = getEntry(entry).getProfile().getName();
-            removeEntry(entry);
-            addEntry(new Entry.Builder(entry).name(username).displayName(displayName).build());
+    public void updateDisplayNames0(@NotNull Map<UUID, IChatBaseComponent> displayNames) {
+        Map<UUID, TabListEntry> entries = getEntries();
+        for (Map.Entry<UUID, IChatBaseComponent> entry : displayNames.entrySet()) {
+            IChatBaseComponent displayName = entry.getValue();
+            if (player.getVersion().getMinorVersion() >= 8) {
+                getEntry(entries, entry.getKey()).setDisplayName(displayName == null ? null : displayName.toAdventureComponent(player.getVersion()));
+            } else {
+                String username = getEntry(entries, entry.getKey()).getProfile().getName();
+                player.getPlayer().getTabList().removeEntry(entry.getKey());
+                add(new Entry.Builder(entry.getKey()).name(username).displayName(displayName).build());
+            }
         }
     }
 
     @Override
-    public void updateLatency(@NotNull UUID entry, int latency) {
-        getEntry(entry).setLatency(latency);
+    public void updateLatencies0(@NotNull Map<UUID, Integer> latencies) {
+        Map<UUID, TabListEntry> entries = getEntries();
+        for (Map.Entry<UUID, Integer> entry : latencies.entrySet()) {
+            getEntry(entries, entry.getKey()).setLatency(entry.getValue());
+        }
     }
 
     @Override
-    public void updateGameMode(@NotNull UUID entry, int gameMode) {
-        getEntry(entry).setGameMode(gameMode);
+    public void updateGameModes0(@NotNull Map<UUID, Integer> gameModes) {
+        Map<UUID, TabListEntry> entries = getEntries();
+        for (Map.Entry<UUID, Integer> entry : gameModes.entrySet()) {
+            getEntry(entries, entry.getKey()).setGameMode(entry.getValue());
+        }
     }
 
     @Override
-    public void addEntry(@NotNull Entry entry) {
+    public void addEntries0(@NotNull Collection<Entry> entries) {
+        Map<UUID, TabListEntry> current = getEntries();
+        for (Entry entry : entries) {
+            TabListEntry existing = current.get(entry.getUniqueId());
+            if (existing == null) {
+                add(entry);
+                continue;
+            }
+            // Velocity ignores adding an existing entry, apply values of the new one instead,
+            // since updates buffered before this addition were discarded
+            if (player.getVersion().getMinorVersion() >= 8) {
+                existing.setLatency(entry.getLatency());
+                existing.setGameMode(entry.getGameMode());
+                existing.setDisplayName(entry.getDisplayName() == null ? null : entry.getDisplayName().toAdventureComponent(player.getVersion()));
+            } else {
+                player.getPlayer().getTabList().removeEntry(entry.getUniqueId());
+                add(entry);
+            }
+        }
+    }
+
+    private void add(@NotNull Entry entry) {
         if (player.getPlayer().getTabList().containsEntry(entry.getUniqueId())) return;
         player.getPlayer().getTabList().addEntry(TabListEntry.builder()
                 .tabList(player.getPlayer().getTabList())
@@ -80,18 +110,32 @@ public class VelocityTabList implements TabList {
         );
     }
 
+    /**
+     * Returns all current TabList entries by their UUID
+     *
+     * @return  TabList entries by UUID
+     */
+    private @NotNull Map<UUID, TabListEntry> getEntries() {
+        Map<UUID, TabListEntry> entries = new HashMap<>();
+        for (TabListEntry entry : player.getPlayer().getTabList().getEntries()) {
+            entries.put(entry.getProfile().getId(), entry);
+        }
+        return entries;
+    }
+
     /**
      * Returns TabList entry with specified UUID. If no such entry was found,
      * a new, dummy entry is returned to avoid NPE.
      *
+     * @param   entries
+     *          Current TabList entries by UUID
      * @param   id
      *          UUID to get entry by
      * @return  TabList entry with specified UUID
      */
-    private TabListEntry getEntry(UUID id) {
-        for (TabListEntry entry : player.getPlayer().getTabList().getEntries()) {
-            if (entry.getProfile().getId().equals(id)) return entry;
-        }
+    private TabListEntry getEntry(Map<UUID, TabListEntry> entries, UUID id) {
+        TabListEntry entry = entries.get(id);
+        if (entry != null) return entry;
         //return dummy entry to not cause NPE
         //possibly add logging into the future to see when this happens
         return TabListEntry.builder().tabList(player.getPlayer().getTabList())